@@ -99,6 +99,19 @@ class LoadTester:
         total_time = time.time() - start_time
         return results, total_time
 
+    def summarize(self, results: List[TestResult], total_test_time: float) -> dict:
+        """Return the headline numbers used for comparing runs"""
+        successful = sorted(r.response_time for r in results if r.success)
+        if not successful:
+            return {"requests": len(results), "successful": 0, "throughput": 0, "p50": 0, "p99": 0}
+        return {
+            "requests": len(results),
+            "successful": len(successful),
+            "throughput": len(successful) / total_test_time if total_test_time > 0 else 0,
+            "p50": successful[len(successful) // 2],
+            "p99": successful[int(len(successful) * 0.99)] if len(successful) > 1 else successful[0],
+        }
+
     def print_stats(self, results: List[TestResult], total_test_time: float):
         """Print comprehensive test statistics"""
         if not results:
@@ -206,6 +219,8 @@ def main():
     parser.add_argument("--endpoints", nargs="+", 
                        default=["/", "/health", "/api/test", "/echo"],
                        help="Endpoints to test (default: / /health /api/test /echo)")
+    parser.add_argument("--summary-file",
+                       help="Write throughput and latency percentiles as JSON to this file")
     
     args = parser.parse_args()
     
@@ -224,6 +239,10 @@ def main():
     
     print(f"\nTest completed in {total_test_time:.2f} seconds")
     tester.print_stats(results, total_test_time)
+
+    if args.summary_file:
+        with open(args.summary_file, "w") as summary_file:
+            json.dump(tester.summarize(results, total_test_time), summary_file)
     
     return 0 if all(r.success for r in results) else 1
 
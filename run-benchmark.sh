@@ -0,0 +1,67 @@
+#!/bin/bash
+
+echo "HTTP Shadower Front End Benchmark"
+echo "================================="
+echo ""
+echo "Compares the servlet (Tomcat) front end with the Netty front end."
+echo "Make sure the destination apps from start-all.sh are running!"
+echo ""
+
+REQUESTS=${1:-2000}
+CONCURRENT=${2:-50}
+PORT=${3:-8080}
+URL="http://localhost:$PORT"
+RESULTS_DIR=build/benchmark
+
+mkdir -p "$RESULTS_DIR"
+
+echo "Building Spring Boot application..."
+./gradlew bootJar -q
+if [ $? -ne 0 ]; then
+    echo "Failed to build Spring Boot application"
+    exit 1
+fi
+
+JAR=$(ls build/libs/http-shadower-*.jar | grep -v plain | head -n 1)
+
+run_mode() {
+    local mode=$1
+    local profile_args=$2
+
+    echo ""
+    echo "Starting shadower in $mode mode..."
+    java -jar "$JAR" --server.port="$PORT" --logging.level.com.mugentwo.http_shadower=WARN $profile_args \
+        > "$RESULTS_DIR/$mode.log" 2>&1 &
+    local pid=$!
+
+    python3 load_test.py --url "$URL" --requests 200 --concurrent "$CONCURRENT" --wait > /dev/null
+    python3 load_test.py \
+        --url "$URL" \
+        --requests "$REQUESTS" \
+        --concurrent "$CONCURRENT" \
+        --endpoints "/" "/api/test" "/health" "/status" \
+        --summary-file "$RESULTS_DIR/$mode.json" > "$RESULTS_DIR/$mode.txt"
+
+    kill $pid
+    wait $pid 2>/dev/null
+}
+
+run_mode servlet ""
+run_mode netty "--spring.profiles.active=netty"
+
+echo ""
+python3 - "$RESULTS_DIR" <<'PYTHON'
+import json
+import sys
+
+results_dir = sys.argv[1]
+print(f"{'mode':<10}{'req/s':>12}{'p50 (ms)':>12}{'p99 (ms)':>12}")
+for mode in ("servlet", "netty"):
+    with open(f"{results_dir}/{mode}.json") as summary_file:
+        summary = json.load(summary_file)
+    print(f"{mode:<10}{summary['throughput']:>12.1f}{summary['p50'] * 1000:>12.2f}{summary['p99'] * 1000:>12.2f}")
+PYTHON
+
+echo ""
+echo "Usage: $0 [requests] [concurrent_users] [port]"
+echo "Example: $0 5000 100 8080"
@@ -0,0 +1,44 @@
+package com.mugentwo.http_shadower.core;
+
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.util.Set;
+
+public class JdkHttpShadowSender implements ShadowSender {
+    private static final Set<String> SKIPPED_HEADERS = Set.of(
+            "connection", "content-length", "expect", "host", "upgrade", "keep-alive", "transfer-encoding");
+
+    private final HttpClient httpClient;
+    private final Duration requestTimeout;
+
+    public JdkHttpShadowSender(Duration connectTimeout, Duration requestTimeout) {
+        this(HttpClient.newBuilder().connectTimeout(connectTimeout).build(), requestTimeout);
+    }
+
+    public JdkHttpShadowSender(HttpClient httpClient, Duration requestTimeout) {
+        this.httpClient = httpClient;
+        this.requestTimeout = requestTimeout;
+    }
+
+    @Override
+    public int send(ShadowRequest request, ShadowDestination destination) throws Exception {
+        HttpRequest.BodyPublisher bodyPublisher = request.hasBody()
+                ? HttpRequest.BodyPublishers.ofByteArray(request.body())
+                : HttpRequest.BodyPublishers.noBody();
+
+        HttpRequest.Builder builder = HttpRequest.newBuilder(URI.create(request.targetUrl(destination.url())))
+                .timeout(requestTimeout)
+                .method(request.method(), bodyPublisher);
+
+        request.headers().forEach((name, values) -> {
+            if (!SKIPPED_HEADERS.contains(name.toLowerCase())) {
+                values.forEach(value -> builder.header(name, value));
+            }
+        });
+
+        return httpClient.send(builder.build(), HttpResponse.BodyHandlers.discarding()).statusCode();
+    }
+}
@@ -0,0 +1,4 @@
+package com.mugentwo.http_shadower.core;
+
+public record ShadowDestination(String name, String url) {
+}
@@ -0,0 +1,88 @@
+package com.mugentwo.http_shadower.core;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.util.List;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.atomic.LongAdder;
+
+// Fire-and-forget fan-out for the embedded filter, bounded only by a global in-flight cap. The proxy
+// application has its own pipeline with limits, budgets and masking and does not use this class.
+public class ShadowDispatcher implements AutoCloseable {
+    private static final Logger logger = LoggerFactory.getLogger(ShadowDispatcher.class);
+
+    private final List<ShadowDestination> destinations;
+    private final ShadowSender sender;
+    private final Executor executor;
+    private final Semaphore inFlight;
+    private final LongAdder dispatched = new LongAdder();
+    private final LongAdder dropped = new LongAdder();
+    private final LongAdder failed = new LongAdder();
+
+    public ShadowDispatcher(List<ShadowDestination> destinations, ShadowSender sender, Executor executor, int maxInFlight) {
+        this.destinations = List.copyOf(destinations);
+        this.sender = sender;
+        this.executor = executor;
+        this.inFlight = new Semaphore(maxInFlight);
+    }
+
+    public void dispatch(ShadowRequest request) {
+        for (ShadowDestination destination : destinations) {
+            if (!inFlight.tryAcquire()) {
+                dropped.increment();
+                logger.debug("Dropping shadow request to {}: too many shadow requests in flight", destination.name());
+                continue;
+            }
+            try {
+                executor.execute(() -> send(request, destination));
+            } catch (RejectedExecutionException e) {
+                inFlight.release();
+                dropped.increment();
+                logger.debug("Dropping shadow request to {}: executor rejected it", destination.name());
+            }
+        }
+    }
+
+    private void send(ShadowRequest request, ShadowDestination destination) {
+        try {
+            int status = sender.send(request, destination);
+            dispatched.increment();
+            logger.debug("Shadow response from {}: {}", destination.name(), status);
+        } catch (InterruptedException e) {
+            failed.increment();
+            Thread.currentThread().interrupt();
+        } catch (Exception e) {
+            failed.increment();
+            logger.warn("Failed to shadow request to {}: {}", destination.name(), e.getMessage());
+        } finally {
+            inFlight.release();
+        }
+    }
+
+    @Override
+    public void close() {
+        if (executor instanceof ExecutorService executorService) {
+            executorService.close();
+        }
+    }
+
+    public List<ShadowDestination> getDestinations() {
+        return destinations;
+    }
+
+    public long getDispatchedCount() {
+        return dispatched.sum();
+    }
+
+    public long getDroppedCount() {
+        return dropped.sum();
+    }
+
+    public long getFailedCount() {
+        return failed.sum();
+    }
+}
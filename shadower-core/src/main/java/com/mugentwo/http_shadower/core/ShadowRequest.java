@@ -0,0 +1,68 @@
+package com.mugentwo.http_shadower.core;
+
+import jakarta.servlet.http.HttpServletRequest;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Enumeration;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+public record ShadowRequest(String method, String path, String query, Map<String, List<String>> headers, byte[] body) {
+
+    public ShadowRequest {
+        headers = Collections.unmodifiableMap(new LinkedHashMap<>(headers));
+    }
+
+    public static ShadowRequest from(HttpServletRequest request, byte[] body) {
+        Map<String, List<String>> headers = new LinkedHashMap<>();
+        Enumeration<String> headerNames = request.getHeaderNames();
+        while (headerNames != null && headerNames.hasMoreElements()) {
+            String headerName = headerNames.nextElement();
+            if (!"host".equalsIgnoreCase(headerName)) {
+                headers.put(headerName, Collections.unmodifiableList(Collections.list(request.getHeaders(headerName))));
+            }
+        }
+        return new ShadowRequest(request.getMethod(), request.getRequestURI(), request.getQueryString(), headers, body);
+    }
+
+    public String targetUrl(String baseUrl) {
+        StringBuilder targetUrl = new StringBuilder(baseUrl);
+        targetUrl.append(path);
+
+        if (query != null) {
+            targetUrl.append('?').append(query);
+        }
+
+        return targetUrl.toString();
+    }
+
+    public String firstHeader(String name) {
+        for (Map.Entry<String, List<String>> header : headers.entrySet()) {
+            if (header.getKey().equalsIgnoreCase(name) && !header.getValue().isEmpty()) {
+                return header.getValue().get(0);
+            }
+        }
+        return null;
+    }
+
+    public boolean hasBody() {
+        return body != null && body.length > 0;
+    }
+
+    public int bodyLength() {
+        return body == null ? 0 : body.length;
+    }
+
+    @Override
+    public String toString() {
+        return "ShadowRequest{" +
+                "method='" + method + '\'' +
+                ", path='" + path + '\'' +
+                ", query='" + query + '\'' +
+                ", headers=" + new ArrayList<>(headers.keySet()) +
+                ", bodyLength=" + bodyLength() +
+                '}';
+    }
+}
@@ -0,0 +1,6 @@
+package com.mugentwo.http_shadower.core;
+
+@FunctionalInterface
+public interface ShadowSender {
+    int send(ShadowRequest request, ShadowDestination destination) throws Exception;
+}
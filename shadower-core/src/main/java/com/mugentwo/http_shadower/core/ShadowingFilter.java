@@ -0,0 +1,208 @@
+package com.mugentwo.http_shadower.core;
+
+import jakarta.servlet.DispatcherType;
+import jakarta.servlet.Filter;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ReadListener;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.ServletInputStream;
+import jakarta.servlet.ServletRequest;
+import jakarta.servlet.ServletResponse;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletRequestWrapper;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.BufferedReader;
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.io.SequenceInputStream;
+import java.net.URLDecoder;
+import java.net.URLEncoder;
+import java.nio.charset.Charset;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.Map;
+
+public class ShadowingFilter implements Filter {
+    private static final Logger logger = LoggerFactory.getLogger(ShadowingFilter.class);
+
+    private static final String FORM_CONTENT_TYPE = "application/x-www-form-urlencoded";
+
+    private final ShadowDispatcher dispatcher;
+    private final int maxBodySize;
+
+    public ShadowingFilter(ShadowDispatcher dispatcher, int maxBodySize) {
+        this.dispatcher = dispatcher;
+        this.maxBodySize = maxBodySize;
+    }
+
+    @Override
+    public void doFilter(ServletRequest servletRequest, ServletResponse response, FilterChain chain) throws IOException, ServletException {
+        if (!(servletRequest instanceof HttpServletRequest request) || request.getDispatcherType() != DispatcherType.REQUEST) {
+            chain.doFilter(servletRequest, response);
+            return;
+        }
+
+        long contentLength = request.getContentLengthLong();
+        if (isFormPost(request)) {
+            // The container owns the form body once parameters are parsed, so it is rebuilt from them.
+            byte[] form = contentLength > maxBodySize ? null : encodeFormParameters(request);
+            if (form == null || form.length > maxBodySize) {
+                logger.debug("Not shadowing {} {}: form body exceeds {} bytes", request.getMethod(), request.getRequestURI(), maxBodySize);
+            } else {
+                dispatcher.dispatch(ShadowRequest.from(request, form));
+            }
+            chain.doFilter(request, response);
+            return;
+        }
+
+        if (contentLength == 0 || (contentLength < 0 && request.getHeader("Transfer-Encoding") == null)) {
+            dispatcher.dispatch(ShadowRequest.from(request, null));
+            chain.doFilter(request, response);
+            return;
+        }
+
+        if (contentLength > maxBodySize) {
+            logger.debug("Not shadowing {} {}: body of {} bytes exceeds {}", request.getMethod(), request.getRequestURI(), contentLength, maxBodySize);
+            chain.doFilter(request, response);
+            return;
+        }
+
+        InputStream original = request.getInputStream();
+        byte[] body = original.readNBytes(maxBodySize + 1);
+        if (body.length > maxBodySize) {
+            logger.debug("Not shadowing {} {}: chunked body exceeds {} bytes", request.getMethod(), request.getRequestURI(), maxBodySize);
+            chain.doFilter(new BufferedBodyRequest(request, new SequenceInputStream(new ByteArrayInputStream(body), original)), response);
+            return;
+        }
+
+        dispatcher.dispatch(ShadowRequest.from(request, body));
+        chain.doFilter(new BufferedBodyRequest(request, new ByteArrayInputStream(body)), response);
+    }
+
+    private boolean isFormPost(HttpServletRequest request) {
+        String contentType = request.getContentType();
+        return contentType != null
+                && contentType.toLowerCase().startsWith(FORM_CONTENT_TYPE)
+                && "POST".equalsIgnoreCase(request.getMethod());
+    }
+
+    // The parameter map also holds the query string parameters, listed before the body's for each name.
+    // The shadow keeps the query string in its URL, so those leading values are skipped here.
+    private byte[] encodeFormParameters(HttpServletRequest request) {
+        Charset charset = charsetOf(request);
+        Map<String, Integer> queryCounts = queryParameterCounts(request.getQueryString());
+        StringBuilder form = new StringBuilder();
+        for (Map.Entry<String, String[]> parameter : request.getParameterMap().entrySet()) {
+            String[] values = parameter.getValue();
+            int fromQuery = Math.min(values.length, queryCounts.getOrDefault(parameter.getKey(), 0));
+            for (String value : Arrays.asList(values).subList(fromQuery, values.length)) {
+                if (!form.isEmpty()) {
+                    form.append('&');
+                }
+                form.append(URLEncoder.encode(parameter.getKey(), charset));
+                if (value != null) {
+                    form.append('=').append(URLEncoder.encode(value, charset));
+                }
+            }
+        }
+        return form.toString().getBytes(charset);
+    }
+
+    private static Map<String, Integer> queryParameterCounts(String query) {
+        Map<String, Integer> counts = new HashMap<>();
+        if (query == null || query.isEmpty()) {
+            return counts;
+        }
+        for (String pair : query.split("&")) {
+            if (pair.isEmpty()) {
+                continue;
+            }
+            int equals = pair.indexOf('=');
+            String name = equals < 0 ? pair : pair.substring(0, equals);
+            try {
+                name = URLDecoder.decode(name, StandardCharsets.UTF_8);
+            } catch (IllegalArgumentException e) {
+                // Kept undecoded, as lenient containers do.
+            }
+            counts.merge(name, 1, Integer::sum);
+        }
+        return counts;
+    }
+
+    private static Charset charsetOf(HttpServletRequest request) {
+        String encoding = request.getCharacterEncoding();
+        return encoding != null ? Charset.forName(encoding) : StandardCharsets.UTF_8;
+    }
+
+    private static final class BufferedBodyRequest extends HttpServletRequestWrapper {
+        private final ServletInputStream inputStream;
+        private BufferedReader reader;
+
+        BufferedBodyRequest(HttpServletRequest request, InputStream body) {
+            super(request);
+            this.inputStream = new BufferedServletInputStream(body);
+        }
+
+        @Override
+        public ServletInputStream getInputStream() {
+            return inputStream;
+        }
+
+        @Override
+        public BufferedReader getReader() {
+            if (reader == null) {
+                reader = new BufferedReader(new InputStreamReader(inputStream, charsetOf((HttpServletRequest) getRequest())));
+            }
+            return reader;
+        }
+    }
+
+    private static final class BufferedServletInputStream extends ServletInputStream {
+        private final InputStream delegate;
+        private boolean finished;
+
+        BufferedServletInputStream(InputStream delegate) {
+            this.delegate = delegate;
+        }
+
+        @Override
+        public int read() throws IOException {
+            int next = delegate.read();
+            finished = next < 0;
+            return next;
+        }
+
+        @Override
+        public int read(byte[] buffer, int offset, int length) throws IOException {
+            int count = delegate.read(buffer, offset, length);
+            finished = count < 0;
+            return count;
+        }
+
+        @Override
+        public boolean isFinished() {
+            return finished;
+        }
+
+        @Override
+        public boolean isReady() {
+            return true;
+        }
+
+        @Override
+        public void setReadListener(ReadListener readListener) {
+            // The body is already buffered, so all of it is available at once.
+            try {
+                readListener.onDataAvailable();
+                readListener.onAllDataRead();
+            } catch (IOException e) {
+                readListener.onError(e);
+            }
+        }
+    }
+}
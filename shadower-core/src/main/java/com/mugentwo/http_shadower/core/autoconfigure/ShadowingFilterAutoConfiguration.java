@@ -0,0 +1,56 @@
+package com.mugentwo.http_shadower.core.autoconfigure;
+
+import com.mugentwo.http_shadower.core.JdkHttpShadowSender;
+import com.mugentwo.http_shadower.core.ShadowDestination;
+import com.mugentwo.http_shadower.core.ShadowDispatcher;
+import com.mugentwo.http_shadower.core.ShadowSender;
+import com.mugentwo.http_shadower.core.ShadowingFilter;
+import jakarta.servlet.Filter;
+import org.springframework.boot.autoconfigure.AutoConfiguration;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnClass;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnMissingBean;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.boot.web.servlet.FilterRegistrationBean;
+import org.springframework.context.annotation.Bean;
+import org.springframework.core.Ordered;
+
+import java.util.concurrent.Executors;
+
+@AutoConfiguration
+@ConditionalOnClass(Filter.class)
+@ConditionalOnWebApplication(type = ConditionalOnWebApplication.Type.SERVLET)
+@ConditionalOnProperty(prefix = "shadower.filter", name = "enabled", havingValue = "true")
+@EnableConfigurationProperties(ShadowingFilterProperties.class)
+public class ShadowingFilterAutoConfiguration {
+
+    @Bean
+    @ConditionalOnMissingBean
+    public ShadowSender shadowSender(ShadowingFilterProperties properties) {
+        return new JdkHttpShadowSender(properties.getConnectTimeout(), properties.getRequestTimeout());
+    }
+
+    @Bean(destroyMethod = "close")
+    @ConditionalOnMissingBean
+    public ShadowDispatcher shadowDispatcher(ShadowingFilterProperties properties, ShadowSender shadowSender) {
+        var destinations = properties.getDestinations().stream()
+                .filter(ShadowingFilterProperties.Destination::isEnabled)
+                .map(destination -> new ShadowDestination(destination.getName(), destination.getUrl()))
+                .toList();
+        if (destinations.isEmpty()) {
+            throw new IllegalStateException("At least one shadower.filter destination must be enabled");
+        }
+        return new ShadowDispatcher(destinations, shadowSender, Executors.newVirtualThreadPerTaskExecutor(), properties.getMaxInFlight());
+    }
+
+    @Bean
+    public FilterRegistrationBean<ShadowingFilter> shadowingFilterRegistration(ShadowingFilterProperties properties, ShadowDispatcher shadowDispatcher) {
+        FilterRegistrationBean<ShadowingFilter> registration =
+                new FilterRegistrationBean<>(new ShadowingFilter(shadowDispatcher, properties.getMaxBodySize()));
+        registration.setName("shadowingFilter");
+        registration.setUrlPatterns(properties.getUrlPatterns());
+        registration.setOrder(Ordered.HIGHEST_PRECEDENCE + 10);
+        return registration;
+    }
+}
@@ -0,0 +1,71 @@
+package com.mugentwo.http_shadower.core;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class ShadowDispatcherTest {
+
+    private static final ShadowRequest REQUEST = new ShadowRequest("GET", "/api/test", null, Map.of(), null);
+
+    @Test
+    void testDispatchesToEveryDestination() {
+        AtomicInteger calls = new AtomicInteger();
+        ShadowDispatcher dispatcher = new ShadowDispatcher(
+                List.of(new ShadowDestination("a", "http://a"), new ShadowDestination("b", "http://b")),
+                (request, destination) -> calls.incrementAndGet(),
+                Runnable::run,
+                10);
+
+        dispatcher.dispatch(REQUEST);
+
+        assertEquals(2, calls.get());
+        assertEquals(2, dispatcher.getDispatchedCount());
+        assertEquals(0, dispatcher.getDroppedCount());
+    }
+
+    @Test
+    void testDropsWhenTooManyInFlight() throws InterruptedException {
+        CountDownLatch release = new CountDownLatch(1);
+        ExecutorService executor = Executors.newSingleThreadExecutor();
+        ShadowDispatcher dispatcher = new ShadowDispatcher(
+                List.of(new ShadowDestination("a", "http://a")),
+                (request, destination) -> {
+                    release.await();
+                    return 200;
+                },
+                executor,
+                1);
+
+        dispatcher.dispatch(REQUEST);
+        dispatcher.dispatch(REQUEST);
+        release.countDown();
+        executor.shutdown();
+        assertTrue(executor.awaitTermination(5, TimeUnit.SECONDS));
+
+        assertEquals(1, dispatcher.getDispatchedCount());
+        assertEquals(1, dispatcher.getDroppedCount());
+    }
+
+    @Test
+    void testCountsFailuresWithoutThrowing() {
+        ShadowDispatcher dispatcher = new ShadowDispatcher(
+                List.of(new ShadowDestination("a", "http://a")),
+                (request, destination) -> {
+                    throw new IllegalStateException("Connection refused");
+                },
+                Runnable::run,
+                10);
+
+        assertDoesNotThrow(() -> dispatcher.dispatch(REQUEST));
+        assertEquals(1, dispatcher.getFailedCount());
+    }
+}
@@ -0,0 +1,49 @@
+package com.mugentwo.http_shadower.core;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.web.MockHttpServletRequest;
+
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class ShadowRequestTest {
+
+    @Test
+    void testFromServletRequest_CopiesEverythingButHost() {
+        // Arrange
+        MockHttpServletRequest request = new MockHttpServletRequest("POST", "/api/users");
+        request.setQueryString("page=2");
+        request.addHeader("Host", "prod.example.com");
+        request.addHeader("Authorization", "Bearer token123");
+        request.addHeader("Accept", "application/json");
+        request.addHeader("Accept", "text/plain");
+        byte[] body = "{\"name\": \"John\"}".getBytes(StandardCharsets.UTF_8);
+
+        // Act
+        ShadowRequest shadowRequest = ShadowRequest.from(request, body);
+
+        // Assert
+        assertEquals("POST", shadowRequest.method());
+        assertEquals("/api/users", shadowRequest.path());
+        assertEquals("page=2", shadowRequest.query());
+        assertNull(shadowRequest.firstHeader("host"));
+        assertEquals("Bearer token123", shadowRequest.firstHeader("authorization"));
+        assertEquals(List.of("application/json", "text/plain"), shadowRequest.headers().get("Accept"));
+        assertSame(body, shadowRequest.body());
+        assertTrue(shadowRequest.hasBody());
+    }
+
+    @Test
+    void testTargetUrl() {
+        ShadowRequest withQuery = new ShadowRequest("GET", "/api/test", "a=1&b=2", Map.of(), null);
+        ShadowRequest withoutQuery = new ShadowRequest("GET", "/api/test", null, Map.of(), null);
+
+        assertEquals("http://localhost:3002/api/test?a=1&b=2", withQuery.targetUrl("http://localhost:3002"));
+        assertEquals("http://localhost:3002/api/test", withoutQuery.targetUrl("http://localhost:3002"));
+        assertFalse(withoutQuery.hasBody());
+        assertEquals(0, withoutQuery.bodyLength());
+    }
+}
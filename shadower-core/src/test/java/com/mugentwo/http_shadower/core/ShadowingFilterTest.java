@@ -0,0 +1,182 @@
+package com.mugentwo.http_shadower.core;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.web.MockFilterChain;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+
+import jakarta.servlet.ReadListener;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.ServletInputStream;
+import jakarta.servlet.http.HttpServletRequest;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class ShadowingFilterTest {
+
+    private final List<ShadowRequest> sent = new CopyOnWriteArrayList<>();
+
+    private ShadowingFilter filter;
+
+    @BeforeEach
+    void setUp() {
+        ShadowSender sender = (request, destination) -> {
+            sent.add(request);
+            return 200;
+        };
+        ShadowDispatcher dispatcher = new ShadowDispatcher(
+                List.of(new ShadowDestination("staging", "http://localhost:3002")), sender, Runnable::run, 10);
+        filter = new ShadowingFilter(dispatcher, 64);
+    }
+
+    @Test
+    void testTeesBodyAndKeepsItReadableDownstream() throws ServletException, IOException {
+        // Arrange
+        MockHttpServletRequest request = new MockHttpServletRequest("POST", "/api/orders");
+        request.setContentType("application/json");
+        request.setContent("{\"id\": 1}".getBytes(StandardCharsets.UTF_8));
+        BodyCapturingChain chain = new BodyCapturingChain();
+
+        // Act
+        filter.doFilter(request, new MockHttpServletResponse(), chain);
+
+        // Assert
+        assertEquals("{\"id\": 1}", chain.body);
+        assertEquals(1, sent.size());
+        assertEquals("/api/orders", sent.get(0).path());
+        assertEquals("{\"id\": 1}", new String(sent.get(0).body(), StandardCharsets.UTF_8));
+    }
+
+    @Test
+    void testSkipsShadowingBodiesAboveLimit() throws ServletException, IOException {
+        // Arrange
+        MockHttpServletRequest request = new MockHttpServletRequest("POST", "/api/upload");
+        request.setContent(new byte[128]);
+        BodyCapturingChain chain = new BodyCapturingChain();
+
+        // Act
+        filter.doFilter(request, new MockHttpServletResponse(), chain);
+
+        // Assert
+        assertEquals(128, chain.body.length());
+        assertTrue(sent.isEmpty());
+    }
+
+    @Test
+    void testShadowsRequestsWithoutBody() throws ServletException, IOException {
+        // Arrange
+        MockHttpServletRequest request = new MockHttpServletRequest("GET", "/api/users");
+        request.setQueryString("page=1");
+        MockFilterChain chain = new MockFilterChain();
+
+        // Act
+        filter.doFilter(request, new MockHttpServletResponse(), chain);
+
+        // Assert
+        assertSame(request, chain.getRequest());
+        assertEquals(1, sent.size());
+        assertEquals("page=1", sent.get(0).query());
+        assertFalse(sent.get(0).hasBody());
+    }
+
+    @Test
+    void testShadowsFormPostFromParameters() throws ServletException, IOException {
+        // Arrange
+        MockHttpServletRequest request = new MockHttpServletRequest("POST", "/login");
+        request.setContentType("application/x-www-form-urlencoded");
+        request.addParameter("user", "john doe");
+        MockFilterChain chain = new MockFilterChain();
+
+        // Act
+        filter.doFilter(request, new MockHttpServletResponse(), chain);
+
+        // Assert
+        assertEquals("john doe", chain.getRequest().getParameter("user"));
+        assertEquals("user=john+doe", new String(sent.get(0).body(), StandardCharsets.UTF_8));
+    }
+
+    @Test
+    void testFormPostLeavesQueryParametersInTheQueryString() throws ServletException, IOException {
+        // Arrange
+        MockHttpServletRequest request = new MockHttpServletRequest("POST", "/search");
+        request.setContentType("application/x-www-form-urlencoded");
+        request.setQueryString("page=2&tag=new");
+        request.addParameter("page", "2");
+        request.addParameter("tag", "new", "sale");
+        request.addParameter("q", "shoes");
+
+        // Act
+        filter.doFilter(request, new MockHttpServletResponse(), new MockFilterChain());
+
+        // Assert
+        assertEquals("page=2&tag=new", sent.get(0).query());
+        assertEquals("tag=sale&q=shoes", new String(sent.get(0).body(), StandardCharsets.UTF_8));
+    }
+
+    @Test
+    void testSkipsShadowingFormPostsAboveLimit() throws ServletException, IOException {
+        // Arrange
+        MockHttpServletRequest request = new MockHttpServletRequest("POST", "/login");
+        request.setContentType("application/x-www-form-urlencoded");
+        request.addParameter("comment", "x".repeat(100));
+        MockFilterChain chain = new MockFilterChain();
+
+        // Act
+        filter.doFilter(request, new MockHttpServletResponse(), chain);
+
+        // Assert
+        assertSame(request, chain.getRequest());
+        assertTrue(sent.isEmpty());
+    }
+
+    @Test
+    void testNotifiesReadListenerOfBufferedBody() throws ServletException, IOException {
+        // Arrange
+        MockHttpServletRequest request = new MockHttpServletRequest("POST", "/api/orders");
+        request.setContent("{\"id\": 1}".getBytes(StandardCharsets.UTF_8));
+        List<String> events = new CopyOnWriteArrayList<>();
+        MockFilterChain chain = new MockFilterChain() {
+            @Override
+            public void doFilter(jakarta.servlet.ServletRequest servletRequest, jakarta.servlet.ServletResponse response) throws IOException {
+                ServletInputStream input = servletRequest.getInputStream();
+                input.setReadListener(new ReadListener() {
+                    @Override
+                    public void onDataAvailable() throws IOException {
+                        events.add(new String(input.readAllBytes(), StandardCharsets.UTF_8));
+                    }
+
+                    @Override
+                    public void onAllDataRead() {
+                        events.add("done");
+                    }
+
+                    @Override
+                    public void onError(Throwable t) {
+                        events.add("error");
+                    }
+                });
+            }
+        };
+
+        // Act
+        filter.doFilter(request, new MockHttpServletResponse(), chain);
+
+        // Assert
+        assertEquals(List.of("{\"id\": 1}", "done"), events);
+    }
+
+    private static class BodyCapturingChain extends MockFilterChain {
+        private String body;
+
+        @Override
+        public void doFilter(jakarta.servlet.ServletRequest request, jakarta.servlet.ServletResponse response) throws IOException, ServletException {
+            body = new String(((HttpServletRequest) request).getInputStream().readAllBytes(), StandardCharsets.ISO_8859_1);
+            super.doFilter(request, response);
+        }
+    }
+}
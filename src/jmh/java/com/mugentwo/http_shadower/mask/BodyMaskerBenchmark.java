@@ -0,0 +1,83 @@
+package com.mugentwo.http_shadower.mask;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+import com.mugentwo.http_shadower.config.MaskPatternProperties;
+import com.mugentwo.http_shadower.config.MaskingProperties;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+// Compares the streaming masker with the tree-based approach it replaces: parse into a JsonNode, redact,
+// serialize again. Throughput in bodies per second; multiply by the body size for bytes per second.
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+public class BodyMaskerBenchmark {
+    private static final ObjectMapper OBJECT_MAPPER = new ObjectMapper();
+
+    @Param({"10", "200"})
+    int items;
+
+    private BodyMasker masker;
+    private byte[] json;
+    private byte[] form;
+
+    @Setup
+    public void setUp() {
+        var masking = new MaskingProperties();
+        masking.setJsonFields(List.of("customer.email", "customer.phone", "**.cardNumber"));
+        masking.setPatterns(List.of(
+                new MaskPatternProperties("(?<=email=)[^&]*", null),
+                new MaskPatternProperties("\\d{4}-?\\d{4}-?\\d{4}-?\\d{4}", null)));
+        masker = new BodyMasker(masking);
+
+        StringBuilder body = new StringBuilder("{\"customer\":{\"id\":4711,\"email\":\"jane@example.com\",\"phone\":\"+15550100\",\"name\":\"Jane\"},\"items\":[");
+        StringBuilder formBody = new StringBuilder("email=jane%40example.com");
+        for (int i = 0; i < items; i++) {
+            if (i > 0) {
+                body.append(',');
+            }
+            body.append("{\"sku\":\"SKU-").append(i).append("\",\"quantity\":").append(i % 5 + 1)
+                    .append(",\"price\":").append(9.99 + i)
+                    .append(",\"payment\":{\"cardNumber\":\"4111111111111111\",\"expiry\":\"12/30\"}}");
+            formBody.append("&sku").append(i).append("=SKU-").append(i).append("&card").append(i).append("=4111-1111-1111-1111");
+        }
+        body.append("]}");
+        json = body.toString().getBytes(StandardCharsets.UTF_8);
+        form = formBody.toString().getBytes(StandardCharsets.UTF_8);
+    }
+
+    @Benchmark
+    public byte[] streamingJson() {
+        return masker.mask(json, "application/json", null);
+    }
+
+    @Benchmark
+    public byte[] treeJson() throws IOException {
+        JsonNode root = OBJECT_MAPPER.readTree(json);
+        ObjectNode customer = (ObjectNode) root.get("customer");
+        customer.put("email", "***");
+        customer.put("phone", "***");
+        for (JsonNode parent : root.findParents("cardNumber")) {
+            ((ObjectNode) parent).put("cardNumber", "***");
+        }
+        return OBJECT_MAPPER.writeValueAsBytes(root);
+    }
+
+    @Benchmark
+    public byte[] formPatterns() {
+        return masker.mask(form, "application/x-www-form-urlencoded", null);
+    }
+}
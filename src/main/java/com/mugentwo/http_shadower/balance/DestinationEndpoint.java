@@ -0,0 +1,73 @@
+package com.mugentwo.http_shadower.balance;
+
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAdder;
+
+// Passive health tracking: after failureThreshold consecutive failures the endpoint is ejected for
+// ejectionTime. Once that passes it takes traffic again; one success clears it, one more failure
+// ejects it again.
+public class DestinationEndpoint {
+    private final String url;
+    private final int failureThreshold;
+    private final long ejectionNanos;
+    private final AtomicInteger outstanding = new AtomicInteger();
+    private final AtomicInteger consecutiveFailures = new AtomicInteger();
+    private final LongAdder ejections = new LongAdder();
+    private volatile long ejectedUntil;
+    private volatile boolean ejected;
+
+    public DestinationEndpoint(String url, int failureThreshold, long ejectionNanos) {
+        this.url = url;
+        this.failureThreshold = failureThreshold;
+        this.ejectionNanos = ejectionNanos;
+    }
+
+    boolean isAvailable(long nowNanos) {
+        return !ejected || nowNanos - ejectedUntil >= 0;
+    }
+
+    void acquire() {
+        outstanding.incrementAndGet();
+    }
+
+    // Success means the endpoint answered with something other than a 5xx.
+    public void release(boolean success) {
+        outstanding.decrementAndGet();
+        if (success) {
+            consecutiveFailures.set(0);
+            ejected = false;
+            return;
+        }
+        long now = System.nanoTime();
+        if (consecutiveFailures.incrementAndGet() >= failureThreshold && isAvailable(now)) {
+            synchronized (this) {
+                if (isAvailable(now)) {
+                    ejectedUntil = now + ejectionNanos;
+                    ejected = true;
+                    ejections.increment();
+                }
+            }
+        }
+    }
+
+    // For calls we cut short ourselves (deadline, abandoned request): they say nothing about the endpoint.
+    public void releaseIgnored() {
+        outstanding.decrementAndGet();
+    }
+
+    public String getUrl() {
+        return url;
+    }
+
+    public int getOutstanding() {
+        return outstanding.get();
+    }
+
+    public boolean isAvailable() {
+        return isAvailable(System.nanoTime());
+    }
+
+    public long getEjectionCount() {
+        return ejections.sum();
+    }
+}
@@ -0,0 +1,53 @@
+package com.mugentwo.http_shadower.balance;
+
+import com.mugentwo.http_shadower.config.DestinationProperties;
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.stereotype.Component;
+
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.function.Function;
+
+@Component
+public class DestinationPools {
+    private final MeterRegistry meterRegistry;
+    private final ConcurrentMap<String, EndpointPool> pools = new ConcurrentHashMap<>();
+
+    public DestinationPools(MeterRegistry meterRegistry) {
+        this.meterRegistry = meterRegistry;
+    }
+
+    // The caller must release the returned endpoint once the call completes.
+    public DestinationEndpoint select(DestinationProperties destination, Function<String, String> requestHeaders) {
+        EndpointPool pool = pools.computeIfAbsent(destination.getName(), name -> register(name, destination));
+        String hashHeader = destination.getLoadBalancer().getHashHeader();
+        return pool.select(hashHeader == null ? null : requestHeaders.apply(hashHeader));
+    }
+
+    private EndpointPool register(String name, DestinationProperties destination) {
+        EndpointPool pool = new EndpointPool(destination.endpointUrls(), destination.getLoadBalancer());
+        if (pool.getEndpoints().size() == 1) {
+            return pool;
+        }
+        for (DestinationEndpoint endpoint : pool.getEndpoints()) {
+            Gauge.builder("shadower.endpoint.outstanding", endpoint, DestinationEndpoint::getOutstanding)
+                    .description("Requests in flight to a destination endpoint")
+                    .tag("destination", name)
+                    .tag("endpoint", endpoint.getUrl())
+                    .register(meterRegistry);
+            Gauge.builder("shadower.endpoint.available", endpoint, e -> e.isAvailable() ? 1 : 0)
+                    .description("Whether a destination endpoint is taking traffic")
+                    .tag("destination", name)
+                    .tag("endpoint", endpoint.getUrl())
+                    .register(meterRegistry);
+            FunctionCounter.builder("shadower.endpoint.ejections", endpoint, DestinationEndpoint::getEjectionCount)
+                    .description("Times a destination endpoint was ejected after consecutive failures")
+                    .tag("destination", name)
+                    .tag("endpoint", endpoint.getUrl())
+                    .register(meterRegistry);
+        }
+        return pool;
+    }
+}
@@ -0,0 +1,122 @@
+package com.mugentwo.http_shadower.balance;
+
+import com.mugentwo.http_shadower.config.LoadBalancerProperties;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.List;
+import java.util.concurrent.ThreadLocalRandom;
+
+// Picks an endpoint per call: the less loaded of two random available endpoints, or, when an
+// affinity key is given, the first available endpoint clockwise from the key on a hash ring.
+// Ejected endpoints are skipped; if every endpoint is ejected, all of them are used again.
+public class EndpointPool {
+    private final DestinationEndpoint[] endpoints;
+    private final long[] ringHashes;
+    private final int[] ringOwners;
+
+    public EndpointPool(List<String> urls, LoadBalancerProperties loadBalancer) {
+        long ejectionNanos = loadBalancer.getEjectionTime().toNanos();
+        this.endpoints = urls.stream()
+                .map(url -> new DestinationEndpoint(url, loadBalancer.getFailureThreshold(), ejectionNanos))
+                .toArray(DestinationEndpoint[]::new);
+
+        if (loadBalancer.getHashHeader() == null || endpoints.length == 1) {
+            this.ringHashes = null;
+            this.ringOwners = null;
+            return;
+        }
+        int virtualNodes = loadBalancer.getVirtualNodes();
+        long[][] ring = new long[endpoints.length * virtualNodes][];
+        for (int owner = 0; owner < endpoints.length; owner++) {
+            for (int node = 0; node < virtualNodes; node++) {
+                ring[owner * virtualNodes + node] = new long[] {hash(endpoints[owner].getUrl() + "#" + node), owner};
+            }
+        }
+        Arrays.sort(ring, Comparator.comparingLong(entry -> entry[0]));
+        this.ringHashes = new long[ring.length];
+        this.ringOwners = new int[ring.length];
+        for (int i = 0; i < ring.length; i++) {
+            ringHashes[i] = ring[i][0];
+            ringOwners[i] = (int) ring[i][1];
+        }
+    }
+
+    public DestinationEndpoint select(String affinityKey) {
+        DestinationEndpoint selected;
+        if (endpoints.length == 1) {
+            selected = endpoints[0];
+        } else if (affinityKey != null && ringHashes != null) {
+            selected = byHash(affinityKey);
+        } else {
+            selected = leastOutstandingOfTwo();
+        }
+        selected.acquire();
+        return selected;
+    }
+
+    private DestinationEndpoint leastOutstandingOfTwo() {
+        long now = System.nanoTime();
+        int[] candidates = new int[endpoints.length];
+        int available = 0;
+        for (int i = 0; i < endpoints.length; i++) {
+            if (endpoints[i].isAvailable(now)) {
+                candidates[available++] = i;
+            }
+        }
+        if (available == 0) {
+            for (int i = 0; i < endpoints.length; i++) {
+                candidates[i] = i;
+            }
+            available = endpoints.length;
+        }
+        if (available == 1) {
+            return endpoints[candidates[0]];
+        }
+
+        ThreadLocalRandom random = ThreadLocalRandom.current();
+        int first = random.nextInt(available);
+        int second = random.nextInt(available - 1);
+        if (second >= first) {
+            second++;
+        }
+        DestinationEndpoint a = endpoints[candidates[first]];
+        DestinationEndpoint b = endpoints[candidates[second]];
+        return b.getOutstanding() < a.getOutstanding() ? b : a;
+    }
+
+    private DestinationEndpoint byHash(String affinityKey) {
+        long now = System.nanoTime();
+        int start = Arrays.binarySearch(ringHashes, hash(affinityKey));
+        if (start < 0) {
+            start = -start - 1;
+        }
+        for (int step = 0; step < ringHashes.length; step++) {
+            DestinationEndpoint candidate = endpoints[ringOwners[(start + step) % ringHashes.length]];
+            if (candidate.isAvailable(now)) {
+                return candidate;
+            }
+        }
+        return endpoints[ringOwners[start % ringHashes.length]];
+    }
+
+    // FNV-1a over the UTF-8 bytes, finished with the MurmurHash3 mixer so nearby keys spread out.
+    static long hash(String key) {
+        long hash = 0xcbf29ce484222325L;
+        for (byte b : key.getBytes(StandardCharsets.UTF_8)) {
+            hash ^= b & 0xff;
+            hash *= 0x100000001b3L;
+        }
+        hash ^= hash >>> 33;
+        hash *= 0xff51afd7ed558ccdL;
+        hash ^= hash >>> 33;
+        hash *= 0xc4ceb9fe1a85ec53L;
+        hash ^= hash >>> 33;
+        return hash;
+    }
+
+    public List<DestinationEndpoint> getEndpoints() {
+        return List.of(endpoints);
+    }
+}
@@ -0,0 +1,54 @@
+package com.mugentwo.http_shadower.batch;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.mugentwo.http_shadower.config.DestinationProperties;
+import com.mugentwo.http_shadower.core.ShadowRequest;
+import com.mugentwo.http_shadower.transport.ShadowTransports;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.stereotype.Service;
+
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+
+@Service
+public class BatchDeliveryService {
+    private static final Logger logger = LoggerFactory.getLogger(BatchDeliveryService.class);
+
+    private final ObjectMapper objectMapper;
+    private final MeterRegistry meterRegistry;
+    private final ShadowTransports shadowTransports;
+    private final ConcurrentMap<String, BatchingShadowSink> sinks = new ConcurrentHashMap<>();
+
+    public BatchDeliveryService(ObjectMapper objectMapper, MeterRegistry meterRegistry, ShadowTransports shadowTransports) {
+        this.objectMapper = objectMapper;
+        this.meterRegistry = meterRegistry;
+        this.shadowTransports = shadowTransports;
+    }
+
+    public boolean enqueue(ShadowRequest shadowRequest, DestinationProperties destination) {
+        boolean accepted = sinks.computeIfAbsent(destination.getName(), name -> createSink(destination)).offer(shadowRequest);
+        if (!accepted) {
+            logger.debug("Batch buffer for {} is full, dropping {}", destination.getName(), shadowRequest);
+        }
+        return accepted;
+    }
+
+    private BatchingShadowSink createSink(DestinationProperties destination) {
+        BatchEncoder encoder = BatchEncoder.forFormat(destination.getBatch().getFormat(), objectMapper);
+        BatchingShadowSink sink = new BatchingShadowSink(destination, encoder, shadowTransports.forUrl(destination.getUrl()), meterRegistry);
+        sink.start();
+        logger.info("Batching shadow copies for {} as {} every {}", 
+                destination.getName(), 
+                destination.getBatch().getFormat(), 
+                destination.getBatch().getFlushInterval());
+        return sink;
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        sinks.values().forEach(BatchingShadowSink::close);
+    }
+}
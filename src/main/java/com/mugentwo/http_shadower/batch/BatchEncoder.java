@@ -0,0 +1,21 @@
+package com.mugentwo.http_shadower.batch;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.mugentwo.http_shadower.config.BatchProperties;
+
+import java.io.IOException;
+import java.io.OutputStream;
+
+public interface BatchEncoder {
+
+    String contentType();
+
+    void write(BatchRecord record, OutputStream out) throws IOException;
+
+    static BatchEncoder forFormat(BatchProperties.Format format, ObjectMapper objectMapper) {
+        return switch (format) {
+            case NDJSON -> new NdjsonBatchEncoder(objectMapper);
+            case BINARY -> new BinaryBatchEncoder();
+        };
+    }
+}
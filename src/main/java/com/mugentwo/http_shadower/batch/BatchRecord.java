@@ -0,0 +1,10 @@
+package com.mugentwo.http_shadower.batch;
+
+import com.mugentwo.http_shadower.core.ShadowRequest;
+
+public record BatchRecord(long timestampMillis, long enqueuedNanos, ShadowRequest request) {
+
+    public static BatchRecord of(ShadowRequest request) {
+        return new BatchRecord(System.currentTimeMillis(), System.nanoTime(), request);
+    }
+}
@@ -0,0 +1,196 @@
+package com.mugentwo.http_shadower.batch;
+
+import com.mugentwo.http_shadower.config.BatchProperties;
+import com.mugentwo.http_shadower.config.DestinationProperties;
+import com.mugentwo.http_shadower.core.ShadowRequest;
+import com.mugentwo.http_shadower.service.ShadowBodyCompressor;
+import com.mugentwo.http_shadower.transport.ShadowTransport;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.http.HttpEntity;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpMethod;
+import org.springframework.web.client.RestClientException;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+public class BatchingShadowSink implements AutoCloseable {
+    private static final Logger logger = LoggerFactory.getLogger(BatchingShadowSink.class);
+
+    private final DestinationProperties destination;
+    private final BatchProperties batch;
+    private final BatchEncoder encoder;
+    private final ShadowTransport transport;
+
+    // Producers only touch the lock-free queue and a few atomics; a single flush thread is the only consumer.
+    private final ConcurrentLinkedQueue<BatchRecord> buffer = new ConcurrentLinkedQueue<>();
+    private final AtomicInteger buffered = new AtomicInteger();
+    private final AtomicLong bufferedBytes = new AtomicLong();
+    private final AtomicBoolean flushRequested = new AtomicBoolean();
+    private final ScheduledExecutorService flusher;
+    private volatile boolean closed;
+
+    private final DistributionSummary batchSize;
+    private final Timer flushLatency;
+    private final Counter droppedRecords;
+    private final Counter failedRecords;
+
+    public BatchingShadowSink(DestinationProperties destination, BatchEncoder encoder, ShadowTransport transport, MeterRegistry meterRegistry) {
+        this.destination = destination;
+        this.batch = destination.getBatch();
+        this.encoder = encoder;
+        this.transport = transport;
+        this.flusher = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "shadow-batch-" + destination.getName());
+            thread.setDaemon(true);
+            return thread;
+        });
+
+        String name = destination.getName();
+        this.batchSize = DistributionSummary.builder("shadower.batch.size")
+                .description("Records per delivered shadow batch")
+                .tag("destination", name)
+                .register(meterRegistry);
+        this.flushLatency = Timer.builder("shadower.batch.flush.latency")
+                .description("Time from the oldest record in a batch being buffered to the batch being delivered")
+                .tag("destination", name)
+                .register(meterRegistry);
+        this.droppedRecords = Counter.builder("shadower.batch.dropped")
+                .description("Records dropped because the batch buffer was full")
+                .tag("destination", name)
+                .register(meterRegistry);
+        this.failedRecords = Counter.builder("shadower.batch.failed")
+                .description("Records in batches the destination did not accept")
+                .tag("destination", name)
+                .register(meterRegistry);
+        Gauge.builder("shadower.batch.buffered", buffered, AtomicInteger::get)
+                .description("Records waiting to be batched")
+                .tag("destination", name)
+                .register(meterRegistry);
+    }
+
+    public void start() {
+        long intervalNanos = batch.getFlushInterval().toNanos();
+        flusher.scheduleWithFixedDelay(this::flush, intervalNanos, intervalNanos, TimeUnit.NANOSECONDS);
+    }
+
+    public boolean offer(ShadowRequest request) {
+        if (closed) {
+            droppedRecords.increment();
+            return false;
+        }
+        if (buffered.incrementAndGet() > batch.getBufferCapacity()) {
+            buffered.decrementAndGet();
+            droppedRecords.increment();
+            return false;
+        }
+        buffer.offer(BatchRecord.of(request));
+        long bytes = bufferedBytes.addAndGet(estimatedSize(request));
+
+        if ((buffered.get() >= batch.getMaxRecords() || bytes >= batch.getMaxBytes()) && flushRequested.compareAndSet(false, true)) {
+            try {
+                flusher.execute(this::flush);
+            } catch (RejectedExecutionException e) {
+                // Closed concurrently; close() drains whatever is still buffered.
+            }
+        }
+        return true;
+    }
+
+    // Encoded size before any base64 or framing overhead; only used to decide when to flush.
+    private static long estimatedSize(ShadowRequest request) {
+        long size = request.bodyLength() + request.path().length() + (request.query() == null ? 0 : request.query().length());
+        for (var header : request.headers().entrySet()) {
+            for (String value : header.getValue()) {
+                size += header.getKey().length() + value.length();
+            }
+        }
+        return size;
+    }
+
+    // Must only run on the flush thread (or after it has stopped): the encoder and the drain are single-consumer.
+    void flush() {
+        flushRequested.set(false);
+        try {
+            while (!buffer.isEmpty()) {
+                sendBatch();
+            }
+        } catch (RuntimeException e) {
+            logger.error("Unexpected failure flushing shadow batch for {}", destination.getName(), e);
+        }
+    }
+
+    private void sendBatch() {
+        ByteArrayOutputStream out = new ByteArrayOutputStream(Math.min(batch.getMaxBytes(), 64 * 1024));
+        int records = 0;
+        long oldestEnqueuedNanos = 0;
+        BatchRecord record;
+        while (records < batch.getMaxRecords() && out.size() < batch.getMaxBytes() && (record = buffer.poll()) != null) {
+            buffered.decrementAndGet();
+            bufferedBytes.addAndGet(-estimatedSize(record.request()));
+            if (records == 0) {
+                oldestEnqueuedNanos = record.enqueuedNanos();
+            }
+            try {
+                encoder.write(record, out);
+                records++;
+            } catch (IOException e) {
+                logger.warn("Could not encode {} for batch to {}: {}", record.request(), destination.getName(), e.getMessage());
+            }
+        }
+        if (records == 0) {
+            return;
+        }
+
+        byte[] body = out.toByteArray();
+        HttpHeaders headers = new HttpHeaders();
+        headers.set(HttpHeaders.CONTENT_TYPE, encoder.contentType());
+        headers.set("X-Shadower-Batch-Records", Integer.toString(records));
+        if (ShadowBodyCompressor.shouldCompress(destination.getCompression(), headers, body)) {
+            body = ShadowBodyCompressor.compress(body, headers);
+        }
+
+        try {
+            transport.send(destination.getUrl(), HttpMethod.POST, new HttpEntity<>(body, headers));
+            logger.debug("Delivered batch of {} records ({} bytes) to {}", records, body.length, destination.getName());
+        } catch (RestClientException e) {
+            failedRecords.increment(records);
+            logger.error("Failed to deliver batch of {} records to {}: {}", records, destination.getName(), e.getMessage());
+        }
+        batchSize.record(records);
+        flushLatency.record(System.nanoTime() - oldestEnqueuedNanos, TimeUnit.NANOSECONDS);
+    }
+
+    public int getBuffered() {
+        return buffered.get();
+    }
+
+    @Override
+    public void close() {
+        closed = true;
+        flusher.shutdown();
+        try {
+            if (!flusher.awaitTermination(5, TimeUnit.SECONDS)) {
+                flusher.shutdownNow();
+            }
+        } catch (InterruptedException e) {
+            flusher.shutdownNow();
+            Thread.currentThread().interrupt();
+        }
+        flush();
+    }
+}
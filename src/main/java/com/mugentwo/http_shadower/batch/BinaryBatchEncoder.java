@@ -0,0 +1,63 @@
+package com.mugentwo.http_shadower.batch;
+
+import com.mugentwo.http_shadower.core.ShadowRequest;
+
+import java.io.ByteArrayOutputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import java.util.Map;
+
+// Each record is a big-endian int32 frame length followed by the frame:
+// int64 timestamp, method, path, query (length -1 when absent), int32 header count,
+// then per header a name, an int32 value count and the values, and finally the body
+// as an int32 length (-1 when absent) plus raw bytes. Strings are int32-length-prefixed UTF-8.
+public class BinaryBatchEncoder implements BatchEncoder {
+    private final ByteArrayOutputStream frame = new ByteArrayOutputStream(1024);
+
+    @Override
+    public String contentType() {
+        return "application/x-shadower-batch";
+    }
+
+    @Override
+    public void write(BatchRecord record, OutputStream out) throws IOException {
+        ShadowRequest request = record.request();
+        frame.reset();
+        DataOutputStream data = new DataOutputStream(frame);
+        data.writeLong(record.timestampMillis());
+        writeString(data, request.method());
+        writeString(data, request.path());
+        writeString(data, request.query());
+        data.writeInt(request.headers().size());
+        for (Map.Entry<String, List<String>> header : request.headers().entrySet()) {
+            writeString(data, header.getKey());
+            data.writeInt(header.getValue().size());
+            for (String value : header.getValue()) {
+                writeString(data, value);
+            }
+        }
+        writeBytes(data, request.body());
+        data.flush();
+
+        DataOutputStream target = new DataOutputStream(out);
+        target.writeInt(frame.size());
+        frame.writeTo(target);
+        target.flush();
+    }
+
+    private static void writeString(DataOutputStream data, String value) throws IOException {
+        writeBytes(data, value == null ? null : value.getBytes(StandardCharsets.UTF_8));
+    }
+
+    private static void writeBytes(DataOutputStream data, byte[] value) throws IOException {
+        if (value == null) {
+            data.writeInt(-1);
+            return;
+        }
+        data.writeInt(value.length);
+        data.write(value);
+    }
+}
@@ -0,0 +1,51 @@
+package com.mugentwo.http_shadower.batch;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.mugentwo.http_shadower.core.ShadowRequest;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.util.List;
+import java.util.Map;
+
+// Writes the same fields the JSON-lines replay parser reads, so collected batches can be replayed as-is.
+public class NdjsonBatchEncoder implements BatchEncoder {
+    private final ObjectMapper objectMapper;
+
+    public NdjsonBatchEncoder(ObjectMapper objectMapper) {
+        this.objectMapper = objectMapper;
+    }
+
+    @Override
+    public String contentType() {
+        return "application/x-ndjson";
+    }
+
+    @Override
+    public void write(BatchRecord record, OutputStream out) throws IOException {
+        ShadowRequest request = record.request();
+        try (JsonGenerator generator = objectMapper.getFactory().createGenerator(out)) {
+            generator.disable(JsonGenerator.Feature.AUTO_CLOSE_TARGET);
+            generator.writeStartObject();
+            generator.writeNumberField("timestamp", record.timestampMillis());
+            generator.writeStringField("method", request.method());
+            generator.writeStringField("path", request.query() == null ? request.path() : request.path() + "?" + request.query());
+            generator.writeObjectFieldStart("headers");
+            for (Map.Entry<String, List<String>> header : request.headers().entrySet()) {
+                generator.writeArrayFieldStart(header.getKey());
+                for (String value : header.getValue()) {
+                    generator.writeString(value);
+                }
+                generator.writeEndArray();
+            }
+            generator.writeEndObject();
+            if (request.body() != null) {
+                generator.writeFieldName("bodyBase64");
+                generator.writeBinary(request.body());
+            }
+            generator.writeEndObject();
+        }
+        out.write('\n');
+    }
+}
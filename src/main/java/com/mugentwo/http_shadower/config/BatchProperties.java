@@ -0,0 +1,86 @@
+package com.mugentwo.http_shadower.config;
+
+import java.time.Duration;
+
+public class BatchProperties {
+    public enum Format {
+        NDJSON,
+        BINARY
+    }
+
+    private boolean enabled = false;
+    private Format format = Format.NDJSON;
+    private int maxRecords = 500;
+    private int maxBytes = 1024 * 1024;
+    private Duration flushInterval = Duration.ofMillis(200);
+    private int bufferCapacity = 10000;
+
+    public BatchProperties() {}
+
+    public BatchProperties(boolean enabled, Format format, int maxRecords, Duration flushInterval) {
+        this.enabled = enabled;
+        this.format = format;
+        this.maxRecords = maxRecords;
+        this.flushInterval = flushInterval;
+    }
+
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    public void setEnabled(boolean enabled) {
+        this.enabled = enabled;
+    }
+
+    public Format getFormat() {
+        return format;
+    }
+
+    public void setFormat(Format format) {
+        this.format = format;
+    }
+
+    public int getMaxRecords() {
+        return maxRecords;
+    }
+
+    public void setMaxRecords(int maxRecords) {
+        this.maxRecords = maxRecords;
+    }
+
+    public int getMaxBytes() {
+        return maxBytes;
+    }
+
+    public void setMaxBytes(int maxBytes) {
+        this.maxBytes = maxBytes;
+    }
+
+    public Duration getFlushInterval() {
+        return flushInterval;
+    }
+
+    public void setFlushInterval(Duration flushInterval) {
+        this.flushInterval = flushInterval;
+    }
+
+    public int getBufferCapacity() {
+        return bufferCapacity;
+    }
+
+    public void setBufferCapacity(int bufferCapacity) {
+        this.bufferCapacity = bufferCapacity;
+    }
+
+    @Override
+    public String toString() {
+        return "BatchProperties{" +
+                "enabled=" + enabled +
+                ", format=" + format +
+                ", maxRecords=" + maxRecords +
+                ", maxBytes=" + maxBytes +
+                ", flushInterval=" + flushInterval +
+                ", bufferCapacity=" + bufferCapacity +
+                '}';
+    }
+}
@@ -0,0 +1,67 @@
+package com.mugentwo.http_shadower.config;
+
+import org.springframework.util.unit.DataSize;
+
+public class BudgetProperties {
+    public enum OverBudget {
+        SHED,
+        HEADERS_ONLY
+    }
+
+    private boolean enabled = true;
+    private DataSize maxInFlight = DataSize.ofMegabytes(64);
+    private OverBudget overBudget = OverBudget.SHED;
+    private double heapThreshold = 0.85;
+    private double gcTimeThreshold = 0.25;
+
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    public void setEnabled(boolean enabled) {
+        this.enabled = enabled;
+    }
+
+    public DataSize getMaxInFlight() {
+        return maxInFlight;
+    }
+
+    public void setMaxInFlight(DataSize maxInFlight) {
+        this.maxInFlight = maxInFlight;
+    }
+
+    public OverBudget getOverBudget() {
+        return overBudget;
+    }
+
+    public void setOverBudget(OverBudget overBudget) {
+        this.overBudget = overBudget;
+    }
+
+    public double getHeapThreshold() {
+        return heapThreshold;
+    }
+
+    public void setHeapThreshold(double heapThreshold) {
+        this.heapThreshold = heapThreshold;
+    }
+
+    public double getGcTimeThreshold() {
+        return gcTimeThreshold;
+    }
+
+    public void setGcTimeThreshold(double gcTimeThreshold) {
+        this.gcTimeThreshold = gcTimeThreshold;
+    }
+
+    @Override
+    public String toString() {
+        return "BudgetProperties{" +
+                "enabled=" + enabled +
+                ", maxInFlight=" + maxInFlight +
+                ", overBudget=" + overBudget +
+                ", heapThreshold=" + heapThreshold +
+                ", gcTimeThreshold=" + gcTimeThreshold +
+                '}';
+    }
+}
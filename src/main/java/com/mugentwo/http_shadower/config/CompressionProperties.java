@@ -0,0 +1,37 @@
+package com.mugentwo.http_shadower.config;
+
+public class CompressionProperties {
+    private boolean enabled = false;
+    private int minSize = 1024;
+
+    public CompressionProperties() {}
+
+    public CompressionProperties(boolean enabled, int minSize) {
+        this.enabled = enabled;
+        this.minSize = minSize;
+    }
+
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    public void setEnabled(boolean enabled) {
+        this.enabled = enabled;
+    }
+
+    public int getMinSize() {
+        return minSize;
+    }
+
+    public void setMinSize(int minSize) {
+        this.minSize = minSize;
+    }
+
+    @Override
+    public String toString() {
+        return "CompressionProperties{" +
+                "enabled=" + enabled +
+                ", minSize=" + minSize +
+                '}';
+    }
+}
@@ -0,0 +1,89 @@
+package com.mugentwo.http_shadower.config;
+
+public class ConcurrencyLimitProperties {
+    private boolean enabled = false;
+    private int initialLimit = 20;
+    private int minLimit = 1;
+    private int maxLimit = 1000;
+    private double smoothing = 0.2;
+    private double rttTolerance = 1.5;
+    private int longWindow = 600;
+
+    public ConcurrencyLimitProperties() {}
+
+    public ConcurrencyLimitProperties(int initialLimit, int minLimit, int maxLimit) {
+        this.enabled = true;
+        this.initialLimit = initialLimit;
+        this.minLimit = minLimit;
+        this.maxLimit = maxLimit;
+    }
+
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    public void setEnabled(boolean enabled) {
+        this.enabled = enabled;
+    }
+
+    public int getInitialLimit() {
+        return initialLimit;
+    }
+
+    public void setInitialLimit(int initialLimit) {
+        this.initialLimit = initialLimit;
+    }
+
+    public int getMinLimit() {
+        return minLimit;
+    }
+
+    public void setMinLimit(int minLimit) {
+        this.minLimit = minLimit;
+    }
+
+    public int getMaxLimit() {
+        return maxLimit;
+    }
+
+    public void setMaxLimit(int maxLimit) {
+        this.maxLimit = maxLimit;
+    }
+
+    public double getSmoothing() {
+        return smoothing;
+    }
+
+    public void setSmoothing(double smoothing) {
+        this.smoothing = smoothing;
+    }
+
+    public double getRttTolerance() {
+        return rttTolerance;
+    }
+
+    public void setRttTolerance(double rttTolerance) {
+        this.rttTolerance = rttTolerance;
+    }
+
+    public int getLongWindow() {
+        return longWindow;
+    }
+
+    public void setLongWindow(int longWindow) {
+        this.longWindow = longWindow;
+    }
+
+    @Override
+    public String toString() {
+        return "ConcurrencyLimitProperties{" +
+                "enabled=" + enabled +
+                ", initialLimit=" + initialLimit +
+                ", minLimit=" + minLimit +
+                ", maxLimit=" + maxLimit +
+                ", smoothing=" + smoothing +
+                ", rttTolerance=" + rttTolerance +
+                ", longWindow=" + longWindow +
+                '}';
+    }
+}
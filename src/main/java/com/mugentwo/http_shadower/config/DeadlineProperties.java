@@ -0,0 +1,44 @@
+package com.mugentwo.http_shadower.config;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+
+public class DeadlineProperties {
+    private boolean enabled = true;
+    private Duration timeout = Duration.ofSeconds(30);
+    private List<DeadlineRouteProperties> routes = new ArrayList<>();
+
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    public void setEnabled(boolean enabled) {
+        this.enabled = enabled;
+    }
+
+    public Duration getTimeout() {
+        return timeout;
+    }
+
+    public void setTimeout(Duration timeout) {
+        this.timeout = timeout;
+    }
+
+    public List<DeadlineRouteProperties> getRoutes() {
+        return routes;
+    }
+
+    public void setRoutes(List<DeadlineRouteProperties> routes) {
+        this.routes = routes;
+    }
+
+    @Override
+    public String toString() {
+        return "DeadlineProperties{" +
+                "enabled=" + enabled +
+                ", timeout=" + timeout +
+                ", routes=" + routes +
+                '}';
+    }
+}
@@ -0,0 +1,41 @@
+package com.mugentwo.http_shadower.config;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+
+public class DeadlineRouteProperties {
+    private List<String> paths = new ArrayList<>();
+    private Duration timeout;
+
+    public DeadlineRouteProperties() {}
+
+    public DeadlineRouteProperties(List<String> paths, Duration timeout) {
+        this.paths = paths;
+        this.timeout = timeout;
+    }
+
+    public List<String> getPaths() {
+        return paths;
+    }
+
+    public void setPaths(List<String> paths) {
+        this.paths = paths;
+    }
+
+    public Duration getTimeout() {
+        return timeout;
+    }
+
+    public void setTimeout(Duration timeout) {
+        this.timeout = timeout;
+    }
+
+    @Override
+    public String toString() {
+        return "DeadlineRouteProperties{" +
+                "paths=" + paths +
+                ", timeout=" + timeout +
+                '}';
+    }
+}
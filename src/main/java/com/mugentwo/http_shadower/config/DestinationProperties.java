@@ -1,10 +1,19 @@
 package com.mugentwo.http_shadower.config;
 
+import java.util.ArrayList;
+import java.util.List;
+
 public class DestinationProperties {
     private String name;
     private String url;
+    private List<String> endpoints = new ArrayList<>();
     private boolean enabled = true;
     private boolean responseSource = false;
+    private CompressionProperties compression = new CompressionProperties();
+    private ConcurrencyLimitProperties concurrencyLimit = new ConcurrencyLimitProperties();
+    private BatchProperties batch = new BatchProperties();
+    private LoadBalancerProperties loadBalancer = new LoadBalancerProperties();
+    private MaskingProperties masking = new MaskingProperties();
 
     public DestinationProperties() {}
 
@@ -37,6 +46,19 @@ public class DestinationProperties {
         this.url = url;
     }
 
+    public List<String> getEndpoints() {
+        return endpoints;
+    }
+
+    public void setEndpoints(List<String> endpoints) {
+        this.endpoints = endpoints;
+    }
+
+    // The endpoint pool when one is configured, otherwise the single url.
+    public List<String> endpointUrls() {
+        return endpoints.isEmpty() ? List.of(url) : endpoints;
+    }
+
     public boolean isEnabled() {
         return enabled;
     }
@@ -53,13 +75,59 @@ public class DestinationProperties {
         this.responseSource = responseSource;
     }
 
+    public CompressionProperties getCompression() {
+        return compression;
+    }
+
+    public void setCompression(CompressionProperties compression) {
+        this.compression = compression;
+    }
+
+    public ConcurrencyLimitProperties getConcurrencyLimit() {
+        return concurrencyLimit;
+    }
+
+    public void setConcurrencyLimit(ConcurrencyLimitProperties concurrencyLimit) {
+        this.concurrencyLimit = concurrencyLimit;
+    }
+
+    public BatchProperties getBatch() {
+        return batch;
+    }
+
+    public void setBatch(BatchProperties batch) {
+        this.batch = batch;
+    }
+
+    public LoadBalancerProperties getLoadBalancer() {
+        return loadBalancer;
+    }
+
+    public void setLoadBalancer(LoadBalancerProperties loadBalancer) {
+        this.loadBalancer = loadBalancer;
+    }
+
+    public MaskingProperties getMasking() {
+        return masking;
+    }
+
+    public void setMasking(MaskingProperties masking) {
+        this.masking = masking;
+    }
+
     @Override
     public String toString() {
         return "DestinationProperties{" +
                 "name='" + name + '\'' +
                 ", url='" + url + '\'' +
+                ", endpoints=" + endpoints +
                 ", enabled=" + enabled +
                 ", responseSource=" + responseSource +
+                ", compression=" + compression +
+                ", concurrencyLimit=" + concurrencyLimit +
+                ", batch=" + batch +
+                ", loadBalancer=" + loadBalancer +
+                ", masking=" + masking +
                 '}';
     }
 }
\ No newline at end of file
@@ -0,0 +1,45 @@
+package com.mugentwo.http_shadower.config;
+
+public class FrontendProperties {
+    public enum Mode {
+        SERVLET,
+        NETTY
+    }
+
+    private Mode mode = Mode.SERVLET;
+    private int maxConnections = 500;
+    private int maxInFlightShadows = 1000;
+
+    public Mode getMode() {
+        return mode;
+    }
+
+    public void setMode(Mode mode) {
+        this.mode = mode;
+    }
+
+    public int getMaxConnections() {
+        return maxConnections;
+    }
+
+    public void setMaxConnections(int maxConnections) {
+        this.maxConnections = maxConnections;
+    }
+
+    public int getMaxInFlightShadows() {
+        return maxInFlightShadows;
+    }
+
+    public void setMaxInFlightShadows(int maxInFlightShadows) {
+        this.maxInFlightShadows = maxInFlightShadows;
+    }
+
+    @Override
+    public String toString() {
+        return "FrontendProperties{" +
+                "mode=" + mode +
+                ", maxConnections=" + maxConnections +
+                ", maxInFlightShadows=" + maxInFlightShadows +
+                '}';
+    }
+}
@@ -0,0 +1,52 @@
+package com.mugentwo.http_shadower.config;
+
+import java.time.Duration;
+
+public class LoadBalancerProperties {
+    private String hashHeader;
+    private int failureThreshold = 5;
+    private Duration ejectionTime = Duration.ofSeconds(10);
+    private int virtualNodes = 128;
+
+    public String getHashHeader() {
+        return hashHeader;
+    }
+
+    public void setHashHeader(String hashHeader) {
+        this.hashHeader = hashHeader;
+    }
+
+    public int getFailureThreshold() {
+        return failureThreshold;
+    }
+
+    public void setFailureThreshold(int failureThreshold) {
+        this.failureThreshold = failureThreshold;
+    }
+
+    public Duration getEjectionTime() {
+        return ejectionTime;
+    }
+
+    public void setEjectionTime(Duration ejectionTime) {
+        this.ejectionTime = ejectionTime;
+    }
+
+    public int getVirtualNodes() {
+        return virtualNodes;
+    }
+
+    public void setVirtualNodes(int virtualNodes) {
+        this.virtualNodes = virtualNodes;
+    }
+
+    @Override
+    public String toString() {
+        return "LoadBalancerProperties{" +
+                "hashHeader='" + hashHeader + '\'' +
+                ", failureThreshold=" + failureThreshold +
+                ", ejectionTime=" + ejectionTime +
+                ", virtualNodes=" + virtualNodes +
+                '}';
+    }
+}
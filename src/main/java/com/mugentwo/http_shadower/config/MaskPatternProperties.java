@@ -0,0 +1,38 @@
+package com.mugentwo.http_shadower.config;
+
+public class MaskPatternProperties {
+    private String regex;
+    private String replacement;
+
+    public MaskPatternProperties() {}
+
+    public MaskPatternProperties(String regex, String replacement) {
+        this.regex = regex;
+        this.replacement = replacement;
+    }
+
+    public String getRegex() {
+        return regex;
+    }
+
+    public void setRegex(String regex) {
+        this.regex = regex;
+    }
+
+    // Falls back to the masking replacement when not set.
+    public String getReplacement() {
+        return replacement;
+    }
+
+    public void setReplacement(String replacement) {
+        this.replacement = replacement;
+    }
+
+    @Override
+    public String toString() {
+        return "MaskPatternProperties{" +
+                "regex='" + regex + '\'' +
+                ", replacement='" + replacement + '\'' +
+                '}';
+    }
+}
@@ -0,0 +1,53 @@
+package com.mugentwo.http_shadower.config;
+
+import java.util.ArrayList;
+import java.util.List;
+
+public class MaskingProperties {
+    private boolean enabled = false;
+    private List<String> jsonFields = new ArrayList<>();
+    private List<MaskPatternProperties> patterns = new ArrayList<>();
+    private String replacement = "***";
+
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    public void setEnabled(boolean enabled) {
+        this.enabled = enabled;
+    }
+
+    public List<String> getJsonFields() {
+        return jsonFields;
+    }
+
+    public void setJsonFields(List<String> jsonFields) {
+        this.jsonFields = jsonFields;
+    }
+
+    public List<MaskPatternProperties> getPatterns() {
+        return patterns;
+    }
+
+    public void setPatterns(List<MaskPatternProperties> patterns) {
+        this.patterns = patterns;
+    }
+
+    public String getReplacement() {
+        return replacement;
+    }
+
+    public void setReplacement(String replacement) {
+        this.replacement = replacement;
+    }
+
+    @Override
+    public String toString() {
+        return "MaskingProperties{" +
+                "enabled=" + enabled +
+                ", jsonFields=" + jsonFields +
+                ", patterns=" + patterns +
+                ", replacement='" + replacement + '\'' +
+                '}';
+    }
+}
@@ -0,0 +1,32 @@
+package com.mugentwo.http_shadower.config;
+
+import java.time.Duration;
+
+public class OutboundProperties {
+    private boolean http2 = true;
+    private Duration connectTimeout = Duration.ofSeconds(5);
+
+    public boolean isHttp2() {
+        return http2;
+    }
+
+    public void setHttp2(boolean http2) {
+        this.http2 = http2;
+    }
+
+    public Duration getConnectTimeout() {
+        return connectTimeout;
+    }
+
+    public void setConnectTimeout(Duration connectTimeout) {
+        this.connectTimeout = connectTimeout;
+    }
+
+    @Override
+    public String toString() {
+        return "OutboundProperties{" +
+                "http2=" + http2 +
+                ", connectTimeout=" + connectTimeout +
+                '}';
+    }
+}
@@ -0,0 +1,51 @@
+package com.mugentwo.http_shadower.config;
+
+import java.util.ArrayList;
+import java.util.List;
+
+public class PriorityClassProperties {
+    private String name;
+    private List<String> paths = new ArrayList<>();
+    private double minShare = 0.0;
+
+    public PriorityClassProperties() {}
+
+    public PriorityClassProperties(String name, List<String> paths, double minShare) {
+        this.name = name;
+        this.paths = paths;
+        this.minShare = minShare;
+    }
+
+    public String getName() {
+        return name;
+    }
+
+    public void setName(String name) {
+        this.name = name;
+    }
+
+    public List<String> getPaths() {
+        return paths;
+    }
+
+    public void setPaths(List<String> paths) {
+        this.paths = paths;
+    }
+
+    public double getMinShare() {
+        return minShare;
+    }
+
+    public void setMinShare(double minShare) {
+        this.minShare = minShare;
+    }
+
+    @Override
+    public String toString() {
+        return "PriorityClassProperties{" +
+                "name='" + name + '\'' +
+                ", paths=" + paths +
+                ", minShare=" + minShare +
+                '}';
+    }
+}
@@ -0,0 +1,63 @@
+package com.mugentwo.http_shadower.config;
+
+import java.util.ArrayList;
+import java.util.List;
+
+public class PriorityProperties {
+    private boolean enabled = false;
+    private String header = "X-Shadow-Priority";
+    private int maxConcurrent = 200;
+    private int maxQueued = 5000;
+    private List<PriorityClassProperties> classes = new ArrayList<>();
+
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    public void setEnabled(boolean enabled) {
+        this.enabled = enabled;
+    }
+
+    public String getHeader() {
+        return header;
+    }
+
+    public void setHeader(String header) {
+        this.header = header;
+    }
+
+    public int getMaxConcurrent() {
+        return maxConcurrent;
+    }
+
+    public void setMaxConcurrent(int maxConcurrent) {
+        this.maxConcurrent = maxConcurrent;
+    }
+
+    public int getMaxQueued() {
+        return maxQueued;
+    }
+
+    public void setMaxQueued(int maxQueued) {
+        this.maxQueued = maxQueued;
+    }
+
+    public List<PriorityClassProperties> getClasses() {
+        return classes;
+    }
+
+    public void setClasses(List<PriorityClassProperties> classes) {
+        this.classes = classes;
+    }
+
+    @Override
+    public String toString() {
+        return "PriorityProperties{" +
+                "enabled=" + enabled +
+                ", header='" + header + '\'' +
+                ", maxConcurrent=" + maxConcurrent +
+                ", maxQueued=" + maxQueued +
+                ", classes=" + classes +
+                '}';
+    }
+}
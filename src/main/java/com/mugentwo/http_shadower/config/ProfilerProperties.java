@@ -0,0 +1,60 @@
+package com.mugentwo.http_shadower.config;
+
+public class ProfilerProperties {
+    private boolean enabled = true;
+    private int capacity = 256;
+    private int topN = 20;
+    private int maxLiteralSegments = 64;
+    private int templateCacheSize = 10_000;
+
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    public void setEnabled(boolean enabled) {
+        this.enabled = enabled;
+    }
+
+    public int getCapacity() {
+        return capacity;
+    }
+
+    public void setCapacity(int capacity) {
+        this.capacity = capacity;
+    }
+
+    public int getTopN() {
+        return topN;
+    }
+
+    public void setTopN(int topN) {
+        this.topN = topN;
+    }
+
+    public int getMaxLiteralSegments() {
+        return maxLiteralSegments;
+    }
+
+    public void setMaxLiteralSegments(int maxLiteralSegments) {
+        this.maxLiteralSegments = maxLiteralSegments;
+    }
+
+    public int getTemplateCacheSize() {
+        return templateCacheSize;
+    }
+
+    public void setTemplateCacheSize(int templateCacheSize) {
+        this.templateCacheSize = templateCacheSize;
+    }
+
+    @Override
+    public String toString() {
+        return "ProfilerProperties{" +
+                "enabled=" + enabled +
+                ", capacity=" + capacity +
+                ", topN=" + topN +
+                ", maxLiteralSegments=" + maxLiteralSegments +
+                ", templateCacheSize=" + templateCacheSize +
+                '}';
+    }
+}
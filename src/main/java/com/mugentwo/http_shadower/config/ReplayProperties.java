@@ -0,0 +1,106 @@
+package com.mugentwo.http_shadower.config;
+
+import java.util.ArrayList;
+import java.util.List;
+
+public class ReplayProperties {
+    public enum Format {
+        AUTO,
+        NGINX,
+        ENVOY,
+        JSONL
+    }
+
+    public enum Pacing {
+        ORIGINAL,
+        FIXED_RATE,
+        MAX
+    }
+
+    private boolean enabled = false;
+    private List<String> files = new ArrayList<>();
+    private Format format = Format.AUTO;
+    private Pacing pacing = Pacing.ORIGINAL;
+    private double rate = 100.0;
+    private double speedup = 1.0;
+    private int maxInFlight = 256;
+    private boolean exitOnCompletion = false;
+
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    public void setEnabled(boolean enabled) {
+        this.enabled = enabled;
+    }
+
+    public List<String> getFiles() {
+        return files;
+    }
+
+    public void setFiles(List<String> files) {
+        this.files = files;
+    }
+
+    public Format getFormat() {
+        return format;
+    }
+
+    public void setFormat(Format format) {
+        this.format = format;
+    }
+
+    public Pacing getPacing() {
+        return pacing;
+    }
+
+    public void setPacing(Pacing pacing) {
+        this.pacing = pacing;
+    }
+
+    public double getRate() {
+        return rate;
+    }
+
+    public void setRate(double rate) {
+        this.rate = rate;
+    }
+
+    public double getSpeedup() {
+        return speedup;
+    }
+
+    public void setSpeedup(double speedup) {
+        this.speedup = speedup;
+    }
+
+    public int getMaxInFlight() {
+        return maxInFlight;
+    }
+
+    public void setMaxInFlight(int maxInFlight) {
+        this.maxInFlight = maxInFlight;
+    }
+
+    public boolean isExitOnCompletion() {
+        return exitOnCompletion;
+    }
+
+    public void setExitOnCompletion(boolean exitOnCompletion) {
+        this.exitOnCompletion = exitOnCompletion;
+    }
+
+    @Override
+    public String toString() {
+        return "ReplayProperties{" +
+                "enabled=" + enabled +
+                ", files=" + files +
+                ", format=" + format +
+                ", pacing=" + pacing +
+                ", rate=" + rate +
+                ", speedup=" + speedup +
+                ", maxInFlight=" + maxInFlight +
+                ", exitOnCompletion=" + exitOnCompletion +
+                '}';
+    }
+}
@@ -2,15 +2,33 @@ package com.mugentwo.http_shadower.config;
 
 import org.springframework.boot.context.properties.ConfigurationProperties;
 import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.ImportRuntimeHints;
 
 import jakarta.annotation.PostConstruct;
+import java.time.Duration;
 import java.util.ArrayList;
+import java.util.HashSet;
 import java.util.List;
+import java.util.Locale;
+import java.util.Set;
+import java.util.regex.Pattern;
+import java.util.regex.PatternSyntaxException;
 
 @Configuration
 @ConfigurationProperties(prefix = "shadower")
+@ImportRuntimeHints(ShadowerRuntimeHints.class)
 public class ShadowerConfiguration {
     private List<DestinationProperties> destinations = new ArrayList<>();
+    private FrontendProperties frontend = new FrontendProperties();
+    private OutboundProperties outbound = new OutboundProperties();
+    private BudgetProperties budget = new BudgetProperties();
+    private PriorityProperties priority = new PriorityProperties();
+    private TracingProperties tracing = new TracingProperties();
+    private DeadlineProperties deadline = new DeadlineProperties();
+    private ProfilerProperties profiler = new ProfilerProperties();
+    private WarmupProperties warmup = new WarmupProperties();
+    private ReplayProperties replay = new ReplayProperties();
+    private List<TenantProperties> tenants = new ArrayList<>();
 
     public List<DestinationProperties> getDestinations() {
         return destinations;
@@ -20,6 +38,86 @@ public class ShadowerConfiguration {
         this.destinations = destinations;
     }
 
+    public FrontendProperties getFrontend() {
+        return frontend;
+    }
+
+    public void setFrontend(FrontendProperties frontend) {
+        this.frontend = frontend;
+    }
+
+    public OutboundProperties getOutbound() {
+        return outbound;
+    }
+
+    public void setOutbound(OutboundProperties outbound) {
+        this.outbound = outbound;
+    }
+
+    public BudgetProperties getBudget() {
+        return budget;
+    }
+
+    public void setBudget(BudgetProperties budget) {
+        this.budget = budget;
+    }
+
+    public PriorityProperties getPriority() {
+        return priority;
+    }
+
+    public void setPriority(PriorityProperties priority) {
+        this.priority = priority;
+    }
+
+    public TracingProperties getTracing() {
+        return tracing;
+    }
+
+    public void setTracing(TracingProperties tracing) {
+        this.tracing = tracing;
+    }
+
+    public DeadlineProperties getDeadline() {
+        return deadline;
+    }
+
+    public void setDeadline(DeadlineProperties deadline) {
+        this.deadline = deadline;
+    }
+
+    public ProfilerProperties getProfiler() {
+        return profiler;
+    }
+
+    public void setProfiler(ProfilerProperties profiler) {
+        this.profiler = profiler;
+    }
+
+    public WarmupProperties getWarmup() {
+        return warmup;
+    }
+
+    public void setWarmup(WarmupProperties warmup) {
+        this.warmup = warmup;
+    }
+
+    public ReplayProperties getReplay() {
+        return replay;
+    }
+
+    public void setReplay(ReplayProperties replay) {
+        this.replay = replay;
+    }
+
+    public List<TenantProperties> getTenants() {
+        return tenants;
+    }
+
+    public void setTenants(List<TenantProperties> tenants) {
+        this.tenants = tenants;
+    }
+
     public List<DestinationProperties> getEnabledDestinations() {
         return destinations.stream()
                 .filter(DestinationProperties::isEnabled)
@@ -34,12 +132,61 @@ public class ShadowerConfiguration {
                 .orElse(null);
     }
 
+    // Top-level destinations plus those of every tenant.
+    public List<DestinationProperties> getAllEnabledDestinations() {
+        List<DestinationProperties> all = new ArrayList<>(getEnabledDestinations());
+        tenants.forEach(tenant -> all.addAll(tenant.getEnabledDestinations()));
+        return all;
+    }
+
     @PostConstruct
     public void validateConfiguration() {
+        // Without tenants the top-level destinations serve every request; with tenants they are only the fallback.
         List<DestinationProperties> enabledDestinations = getEnabledDestinations();
-        
+        if (tenants.isEmpty() || !enabledDestinations.isEmpty()) {
+            validateDestinationSet("", enabledDestinations);
+        }
+
+        if (!tenants.isEmpty()) {
+            validateTenants();
+        }
+
+        if (budget.isEnabled() && (budget.getMaxInFlight() == null || budget.getMaxInFlight().toBytes() <= 0)) {
+            throw new IllegalStateException("Shadow memory budget maxInFlight must be positive, found: " + budget.getMaxInFlight());
+        }
+
+        if (priority.isEnabled()) {
+            validatePriority();
+        }
+
+        if (tracing.isEnabled()) {
+            validateTracing();
+        }
+
+        if (deadline.isEnabled()) {
+            validateDeadline();
+        }
+
+        if (profiler.isEnabled()) {
+            validateProfiler();
+        }
+
+        if (warmup.isEnabled()) {
+            validateWarmup();
+        }
+
+        if (replay.isEnabled()) {
+            validateReplay();
+        }
+
+        if (frontend.getMode() == FrontendProperties.Mode.NETTY) {
+            validateNettyFrontend();
+        }
+    }
+
+    private void validateDestinationSet(String owner, List<DestinationProperties> enabledDestinations) {
         if (enabledDestinations.isEmpty()) {
-            throw new IllegalStateException("At least one destination must be enabled");
+            throw new IllegalStateException(owner + "At least one destination must be enabled");
         }
 
         long responseSourceCount = enabledDestinations.stream()
@@ -47,11 +194,286 @@ public class ShadowerConfiguration {
                 .count();
 
         if (responseSourceCount == 0) {
-            throw new IllegalStateException("Exactly one enabled destination must be configured as responseSource");
+            throw new IllegalStateException(owner + "Exactly one enabled destination must be configured as responseSource");
         }
 
         if (responseSourceCount > 1) {
-            throw new IllegalStateException("Only one destination can be configured as responseSource, found: " + responseSourceCount);
+            throw new IllegalStateException(owner + "Only one destination can be configured as responseSource, found: " + responseSourceCount);
+        }
+
+        enabledDestinations.forEach(this::validateEndpoints);
+        enabledDestinations.forEach(this::validateConcurrencyLimit);
+        enabledDestinations.forEach(this::validateBatch);
+        enabledDestinations.forEach(this::validateMasking);
+    }
+
+    private void validateTenants() {
+        Set<String> names = new HashSet<>();
+        Set<String> hosts = new HashSet<>();
+        Set<String> pathPrefixes = new HashSet<>();
+        for (TenantProperties tenant : tenants) {
+            if (tenant.getName() == null || !names.add(tenant.getName())) {
+                throw new IllegalStateException("Tenants need unique names, found: " + tenant.getName());
+            }
+            if (tenant.getHosts().isEmpty() && tenant.getPathPrefixes().isEmpty()) {
+                throw new IllegalStateException("Tenant " + tenant.getName() + " needs at least one host or pathPrefix");
+            }
+            for (String host : tenant.getHosts()) {
+                if (host == null || host.isBlank() || !hosts.add(host.toLowerCase(Locale.ROOT))) {
+                    throw new IllegalStateException("Tenant hosts must be unique and not empty, found: '" + host + "' on " + tenant.getName());
+                }
+            }
+            for (String prefix : tenant.getPathPrefixes()) {
+                if (prefix == null || !prefix.startsWith("/") || !pathPrefixes.add(normalizePrefix(prefix))) {
+                    throw new IllegalStateException("Tenant pathPrefixes must be unique and start with /, found: '" + prefix + "' on " + tenant.getName());
+                }
+            }
+            if (tenant.getMaxInFlightShadows() < 0) {
+                throw new IllegalStateException("Tenant " + tenant.getName() + " maxInFlightShadows must not be negative");
+            }
+            validateDestinationSet("Tenant " + tenant.getName() + ": ", tenant.getEnabledDestinations());
+        }
+
+        // Limiters, pools and batch buffers are keyed by destination name.
+        Set<String> destinationNames = new HashSet<>();
+        for (DestinationProperties destination : getAllEnabledDestinations()) {
+            if (!destinationNames.add(destination.getName())) {
+                throw new IllegalStateException("Destination names must be unique across tenants, found: " + destination.getName());
+            }
+        }
+    }
+
+    // "/orders/" and "/orders" route the same requests.
+    public static String normalizePrefix(String prefix) {
+        return prefix.length() > 1 && prefix.endsWith("/") ? prefix.substring(0, prefix.length() - 1) : prefix;
+    }
+
+    private void validatePriority() {
+        if (priority.getClasses().isEmpty()) {
+            throw new IllegalStateException("At least one priority class must be configured when priority is enabled");
+        }
+        if (priority.getMaxConcurrent() < 1 || priority.getMaxQueued() < 0) {
+            throw new IllegalStateException("Priority maxConcurrent must be positive and maxQueued must not be negative");
+        }
+        double totalMinShare = 0;
+        Set<String> names = new HashSet<>();
+        for (PriorityClassProperties priorityClass : priority.getClasses()) {
+            if (priorityClass.getName() == null || !names.add(priorityClass.getName())) {
+                throw new IllegalStateException("Priority classes need unique names, found: " + priorityClass.getName());
+            }
+            if (priorityClass.getMinShare() < 0) {
+                throw new IllegalStateException("Priority class " + priorityClass.getName() + " has a negative minShare");
+            }
+            totalMinShare += priorityClass.getMinShare();
+        }
+        if (totalMinShare > 1.0) {
+            throw new IllegalStateException("Priority class minShares must add up to at most 1.0, found: " + totalMinShare);
+        }
+    }
+
+    private void validateTracing() {
+        if (tracing.getCorrelationHeader() == null || tracing.getCorrelationHeader().isBlank()) {
+            throw new IllegalStateException("Tracing correlationHeader must not be empty");
+        }
+        if (tracing.getSlowThreshold() == null || tracing.getSlowThreshold().isNegative()) {
+            throw new IllegalStateException("Tracing slowThreshold must not be negative, found: " + tracing.getSlowThreshold());
+        }
+        if (tracing.getExportBufferSize() < 0) {
+            throw new IllegalStateException("Tracing exportBufferSize must not be negative, found: " + tracing.getExportBufferSize());
+        }
+    }
+
+    private void validateDeadline() {
+        if (!isPositive(deadline.getTimeout())) {
+            throw new IllegalStateException("Deadline timeout must be positive, found: " + deadline.getTimeout());
+        }
+        for (DeadlineRouteProperties route : deadline.getRoutes()) {
+            if (route.getPaths().isEmpty() || !isPositive(route.getTimeout())) {
+                throw new IllegalStateException("Deadline routes need at least one path and a positive timeout, found: " + route);
+            }
+        }
+    }
+
+    private void validateProfiler() {
+        if (profiler.getCapacity() < 1 || profiler.getTopN() < 1 || profiler.getTopN() > profiler.getCapacity()) {
+            throw new IllegalStateException("Profiler capacity must be positive and topN must be between 1 and capacity, found: " + profiler);
+        }
+        if (profiler.getMaxLiteralSegments() < 1 || profiler.getTemplateCacheSize() < 1) {
+            throw new IllegalStateException("Profiler maxLiteralSegments and templateCacheSize must be positive, found: " + profiler);
+        }
+    }
+
+    private void validateWarmup() {
+        if (warmup.getConnections() < 0 || warmup.getMaxRequests() < 0) {
+            throw new IllegalStateException("Warm-up connections and maxRequests must not be negative, found: " + warmup);
+        }
+        if (warmup.getConcurrency() < 1 || warmup.getBatchSize() < 1 || warmup.getSettledBatches() < 1) {
+            throw new IllegalStateException("Warm-up concurrency, batchSize and settledBatches must be positive, found: " + warmup);
+        }
+        if (warmup.getMethod() == null || warmup.getMethod().isBlank() || warmup.getPath() == null || !warmup.getPath().startsWith("/")) {
+            throw new IllegalStateException("Warm-up needs a method and a path starting with /, found: " + warmup);
+        }
+        if (!isPositive(warmup.getTimeout()) || warmup.getSettleThreshold() == null || warmup.getSettleThreshold().isNegative()) {
+            throw new IllegalStateException("Warm-up timeout must be positive and settleThreshold must not be negative, found: " + warmup);
+        }
+        if (warmup.getSynthetic() == null) {
+            throw new IllegalStateException("Warm-up synthetic must be set, found: " + warmup);
+        }
+    }
+
+    private static boolean isPositive(Duration duration) {
+        return duration != null && !duration.isNegative() && !duration.isZero();
+    }
+
+    private void validateEndpoints(DestinationProperties destination) {
+        if (destination.getEndpoints().isEmpty()) {
+            if (destination.getUrl() == null || destination.getUrl().isBlank()) {
+                throw new IllegalStateException("Destination " + destination.getName() + " needs a url or at least one endpoint");
+            }
+            return;
+        }
+        if (destination.getBatch().isEnabled() && destination.getUrl() == null) {
+            throw new IllegalStateException("Batched destination " + destination.getName() + " needs a url to send batches to");
+        }
+        LoadBalancerProperties loadBalancer = destination.getLoadBalancer();
+        if (loadBalancer.getFailureThreshold() < 1 || loadBalancer.getVirtualNodes() < 1 || !isPositive(loadBalancer.getEjectionTime())) {
+            throw new IllegalStateException("Load balancer for " + destination.getName()
+                    + " needs a positive failureThreshold, virtualNodes and ejectionTime, found: " + loadBalancer);
+        }
+    }
+
+    private void validateConcurrencyLimit(DestinationProperties destination) {
+        ConcurrencyLimitProperties limit = destination.getConcurrencyLimit();
+        if (!limit.isEnabled()) {
+            return;
+        }
+        if (limit.getMinLimit() < 1 || limit.getMinLimit() > limit.getMaxLimit()) {
+            throw new IllegalStateException("Concurrency limit bounds for " + destination.getName()
+                    + " must satisfy 1 <= minLimit <= maxLimit, found: " + limit.getMinLimit() + ".." + limit.getMaxLimit());
+        }
+        if (limit.getSmoothing() <= 0 || limit.getSmoothing() > 1) {
+            throw new IllegalStateException("Concurrency limit smoothing for " + destination.getName()
+                    + " must be in (0, 1], found: " + limit.getSmoothing());
+        }
+        // A tolerance below 1.0 shrinks the limit even when latency is flat.
+        if (limit.getRttTolerance() < 1.0) {
+            throw new IllegalStateException("Concurrency limit rttTolerance for " + destination.getName()
+                    + " must be at least 1.0, found: " + limit.getRttTolerance());
+        }
+        if (limit.getLongWindow() < 1) {
+            throw new IllegalStateException("Concurrency limit longWindow for " + destination.getName()
+                    + " must be positive, found: " + limit.getLongWindow());
+        }
+    }
+
+    private void validateBatch(DestinationProperties destination) {
+        BatchProperties batch = destination.getBatch();
+        if (!batch.isEnabled()) {
+            return;
+        }
+        if (destination.isResponseSource()) {
+            throw new IllegalStateException("Batched delivery cannot be enabled for the response source: " + destination.getName());
+        }
+        if (batch.getMaxRecords() < 1 || batch.getMaxBytes() < 1 || batch.getBufferCapacity() < batch.getMaxRecords()) {
+            throw new IllegalStateException("Batch limits for " + destination.getName()
+                    + " must be positive and bufferCapacity must be at least maxRecords");
+        }
+        if (batch.getFlushInterval() == null || batch.getFlushInterval().isNegative() || batch.getFlushInterval().isZero()) {
+            throw new IllegalStateException("Batch flushInterval for " + destination.getName() + " must be positive");
+        }
+    }
+
+    private void validateMasking(DestinationProperties destination) {
+        MaskingProperties masking = destination.getMasking();
+        if (!masking.isEnabled()) {
+            return;
+        }
+        if (destination.isResponseSource()) {
+            throw new IllegalStateException("Masking cannot be enabled for the response source: " + destination.getName());
+        }
+        if (masking.getReplacement() == null) {
+            throw new IllegalStateException("Masking replacement for " + destination.getName() + " must not be null");
+        }
+        for (String field : masking.getJsonFields()) {
+            // "**" matches any depth, so it must be followed by a concrete segment.
+            if (field == null || field.isEmpty() || field.startsWith(".") || field.endsWith(".") || field.contains("..")
+                    || field.equals("**") || field.endsWith(".**") || field.contains("**.**")) {
+                throw new IllegalStateException("Invalid masking jsonField for " + destination.getName() + ": '" + field + "'");
+            }
+        }
+        for (MaskPatternProperties pattern : masking.getPatterns()) {
+            if (pattern.getRegex() == null || !compiles(pattern.getRegex())) {
+                throw new IllegalStateException("Invalid masking pattern for " + destination.getName() + ": " + pattern.getRegex());
+            }
+        }
+    }
+
+    // The Netty front end forwards with its own HTTP client and none of the servlet dispatch pipeline, so
+    // options that only that pipeline implements would otherwise be silently ignored.
+    private void validateNettyFrontend() {
+        if (budget.isEnabled()) {
+            throw new IllegalStateException("The shadow memory budget is not supported by the Netty front end, set shadower.budget.enabled=false");
+        }
+        if (priority.isEnabled()) {
+            throw new IllegalStateException("Priority classes are not supported by the Netty front end, set shadower.priority.enabled=false");
+        }
+        if (tracing.isEnabled()) {
+            throw new IllegalStateException("Tracing is not supported by the Netty front end, set shadower.tracing.enabled=false");
+        }
+        if (profiler.isEnabled()) {
+            throw new IllegalStateException("The traffic profiler is not supported by the Netty front end, set shadower.profiler.enabled=false");
+        }
+        if (warmup.isEnabled()) {
+            throw new IllegalStateException("Warm-up is not supported by the Netty front end, which serves no readiness endpoint, set shadower.warmup.enabled=false");
+        }
+        for (DestinationProperties destination : getAllEnabledDestinations()) {
+            if (destination.getBatch().isEnabled()) {
+                throw new IllegalStateException("Batched delivery is not supported by the Netty front end, found on: " + destination.getName());
+            }
+            if (destination.getConcurrencyLimit().isEnabled()) {
+                throw new IllegalStateException("Concurrency limits are not supported by the Netty front end, found on: " + destination.getName());
+            }
+            if (destination.getMasking().isEnabled()) {
+                throw new IllegalStateException("Masking is not supported by the Netty front end, found on: " + destination.getName());
+            }
+            List<String> urls = new ArrayList<>(destination.getEndpoints());
+            if (destination.getUrl() != null) {
+                urls.add(destination.getUrl());
+            }
+            for (String url : urls) {
+                String lower = url.toLowerCase(Locale.ROOT);
+                if (!lower.startsWith("http://") && !lower.startsWith("https://")) {
+                    throw new IllegalStateException("The Netty front end only supports http and https destinations, found: "
+                            + url + " on " + destination.getName());
+                }
+            }
+        }
+    }
+
+    private static boolean compiles(String regex) {
+        try {
+            Pattern.compile(regex);
+            return true;
+        } catch (PatternSyntaxException e) {
+            return false;
+        }
+    }
+
+    private void validateReplay() {
+        if (replay.getFiles().isEmpty()) {
+            throw new IllegalStateException("At least one replay file must be configured when replay is enabled");
+        }
+
+        if (replay.getPacing() == ReplayProperties.Pacing.FIXED_RATE && replay.getRate() <= 0) {
+            throw new IllegalStateException("Replay rate must be positive for FIXED_RATE pacing, found: " + replay.getRate());
+        }
+
+        if (replay.getSpeedup() <= 0) {
+            throw new IllegalStateException("Replay speedup must be positive, found: " + replay.getSpeedup());
+        }
+
+        if (replay.getMaxInFlight() < 1) {
+            throw new IllegalStateException("Replay maxInFlight must be positive, found: " + replay.getMaxInFlight());
         }
     }
 }
\ No newline at end of file
@@ -0,0 +1,34 @@
+package com.mugentwo.http_shadower.config;
+
+import org.springframework.aot.hint.RuntimeHints;
+import org.springframework.aot.hint.RuntimeHintsRegistrar;
+import org.springframework.boot.context.properties.bind.BindableRuntimeHintsRegistrar;
+
+public class ShadowerRuntimeHints implements RuntimeHintsRegistrar {
+
+    @Override
+    public void registerHints(RuntimeHints hints, ClassLoader classLoader) {
+        BindableRuntimeHintsRegistrar.forTypes(
+                ShadowerConfiguration.class,
+                DestinationProperties.class,
+                CompressionProperties.class,
+                ConcurrencyLimitProperties.class,
+                BatchProperties.class,
+                LoadBalancerProperties.class,
+                MaskingProperties.class,
+                MaskPatternProperties.class,
+                FrontendProperties.class,
+                OutboundProperties.class,
+                BudgetProperties.class,
+                PriorityProperties.class,
+                PriorityClassProperties.class,
+                TracingProperties.class,
+                DeadlineProperties.class,
+                DeadlineRouteProperties.class,
+                ProfilerProperties.class,
+                WarmupProperties.class,
+                ReplayProperties.class,
+                TenantProperties.class
+        ).registerHints(hints, classLoader);
+    }
+}
@@ -0,0 +1,79 @@
+package com.mugentwo.http_shadower.config;
+
+import java.util.ArrayList;
+import java.util.List;
+
+public class TenantProperties {
+    private String name;
+    private List<String> hosts = new ArrayList<>();
+    private List<String> pathPrefixes = new ArrayList<>();
+    private List<DestinationProperties> destinations = new ArrayList<>();
+    private int maxInFlightShadows = 0;
+
+    public TenantProperties() {}
+
+    public TenantProperties(String name, List<String> hosts, List<String> pathPrefixes, List<DestinationProperties> destinations) {
+        this.name = name;
+        this.hosts = hosts;
+        this.pathPrefixes = pathPrefixes;
+        this.destinations = destinations;
+    }
+
+    public String getName() {
+        return name;
+    }
+
+    public void setName(String name) {
+        this.name = name;
+    }
+
+    public List<String> getHosts() {
+        return hosts;
+    }
+
+    public void setHosts(List<String> hosts) {
+        this.hosts = hosts;
+    }
+
+    public List<String> getPathPrefixes() {
+        return pathPrefixes;
+    }
+
+    public void setPathPrefixes(List<String> pathPrefixes) {
+        this.pathPrefixes = pathPrefixes;
+    }
+
+    public List<DestinationProperties> getDestinations() {
+        return destinations;
+    }
+
+    public void setDestinations(List<DestinationProperties> destinations) {
+        this.destinations = destinations;
+    }
+
+    // 0 means shadow copies of this tenant are only bounded by the destination limits.
+    public int getMaxInFlightShadows() {
+        return maxInFlightShadows;
+    }
+
+    public void setMaxInFlightShadows(int maxInFlightShadows) {
+        this.maxInFlightShadows = maxInFlightShadows;
+    }
+
+    public List<DestinationProperties> getEnabledDestinations() {
+        return destinations.stream()
+                .filter(DestinationProperties::isEnabled)
+                .toList();
+    }
+
+    @Override
+    public String toString() {
+        return "TenantProperties{" +
+                "name='" + name + '\'' +
+                ", hosts=" + hosts +
+                ", pathPrefixes=" + pathPrefixes +
+                ", destinations=" + destinations +
+                ", maxInFlightShadows=" + maxInFlightShadows +
+                '}';
+    }
+}
@@ -0,0 +1,52 @@
+package com.mugentwo.http_shadower.config;
+
+import java.time.Duration;
+
+public class TracingProperties {
+    private boolean enabled = true;
+    private String correlationHeader = "X-Correlation-Id";
+    private Duration slowThreshold = Duration.ofSeconds(1);
+    private int exportBufferSize = 1000;
+
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    public void setEnabled(boolean enabled) {
+        this.enabled = enabled;
+    }
+
+    public String getCorrelationHeader() {
+        return correlationHeader;
+    }
+
+    public void setCorrelationHeader(String correlationHeader) {
+        this.correlationHeader = correlationHeader;
+    }
+
+    public Duration getSlowThreshold() {
+        return slowThreshold;
+    }
+
+    public void setSlowThreshold(Duration slowThreshold) {
+        this.slowThreshold = slowThreshold;
+    }
+
+    public int getExportBufferSize() {
+        return exportBufferSize;
+    }
+
+    public void setExportBufferSize(int exportBufferSize) {
+        this.exportBufferSize = exportBufferSize;
+    }
+
+    @Override
+    public String toString() {
+        return "TracingProperties{" +
+                "enabled=" + enabled +
+                ", correlationHeader='" + correlationHeader + '\'' +
+                ", slowThreshold=" + slowThreshold +
+                ", exportBufferSize=" + exportBufferSize +
+                '}';
+    }
+}
@@ -0,0 +1,129 @@
+package com.mugentwo.http_shadower.config;
+
+import java.time.Duration;
+
+public class WarmupProperties {
+    // Where synthetic warm-up requests go: nowhere, the shadow destinations only, or the full proxy path.
+    public enum Synthetic {
+        DRY_RUN,
+        SHADOWS,
+        FULL
+    }
+
+    private boolean enabled = false;
+    private int connections = 4;
+    private String method = "HEAD";
+    private String path = "/";
+    private int maxRequests = 2000;
+    private int concurrency = 4;
+    private int batchSize = 100;
+    private Duration settleThreshold = Duration.ofMillis(10);
+    private int settledBatches = 3;
+    private Duration timeout = Duration.ofSeconds(60);
+    private Synthetic synthetic = Synthetic.SHADOWS;
+
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    public void setEnabled(boolean enabled) {
+        this.enabled = enabled;
+    }
+
+    public int getConnections() {
+        return connections;
+    }
+
+    public void setConnections(int connections) {
+        this.connections = connections;
+    }
+
+    public String getMethod() {
+        return method;
+    }
+
+    public void setMethod(String method) {
+        this.method = method;
+    }
+
+    public String getPath() {
+        return path;
+    }
+
+    public void setPath(String path) {
+        this.path = path;
+    }
+
+    public int getMaxRequests() {
+        return maxRequests;
+    }
+
+    public void setMaxRequests(int maxRequests) {
+        this.maxRequests = maxRequests;
+    }
+
+    public int getConcurrency() {
+        return concurrency;
+    }
+
+    public void setConcurrency(int concurrency) {
+        this.concurrency = concurrency;
+    }
+
+    public int getBatchSize() {
+        return batchSize;
+    }
+
+    public void setBatchSize(int batchSize) {
+        this.batchSize = batchSize;
+    }
+
+    public Duration getSettleThreshold() {
+        return settleThreshold;
+    }
+
+    public void setSettleThreshold(Duration settleThreshold) {
+        this.settleThreshold = settleThreshold;
+    }
+
+    public int getSettledBatches() {
+        return settledBatches;
+    }
+
+    public void setSettledBatches(int settledBatches) {
+        this.settledBatches = settledBatches;
+    }
+
+    public Duration getTimeout() {
+        return timeout;
+    }
+
+    public void setTimeout(Duration timeout) {
+        this.timeout = timeout;
+    }
+
+    public Synthetic getSynthetic() {
+        return synthetic;
+    }
+
+    public void setSynthetic(Synthetic synthetic) {
+        this.synthetic = synthetic;
+    }
+
+    @Override
+    public String toString() {
+        return "WarmupProperties{" +
+                "enabled=" + enabled +
+                ", connections=" + connections +
+                ", method='" + method + '\'' +
+                ", path='" + path + '\'' +
+                ", maxRequests=" + maxRequests +
+                ", concurrency=" + concurrency +
+                ", batchSize=" + batchSize +
+                ", settleThreshold=" + settleThreshold +
+                ", settledBatches=" + settledBatches +
+                ", timeout=" + timeout +
+                ", synthetic=" + synthetic +
+                '}';
+    }
+}
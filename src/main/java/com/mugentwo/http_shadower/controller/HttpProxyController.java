@@ -1,6 +1,10 @@
 package com.mugentwo.http_shadower.controller;
 
+import com.mugentwo.http_shadower.config.WarmupProperties;
+import com.mugentwo.http_shadower.core.ShadowRequest;
 import com.mugentwo.http_shadower.service.HttpForwardingService;
+import com.mugentwo.http_shadower.warmup.StartupWarmup;
+import com.mugentwo.http_shadower.warmup.WarmupMetrics;
 import jakarta.servlet.http.HttpServletRequest;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
@@ -14,9 +18,13 @@ public class HttpProxyController {
     private static final Logger logger = LoggerFactory.getLogger(HttpProxyController.class);
     
     private final HttpForwardingService forwardingService;
+    private final WarmupMetrics warmupMetrics;
+    private final StartupWarmup startupWarmup;
 
-    public HttpProxyController(HttpForwardingService forwardingService) {
+    public HttpProxyController(HttpForwardingService forwardingService, WarmupMetrics warmupMetrics, StartupWarmup startupWarmup) {
         this.forwardingService = forwardingService;
+        this.warmupMetrics = warmupMetrics;
+        this.startupWarmup = startupWarmup;
     }
 
     @RequestMapping(value = "/**", method = {
@@ -28,23 +36,39 @@ public class HttpProxyController {
         RequestMethod.HEAD, 
         RequestMethod.OPTIONS
     })
-    public ResponseEntity<String> proxyRequest(
+    public ResponseEntity<byte[]> proxyRequest(
             HttpServletRequest request,
-            @RequestBody(required = false) String body) throws IOException {
+            @RequestBody(required = false) byte[] body) throws IOException {
         
+        long start = System.nanoTime();
         logger.info("Received {} request for path: {}", request.getMethod(), request.getRequestURI());
         
-        String requestBody = body;
+        byte[] requestBody = body;
         if (requestBody == null && hasBody(request.getMethod())) {
             requestBody = forwardingService.extractRequestBody(request);
         }
         
-        ResponseEntity<String> response = forwardingService.forwardRequestAndGetResponse(request, requestBody);
+        String warmupHeader = request.getHeader(StartupWarmup.WARMUP_HEADER);
+        WarmupProperties.Synthetic synthetic = startupWarmup.syntheticMode(warmupHeader);
+        ResponseEntity<byte[]> response = synthetic == null || synthetic == WarmupProperties.Synthetic.FULL
+                ? forwardingService.forwardRequestAndGetResponse(request, requestBody)
+                : answerSynthetic(synthetic, request, requestBody);
         
+        if (warmupHeader == null) {
+            warmupMetrics.recordRequest(System.nanoTime() - start);
+        }
         logger.info("Returning response with status: {}", response.getStatusCode());
         return response;
     }
     
+    // Synthetic warm-up requests never reach the response source unless warm-up is configured as FULL.
+    private ResponseEntity<byte[]> answerSynthetic(WarmupProperties.Synthetic synthetic, HttpServletRequest request, byte[] requestBody) {
+        if (synthetic == WarmupProperties.Synthetic.SHADOWS) {
+            forwardingService.forwardShadowCopies(ShadowRequest.from(request, requestBody)).join();
+        }
+        return ResponseEntity.noContent().build();
+    }
+    
     private boolean hasBody(String method) {
         return "POST".equals(method) || "PUT".equals(method) || "PATCH".equals(method);
     }
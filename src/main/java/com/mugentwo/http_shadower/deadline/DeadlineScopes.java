@@ -0,0 +1,104 @@
+package com.mugentwo.http_shadower.deadline;
+
+import com.mugentwo.http_shadower.config.DeadlineProperties;
+import com.mugentwo.http_shadower.config.DeadlineRouteProperties;
+import com.mugentwo.http_shadower.config.ShadowerConfiguration;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.server.PathContainer;
+import org.springframework.stereotype.Component;
+import org.springframework.web.util.pattern.PathPattern;
+import org.springframework.web.util.pattern.PathPatternParser;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+
+@Component
+public class DeadlineScopes {
+    private static final Logger logger = LoggerFactory.getLogger(DeadlineScopes.class);
+
+    private final DeadlineProperties deadline;
+    private final MeterRegistry meterRegistry;
+    private final List<Route> routes = new ArrayList<>();
+    private final ScheduledExecutorService timer;
+
+    @Autowired
+    public DeadlineScopes(ShadowerConfiguration shadowerConfiguration, MeterRegistry meterRegistry) {
+        this(shadowerConfiguration.getDeadline(), meterRegistry);
+    }
+
+    public DeadlineScopes(DeadlineProperties deadline, MeterRegistry meterRegistry) {
+        this.deadline = deadline;
+        this.meterRegistry = meterRegistry;
+        for (DeadlineRouteProperties route : deadline.getRoutes()) {
+            routes.add(new Route(route.getPaths().stream().map(PathPatternParser.defaultInstance::parse).toList(), route.getTimeout()));
+        }
+        ScheduledThreadPoolExecutor timer = new ScheduledThreadPoolExecutor(1, runnable -> {
+            Thread thread = new Thread(runnable, "shadower-deadlines");
+            thread.setDaemon(true);
+            return thread;
+        });
+        // Most requests finish well inside their deadline; drop their timers right away instead of at expiry.
+        timer.setRemoveOnCancelPolicy(true);
+        this.timer = timer;
+    }
+
+    public FanOutScope open(String path) {
+        if (!deadline.isEnabled()) {
+            return new FanOutScope(this, null);
+        }
+        Duration timeout = timeoutFor(path);
+        FanOutScope scope = new FanOutScope(this, timeout);
+        scope.startTimer(timer.schedule(() -> {
+            logger.debug("Deadline of {} passed for {}, cancelling outstanding destination calls", timeout, path);
+            scope.cancel(FanOutScope.Reason.DEADLINE);
+        }, timeout.toNanos(), TimeUnit.NANOSECONDS));
+        return scope;
+    }
+
+    public Duration timeoutFor(String path) {
+        if (!deadline.isEnabled()) {
+            return null;
+        }
+        if (!routes.isEmpty()) {
+            PathContainer pathContainer = PathContainer.parsePath(path);
+            for (Route route : routes) {
+                if (route.matches(pathContainer)) {
+                    return route.timeout();
+                }
+            }
+        }
+        return deadline.getTimeout();
+    }
+
+    public void recordCancelled(String destination, FanOutScope.Reason reason, boolean running) {
+        Counter.builder("shadower.deadline.cancelled")
+                .description("Destination calls cancelled by a request deadline or abandoned request")
+                .tag("destination", destination)
+                .tag("reason", reason.name().toLowerCase(Locale.ROOT))
+                .tag("state", running ? "running" : "queued")
+                .register(meterRegistry)
+                .increment();
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        timer.shutdownNow();
+    }
+
+    private record Route(List<PathPattern> patterns, Duration timeout) {
+
+        boolean matches(PathContainer path) {
+            return patterns.stream().anyMatch(pattern -> pattern.matches(path));
+        }
+    }
+}
@@ -0,0 +1,127 @@
+package com.mugentwo.http_shadower.deadline;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.function.Supplier;
+
+// Owns every destination call made for one inbound request. When the request's deadline passes or
+// the request is abandoned, calls that have not started are skipped and running ones are interrupted.
+// The deadline timer is released once the scope is sealed and its last call has finished.
+public class FanOutScope {
+    public enum Reason {
+        DEADLINE,
+        ABANDONED
+    }
+
+    private final DeadlineScopes owner;
+    private final Duration timeout;
+    private final long deadlineNanos;
+    private final List<ScopedCall> calls = new ArrayList<>();
+
+    private ScheduledFuture<?> timer;
+    private Reason cancelled;
+    private boolean sealed;
+    private int pending;
+
+    FanOutScope(DeadlineScopes owner, Duration timeout) {
+        this.owner = owner;
+        this.timeout = timeout;
+        this.deadlineNanos = timeout == null ? Long.MAX_VALUE : System.nanoTime() + timeout.toNanos();
+    }
+
+    void startTimer(ScheduledFuture<?> timer) {
+        synchronized (this) {
+            if (!isFinished()) {
+                this.timer = timer;
+                return;
+            }
+        }
+        timer.cancel(false);
+    }
+
+    public ScopedCall fork(String destination, Runnable call, Runnable onSkipped) {
+        ScopedCall scopedCall = new ScopedCall(this, destination, call, onSkipped);
+        Reason cancelledReason;
+        synchronized (this) {
+            if (sealed) {
+                throw new IllegalStateException("Cannot fork a call from a sealed scope");
+            }
+            pending++;
+            cancelledReason = cancelled;
+            if (cancelledReason == null) {
+                calls.add(scopedCall);
+            }
+        }
+        if (cancelledReason != null) {
+            scopedCall.cancel(cancelledReason);
+        }
+        return scopedCall;
+    }
+
+    // Runs the call on the current thread, for destinations whose response the caller waits for.
+    // Returns null when the scope was cancelled before the call could start.
+    public <T> T callInline(String destination, Supplier<T> call) {
+        AtomicReference<T> result = new AtomicReference<>();
+        fork(destination, () -> result.set(call.get()), () -> {}).run();
+        return result.get();
+    }
+
+    public void seal() {
+        ScheduledFuture<?> finishedTimer;
+        synchronized (this) {
+            sealed = true;
+            finishedTimer = pending == 0 ? timer : null;
+        }
+        if (finishedTimer != null) {
+            finishedTimer.cancel(false);
+        }
+    }
+
+    public void cancel(Reason reason) {
+        List<ScopedCall> toCancel;
+        synchronized (this) {
+            if (cancelled != null) {
+                return;
+            }
+            cancelled = reason;
+            toCancel = new ArrayList<>(calls);
+        }
+        for (ScopedCall call : toCancel) {
+            call.cancel(reason);
+        }
+    }
+
+    void callFinished() {
+        ScheduledFuture<?> finishedTimer;
+        synchronized (this) {
+            pending--;
+            finishedTimer = isFinished() ? timer : null;
+        }
+        if (finishedTimer != null) {
+            finishedTimer.cancel(false);
+        }
+    }
+
+    void recordCancelled(String destination, Reason reason, boolean running) {
+        owner.recordCancelled(destination, reason, running);
+    }
+
+    private boolean isFinished() {
+        return sealed && pending == 0;
+    }
+
+    public synchronized Reason getCancelled() {
+        return cancelled;
+    }
+
+    public Duration getTimeout() {
+        return timeout;
+    }
+
+    public Duration remaining() {
+        return deadlineNanos == Long.MAX_VALUE ? null : Duration.ofNanos(Math.max(0, deadlineNanos - System.nanoTime()));
+    }
+}
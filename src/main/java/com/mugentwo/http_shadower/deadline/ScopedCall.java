@@ -0,0 +1,83 @@
+package com.mugentwo.http_shadower.deadline;
+
+// One destination call inside a FanOutScope. Exactly one of the call and its skip action runs:
+// a call cancelled before it starts is skipped, and a running call is interrupted, which makes the
+// HTTP and Unix socket transports abort the exchange and close its connection.
+public final class ScopedCall implements Runnable {
+    private enum State { NEW, RUNNING, DONE, SKIPPED }
+
+    private final FanOutScope scope;
+    private final String destination;
+    private final Runnable call;
+    private final Runnable onSkipped;
+
+    private State state = State.NEW;
+    private Thread runner;
+    private boolean interrupted;
+
+    ScopedCall(FanOutScope scope, String destination, Runnable call, Runnable onSkipped) {
+        this.scope = scope;
+        this.destination = destination;
+        this.call = call;
+        this.onSkipped = onSkipped;
+    }
+
+    @Override
+    public void run() {
+        synchronized (this) {
+            if (state != State.NEW) {
+                return;
+            }
+            state = State.RUNNING;
+            runner = Thread.currentThread();
+        }
+        try {
+            call.run();
+        } finally {
+            synchronized (this) {
+                state = State.DONE;
+                runner = null;
+                if (interrupted) {
+                    // Don't hand a pooled thread back with our interrupt still pending.
+                    Thread.interrupted();
+                }
+            }
+            scope.callFinished();
+        }
+    }
+
+    public void skip() {
+        synchronized (this) {
+            if (state != State.NEW) {
+                return;
+            }
+            state = State.SKIPPED;
+        }
+        try {
+            onSkipped.run();
+        } finally {
+            scope.callFinished();
+        }
+    }
+
+    boolean cancel(FanOutScope.Reason reason) {
+        synchronized (this) {
+            if (state == State.RUNNING) {
+                interrupted = true;
+                runner.interrupt();
+                scope.recordCancelled(destination, reason, true);
+                return true;
+            }
+            if (state != State.NEW) {
+                return false;
+            }
+        }
+        scope.recordCancelled(destination, reason, false);
+        skip();
+        return true;
+    }
+
+    public String getDestination() {
+        return destination;
+    }
+}
@@ -0,0 +1,135 @@
+package com.mugentwo.http_shadower.limit;
+
+import com.mugentwo.http_shadower.config.ConcurrencyLimitProperties;
+
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAdder;
+
+public class AdaptiveConcurrencyLimiter {
+    private static final double BACKOFF_RATIO = 0.9;
+    private static final int SHORT_WINDOW = 10;
+
+    private final String name;
+    private final int minLimit;
+    private final int maxLimit;
+    private final double smoothing;
+    private final double rttTolerance;
+    private final double shortWindowFactor;
+    private final double longWindowFactor;
+
+    private final AtomicInteger inFlight = new AtomicInteger();
+    private final LongAdder accepted = new LongAdder();
+    private final LongAdder shed = new LongAdder();
+    private final LongAdder dropped = new LongAdder();
+
+    private volatile int limit;
+    private double estimatedLimit;
+    private double shortRttNanos;
+    private double longRttNanos;
+
+    public AdaptiveConcurrencyLimiter(String name, ConcurrencyLimitProperties properties) {
+        this.name = name;
+        this.minLimit = properties.getMinLimit();
+        this.maxLimit = properties.getMaxLimit();
+        this.smoothing = properties.getSmoothing();
+        this.rttTolerance = properties.getRttTolerance();
+        this.shortWindowFactor = 2.0 / (SHORT_WINDOW + 1);
+        this.longWindowFactor = 2.0 / (properties.getLongWindow() + 1);
+        this.estimatedLimit = clamp(properties.getInitialLimit());
+        this.limit = (int) estimatedLimit;
+    }
+
+    public boolean tryAcquire() {
+        while (true) {
+            int current = inFlight.get();
+            if (current >= limit) {
+                shed.increment();
+                return false;
+            }
+            if (inFlight.compareAndSet(current, current + 1)) {
+                accepted.increment();
+                return true;
+            }
+        }
+    }
+
+    public void onSuccess(long rttNanos) {
+        int inFlightAtCompletion = inFlight.getAndDecrement();
+        update(Math.max(1, rttNanos), inFlightAtCompletion);
+    }
+
+    public void onDropped() {
+        inFlight.decrementAndGet();
+        dropped.increment();
+        synchronized (this) {
+            estimatedLimit = clamp(estimatedLimit * BACKOFF_RATIO);
+            limit = (int) estimatedLimit;
+        }
+    }
+
+    public void onIgnored() {
+        inFlight.decrementAndGet();
+    }
+
+    private synchronized void update(long rttNanos, int inFlightAtCompletion) {
+        if (longRttNanos == 0) {
+            shortRttNanos = rttNanos;
+            longRttNanos = rttNanos;
+        } else {
+            shortRttNanos = shortRttNanos * (1 - shortWindowFactor) + rttNanos * shortWindowFactor;
+            longRttNanos = longRttNanos * (1 - longWindowFactor) + rttNanos * longWindowFactor;
+        }
+
+        // A long RTT far above the current one means latency recovered; let the baseline catch up quickly.
+        if (longRttNanos / shortRttNanos > 2) {
+            longRttNanos *= 0.95;
+        }
+
+        // With most of the limit unused the samples say nothing about the destination's capacity.
+        if (inFlightAtCompletion < estimatedLimit / 2) {
+            return;
+        }
+
+        double gradient = Math.max(0.5, Math.min(1.0, rttTolerance * longRttNanos / shortRttNanos));
+        double queueSize = Math.sqrt(estimatedLimit);
+        double newLimit = estimatedLimit * gradient + queueSize;
+        estimatedLimit = clamp(estimatedLimit * (1 - smoothing) + newLimit * smoothing);
+        limit = (int) estimatedLimit;
+    }
+
+    private double clamp(double value) {
+        return Math.max(minLimit, Math.min(maxLimit, value));
+    }
+
+    public String getName() {
+        return name;
+    }
+
+    public int getLimit() {
+        return limit;
+    }
+
+    public int getInFlight() {
+        return inFlight.get();
+    }
+
+    public long getAcceptedCount() {
+        return accepted.sum();
+    }
+
+    public long getShedCount() {
+        return shed.sum();
+    }
+
+    public long getDroppedCount() {
+        return dropped.sum();
+    }
+
+    public synchronized double getShortRttMillis() {
+        return shortRttNanos / 1_000_000.0;
+    }
+
+    public synchronized double getLongRttMillis() {
+        return longRttNanos / 1_000_000.0;
+    }
+}
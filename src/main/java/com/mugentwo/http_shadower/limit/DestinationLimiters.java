@@ -0,0 +1,53 @@
+package com.mugentwo.http_shadower.limit;
+
+import com.mugentwo.http_shadower.config.DestinationProperties;
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.stereotype.Component;
+
+import java.util.Collection;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+
+@Component
+public class DestinationLimiters {
+    private final MeterRegistry meterRegistry;
+    private final ConcurrentMap<String, AdaptiveConcurrencyLimiter> limiters = new ConcurrentHashMap<>();
+
+    public DestinationLimiters(MeterRegistry meterRegistry) {
+        this.meterRegistry = meterRegistry;
+    }
+
+    public AdaptiveConcurrencyLimiter limiterFor(DestinationProperties destination) {
+        if (!destination.getConcurrencyLimit().isEnabled()) {
+            return null;
+        }
+        return limiters.computeIfAbsent(destination.getName(), name -> register(name, destination));
+    }
+
+    public Collection<AdaptiveConcurrencyLimiter> getLimiters() {
+        return limiters.values();
+    }
+
+    private AdaptiveConcurrencyLimiter register(String name, DestinationProperties destination) {
+        AdaptiveConcurrencyLimiter limiter = new AdaptiveConcurrencyLimiter(name, destination.getConcurrencyLimit());
+        Gauge.builder("shadower.limiter.limit", limiter, AdaptiveConcurrencyLimiter::getLimit)
+                .description("Current adaptive concurrency limit for shadow requests")
+                .tag("destination", name)
+                .register(meterRegistry);
+        Gauge.builder("shadower.limiter.inflight", limiter, AdaptiveConcurrencyLimiter::getInFlight)
+                .description("Shadow requests currently in flight")
+                .tag("destination", name)
+                .register(meterRegistry);
+        FunctionCounter.builder("shadower.limiter.shed", limiter, AdaptiveConcurrencyLimiter::getShedCount)
+                .description("Shadow requests shed because the limit was reached")
+                .tag("destination", name)
+                .register(meterRegistry);
+        FunctionCounter.builder("shadower.limiter.dropped", limiter, AdaptiveConcurrencyLimiter::getDroppedCount)
+                .description("Shadow requests that failed with an I/O error or timeout")
+                .tag("destination", name)
+                .register(meterRegistry);
+        return limiter;
+    }
+}
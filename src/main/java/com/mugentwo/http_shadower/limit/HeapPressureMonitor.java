@@ -0,0 +1,94 @@
+package com.mugentwo.http_shadower.limit;
+
+import java.lang.management.GarbageCollectorMXBean;
+import java.lang.management.ManagementFactory;
+import java.lang.management.MemoryPoolMXBean;
+import java.lang.management.MemoryType;
+import java.lang.management.MemoryUsage;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+// Samples at most every SAMPLE_INTERVAL on the calling thread, so no background thread is needed.
+// Pressure means either tenured occupancy measured after the last collection or the share of wall time
+// spent in GC since the previous sample is above its threshold. Eden and survivor spaces are left out:
+// survivors are nearly full after every young collection by design.
+public class HeapPressureMonitor {
+    private static final long SAMPLE_INTERVAL_NANOS = TimeUnit.MILLISECONDS.toNanos(500);
+
+    private final double heapThreshold;
+    private final double gcTimeThreshold;
+    private final List<MemoryPoolMXBean> heapPools;
+    private final List<GarbageCollectorMXBean> collectors;
+
+    private volatile long nextSampleNanos = System.nanoTime();
+    private volatile boolean underPressure;
+    private volatile double heapOccupancy;
+    private volatile double gcTimeRatio;
+    private long lastGcTimeMillis;
+    private long lastSampleNanos = System.nanoTime();
+
+    public HeapPressureMonitor(double heapThreshold, double gcTimeThreshold) {
+        this(heapThreshold, gcTimeThreshold, ManagementFactory.getMemoryPoolMXBeans(), ManagementFactory.getGarbageCollectorMXBeans());
+    }
+
+    HeapPressureMonitor(double heapThreshold, double gcTimeThreshold, List<MemoryPoolMXBean> memoryPools,
+                        List<GarbageCollectorMXBean> collectors) {
+        this.heapThreshold = heapThreshold;
+        this.gcTimeThreshold = gcTimeThreshold;
+        // Only tenured pools support a usage threshold; young generation pools don't.
+        this.heapPools = memoryPools.stream()
+                .filter(pool -> pool.getType() == MemoryType.HEAP && pool.isUsageThresholdSupported())
+                .toList();
+        this.collectors = collectors;
+        this.lastGcTimeMillis = totalGcTimeMillis();
+    }
+
+    public boolean isUnderPressure() {
+        long now = System.nanoTime();
+        if (now - nextSampleNanos >= 0) {
+            nextSampleNanos = now + SAMPLE_INTERVAL_NANOS;
+            sample(now);
+        }
+        return underPressure;
+    }
+
+    private synchronized void sample(long now) {
+        long usedAfterGc = 0;
+        long capacity = 0;
+        for (MemoryPoolMXBean pool : heapPools) {
+            MemoryUsage afterGc = pool.getCollectionUsage();
+            MemoryUsage usage = pool.getUsage();
+            if (afterGc != null && usage != null) {
+                usedAfterGc += afterGc.getUsed();
+                capacity += usage.getMax() > 0 ? usage.getMax() : usage.getCommitted();
+            }
+        }
+        double occupancy = capacity > 0 ? (double) usedAfterGc / capacity : 0;
+
+        long gcTimeMillis = totalGcTimeMillis();
+        long elapsedNanos = Math.max(1, now - lastSampleNanos);
+        double ratio = TimeUnit.MILLISECONDS.toNanos(gcTimeMillis - lastGcTimeMillis) / (double) elapsedNanos;
+        lastGcTimeMillis = gcTimeMillis;
+        lastSampleNanos = now;
+
+        heapOccupancy = occupancy;
+        gcTimeRatio = ratio;
+        underPressure = occupancy >= heapThreshold || ratio >= gcTimeThreshold;
+    }
+
+    private long totalGcTimeMillis() {
+        long total = 0;
+        for (GarbageCollectorMXBean collector : collectors) {
+            total += Math.max(0, collector.getCollectionTime());
+        }
+        return total;
+    }
+
+    public double getHeapOccupancy() {
+        return heapOccupancy;
+    }
+
+    public double getGcTimeRatio() {
+        return gcTimeRatio;
+    }
+}
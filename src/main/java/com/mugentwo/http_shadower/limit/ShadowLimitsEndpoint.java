@@ -0,0 +1,38 @@
+package com.mugentwo.http_shadower.limit;
+
+import org.springframework.boot.actuate.endpoint.annotation.Endpoint;
+import org.springframework.boot.actuate.endpoint.annotation.ReadOperation;
+import org.springframework.stereotype.Component;
+
+import java.util.Map;
+import java.util.TreeMap;
+
+@Component
+@Endpoint(id = "shadowlimits")
+public class ShadowLimitsEndpoint {
+    private final DestinationLimiters destinationLimiters;
+
+    public ShadowLimitsEndpoint(DestinationLimiters destinationLimiters) {
+        this.destinationLimiters = destinationLimiters;
+    }
+
+    @ReadOperation
+    public Map<String, LimiterSnapshot> limits() {
+        Map<String, LimiterSnapshot> snapshots = new TreeMap<>();
+        for (AdaptiveConcurrencyLimiter limiter : destinationLimiters.getLimiters()) {
+            snapshots.put(limiter.getName(), new LimiterSnapshot(
+                    limiter.getLimit(),
+                    limiter.getInFlight(),
+                    limiter.getAcceptedCount(),
+                    limiter.getShedCount(),
+                    limiter.getDroppedCount(),
+                    limiter.getShortRttMillis(),
+                    limiter.getLongRttMillis()));
+        }
+        return snapshots;
+    }
+
+    public record LimiterSnapshot(int limit, int inFlight, long accepted, long shed, long dropped,
+                                  double shortRttMillis, double longRttMillis) {
+    }
+}
@@ -0,0 +1,108 @@
+package com.mugentwo.http_shadower.limit;
+
+import com.mugentwo.http_shadower.config.BudgetProperties;
+import com.mugentwo.http_shadower.config.ShadowerConfiguration;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Component;
+
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.BooleanSupplier;
+
+@Component
+public class ShadowMemoryBudget {
+    public enum Admission {
+        ADMITTED,
+        HEADERS_ONLY,
+        SHED
+    }
+
+    private final BudgetProperties budget;
+    private final BooleanSupplier heapPressure;
+
+    // Striped so admissions on many request threads don't contend on one cache line. The check-then-add
+    // is not atomic, so concurrent admissions can overshoot the budget by at most one payload each.
+    private final LongAdder inFlightBytes = new LongAdder();
+
+    private final Counter shedOverBudget;
+    private final Counter shedHeapPressure;
+    private final Counter shedBytes;
+    private final Counter headersOnly;
+
+    @Autowired
+    public ShadowMemoryBudget(ShadowerConfiguration shadowerConfiguration, MeterRegistry meterRegistry) {
+        this(shadowerConfiguration.getBudget(), meterRegistry, heapPressureOf(shadowerConfiguration.getBudget(), meterRegistry));
+    }
+
+    ShadowMemoryBudget(BudgetProperties budget, MeterRegistry meterRegistry, BooleanSupplier heapPressure) {
+        this.budget = budget;
+        this.heapPressure = heapPressure;
+
+        Gauge.builder("shadower.budget.inflight.bytes", inFlightBytes, LongAdder::sum)
+                .description("Bytes of shadow payloads currently in flight")
+                .baseUnit("bytes")
+                .register(meterRegistry);
+        this.shedOverBudget = Counter.builder("shadower.budget.shed.requests")
+                .description("Shadow copies shed to protect memory")
+                .tag("reason", "budget")
+                .register(meterRegistry);
+        this.shedHeapPressure = Counter.builder("shadower.budget.shed.requests")
+                .description("Shadow copies shed to protect memory")
+                .tag("reason", "heap")
+                .register(meterRegistry);
+        this.shedBytes = Counter.builder("shadower.budget.shed.bytes")
+                .description("Body bytes of shadow copies that were shed or sent without their body")
+                .baseUnit("bytes")
+                .register(meterRegistry);
+        this.headersOnly = Counter.builder("shadower.budget.headers.only")
+                .description("Shadow copies sent without their body to protect memory")
+                .register(meterRegistry);
+    }
+
+    private static BooleanSupplier heapPressureOf(BudgetProperties budget, MeterRegistry meterRegistry) {
+        HeapPressureMonitor monitor = new HeapPressureMonitor(budget.getHeapThreshold(), budget.getGcTimeThreshold());
+        Gauge.builder("shadower.budget.heap.occupancy", monitor, HeapPressureMonitor::getHeapOccupancy)
+                .description("Heap occupancy after the last collection, as a fraction of capacity")
+                .register(meterRegistry);
+        Gauge.builder("shadower.budget.gc.time.ratio", monitor, HeapPressureMonitor::getGcTimeRatio)
+                .description("Share of wall time recently spent in garbage collection")
+                .register(meterRegistry);
+        return monitor::isUnderPressure;
+    }
+
+    public Admission tryAcquire(long bytes) {
+        if (!budget.isEnabled()) {
+            return Admission.ADMITTED;
+        }
+        if (heapPressure.getAsBoolean()) {
+            return degrade(bytes, shedHeapPressure);
+        }
+        if (bytes > 0 && inFlightBytes.sum() + bytes > budget.getMaxInFlight().toBytes()) {
+            return degrade(bytes, shedOverBudget);
+        }
+        inFlightBytes.add(bytes);
+        return Admission.ADMITTED;
+    }
+
+    public void release(long bytes) {
+        if (budget.isEnabled()) {
+            inFlightBytes.add(-bytes);
+        }
+    }
+
+    private Admission degrade(long bytes, Counter shedCounter) {
+        shedBytes.increment(bytes);
+        if (budget.getOverBudget() == BudgetProperties.OverBudget.HEADERS_ONLY) {
+            headersOnly.increment();
+            return Admission.HEADERS_ONLY;
+        }
+        shedCounter.increment();
+        return Admission.SHED;
+    }
+
+    public long getInFlightBytes() {
+        return inFlightBytes.sum();
+    }
+}
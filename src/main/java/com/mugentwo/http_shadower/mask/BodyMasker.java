@@ -0,0 +1,165 @@
+package com.mugentwo.http_shadower.mask;
+
+import com.fasterxml.jackson.core.JsonFactory;
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonToken;
+import com.mugentwo.http_shadower.config.MaskPatternProperties;
+import com.mugentwo.http_shadower.config.MaskingProperties;
+import org.springframework.http.InvalidMediaTypeException;
+import org.springframework.http.MediaType;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.charset.Charset;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayDeque;
+import java.util.Deque;
+import java.util.List;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+// Redacts one rule set in a single pass over the body. JSON is rewritten token by token without building
+// a tree; form and text bodies go through one alternation of all patterns. A body that can't be inspected
+// (unknown or encoded content, malformed JSON) yields null so that it is never sent unmasked.
+public class BodyMasker {
+    private static final JsonFactory JSON_FACTORY = JsonFactory.builder().build();
+
+    private final JsonFieldMatcher jsonFields;
+    private final String replacement;
+    private final Pattern patterns;
+    private final int[] patternGroups;
+    private final String[] patternReplacements;
+
+    public BodyMasker(MaskingProperties masking) {
+        this.jsonFields = new JsonFieldMatcher(masking.getJsonFields());
+        this.replacement = masking.getReplacement();
+
+        List<MaskPatternProperties> rules = masking.getPatterns();
+        this.patternGroups = new int[rules.size()];
+        this.patternReplacements = new String[rules.size()];
+        StringBuilder alternation = new StringBuilder();
+        int group = 1;
+        for (int i = 0; i < rules.size(); i++) {
+            MaskPatternProperties rule = rules.get(i);
+            if (i > 0) {
+                alternation.append('|');
+            }
+            alternation.append('(').append(rule.getRegex()).append(')');
+            patternGroups[i] = group;
+            patternReplacements[i] = rule.getReplacement() != null ? rule.getReplacement() : replacement;
+            group += 1 + Pattern.compile(rule.getRegex()).matcher("").groupCount();
+        }
+        this.patterns = rules.isEmpty() ? null : Pattern.compile(alternation.toString());
+    }
+
+    public byte[] mask(byte[] body, String contentType, String contentEncoding) {
+        if (body == null || body.length == 0) {
+            return body;
+        }
+        if (contentEncoding != null && !"identity".equalsIgnoreCase(contentEncoding.trim())) {
+            return null;
+        }
+        MediaType mediaType = mediaType(contentType);
+        if (mediaType == null) {
+            return null;
+        }
+        if (isJson(mediaType)) {
+            return jsonFields.isEmpty() ? body : maskJson(body);
+        }
+        if (isText(mediaType)) {
+            return patterns == null ? body : maskText(body, mediaType.getCharset() != null ? mediaType.getCharset() : StandardCharsets.UTF_8);
+        }
+        return null;
+    }
+
+    byte[] maskJson(byte[] body) {
+        ByteArrayOutputStream out = new ByteArrayOutputStream(body.length);
+        try (JsonParser parser = JSON_FACTORY.createParser(body);
+             JsonGenerator generator = JSON_FACTORY.createGenerator(out)) {
+            Deque<int[]> containers = new ArrayDeque<>();
+            int[] pending = jsonFields.initial();
+            JsonToken token;
+            while ((token = parser.nextToken()) != null) {
+                switch (token) {
+                    case START_OBJECT, START_ARRAY -> {
+                        containers.push(pending);
+                        generator.copyCurrentEvent(parser);
+                    }
+                    case END_OBJECT, END_ARRAY -> {
+                        containers.pop();
+                        pending = containers.isEmpty() ? jsonFields.initial() : containers.peek();
+                        generator.copyCurrentEvent(parser);
+                    }
+                    case FIELD_NAME -> {
+                        generator.copyCurrentEvent(parser);
+                        int[] states = jsonFields.advance(containers.peek(), parser.currentName());
+                        if (jsonFields.accepts(states)) {
+                            JsonToken value = parser.nextToken();
+                            if (value == JsonToken.VALUE_NULL) {
+                                generator.writeNull();
+                            } else {
+                                parser.skipChildren();
+                                generator.writeString(replacement);
+                            }
+                        } else {
+                            pending = states;
+                        }
+                    }
+                    default -> generator.copyCurrentEventExact(parser);
+                }
+            }
+        } catch (IOException e) {
+            return null;
+        }
+        return out.toByteArray();
+    }
+
+    byte[] maskText(byte[] body, Charset charset) {
+        String text = new String(body, charset);
+        Matcher matcher = patterns.matcher(text);
+        if (!matcher.find()) {
+            return body;
+        }
+        StringBuilder masked = new StringBuilder(text.length());
+        int last = 0;
+        do {
+            masked.append(text, last, matcher.start()).append(replacementFor(matcher));
+            last = matcher.end();
+        } while (matcher.find());
+        masked.append(text, last, text.length());
+        return masked.toString().getBytes(charset);
+    }
+
+    private String replacementFor(Matcher matcher) {
+        for (int i = 0; i < patternGroups.length; i++) {
+            if (matcher.start(patternGroups[i]) >= 0) {
+                return patternReplacements[i];
+            }
+        }
+        return replacement;
+    }
+
+    private static MediaType mediaType(String contentType) {
+        if (contentType == null) {
+            return null;
+        }
+        try {
+            return MediaType.parseMediaType(contentType);
+        } catch (InvalidMediaTypeException e) {
+            return null;
+        }
+    }
+
+    private static boolean isJson(MediaType mediaType) {
+        return "json".equalsIgnoreCase(mediaType.getSubtype()) || mediaType.getSubtype().toLowerCase().endsWith("+json");
+    }
+
+    private static boolean isText(MediaType mediaType) {
+        String subtype = mediaType.getSubtype().toLowerCase();
+        return "text".equalsIgnoreCase(mediaType.getType())
+                || MediaType.APPLICATION_FORM_URLENCODED.equalsTypeAndSubtype(mediaType)
+                || "xml".equals(subtype)
+                || subtype.endsWith("+xml");
+    }
+}
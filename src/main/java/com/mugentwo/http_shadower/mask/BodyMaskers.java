@@ -0,0 +1,83 @@
+package com.mugentwo.http_shadower.mask;
+
+import com.mugentwo.http_shadower.config.DestinationProperties;
+import com.mugentwo.http_shadower.config.MaskingProperties;
+import com.mugentwo.http_shadower.core.ShadowRequest;
+import org.springframework.http.HttpHeaders;
+import org.springframework.stereotype.Component;
+
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.UnaryOperator;
+
+// One compiled masker per distinct rule set, so destinations configured with the same rules share the
+// masked copy of each request body.
+@Component
+public class BodyMaskers {
+    private final Map<DestinationProperties, BodyMasker> maskersByDestination = new ConcurrentHashMap<>();
+    private final Map<RuleSet, BodyMasker> maskersByRuleSet = new ConcurrentHashMap<>();
+
+    public BodyMasker maskerFor(DestinationProperties destination) {
+        MaskingProperties masking = destination.getMasking();
+        if (!masking.isEnabled()) {
+            return null;
+        }
+        return maskersByDestination.computeIfAbsent(destination,
+                key -> maskersByRuleSet.computeIfAbsent(RuleSet.of(masking), ruleSet -> new BodyMasker(masking)));
+    }
+
+    // Masks each body at most once per rule set; the first destination to need a masked copy computes it.
+    public Copies copiesOf(ShadowRequest shadowRequest) {
+        return new Copies(shadowRequest);
+    }
+
+    public static final class Copies {
+        private final ShadowRequest original;
+        private final Map<BodyMasker, ShadowRequest> masked = new ConcurrentHashMap<>(4);
+
+        private Copies(ShadowRequest original) {
+            this.original = original;
+        }
+
+        public ShadowRequest original() {
+            return original;
+        }
+
+        // `unmaskable` turns the request into the copy sent when its body can't be masked.
+        public ShadowRequest forMasker(BodyMasker masker, UnaryOperator<ShadowRequest> unmaskable) {
+            if (masker == null || !original.hasBody()) {
+                return original;
+            }
+            return masked.computeIfAbsent(masker, key -> {
+                byte[] body = key.mask(original.body(),
+                        original.firstHeader(HttpHeaders.CONTENT_TYPE),
+                        original.firstHeader(HttpHeaders.CONTENT_ENCODING));
+                if (body == null) {
+                    return unmaskable.apply(original);
+                }
+                if (body == original.body()) {
+                    return original;
+                }
+                Map<String, List<String>> headers = new LinkedHashMap<>();
+                original.headers().forEach((name, values) -> {
+                    if (!HttpHeaders.CONTENT_LENGTH.equalsIgnoreCase(name)) {
+                        headers.put(name, values);
+                    }
+                });
+                return new ShadowRequest(original.method(), original.path(), original.query(), headers, body);
+            });
+        }
+    }
+
+    private record RuleSet(List<String> jsonFields, List<List<String>> patterns, String replacement) {
+        static RuleSet of(MaskingProperties masking) {
+            List<List<String>> patterns = masking.getPatterns().stream()
+                    .map(pattern -> Arrays.asList(pattern.getRegex(), pattern.getReplacement()))
+                    .toList();
+            return new RuleSet(List.copyOf(masking.getJsonFields()), patterns, masking.getReplacement());
+        }
+    }
+}
@@ -0,0 +1,73 @@
+package com.mugentwo.http_shadower.mask;
+
+import java.util.Arrays;
+import java.util.List;
+
+// Matches JSON field paths such as "user.email", "cards.*.number" or "**.password" while the document is
+// streamed. Array elements are transparent, so "cards.number" also matches cards[3].number. The matcher
+// state for a container is the set of (rule, segment) positions still alive, encoded as rule << 16 | segment.
+final class JsonFieldMatcher {
+    static final String ANY_FIELD = "*";
+    static final String ANY_DEPTH = "**";
+
+    private static final int[] NONE = new int[0];
+
+    private final String[][] rules;
+    private final int[] initial;
+
+    JsonFieldMatcher(List<String> paths) {
+        this.rules = new String[paths.size()][];
+        this.initial = new int[paths.size()];
+        for (int i = 0; i < paths.size(); i++) {
+            rules[i] = paths.get(i).split("\\.");
+            initial[i] = i << 16;
+        }
+    }
+
+    int[] initial() {
+        return initial;
+    }
+
+    boolean isEmpty() {
+        return rules.length == 0;
+    }
+
+    // States for the value of field `name` inside a container in state `states`.
+    int[] advance(int[] states, String name) {
+        if (states.length == 0) {
+            return NONE;
+        }
+        int[] next = new int[states.length * 2];
+        int count = 0;
+        for (int state : states) {
+            int rule = state >>> 16;
+            int segment = state & 0xFFFF;
+            String[] path = rules[rule];
+            if (segment == path.length) {
+                continue;
+            }
+            if (ANY_DEPTH.equals(path[segment])) {
+                next[count++] = state;
+                if (matches(path[segment + 1], name)) {
+                    next[count++] = state + 2;
+                }
+            } else if (matches(path[segment], name)) {
+                next[count++] = state + 1;
+            }
+        }
+        return count == 0 ? NONE : Arrays.copyOf(next, count);
+    }
+
+    boolean accepts(int[] states) {
+        for (int state : states) {
+            if ((state & 0xFFFF) == rules[state >>> 16].length) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private static boolean matches(String segment, String name) {
+        return ANY_FIELD.equals(segment) || segment.equals(name);
+    }
+}
@@ -0,0 +1,55 @@
+package com.mugentwo.http_shadower.priority;
+
+import com.mugentwo.http_shadower.config.PriorityClassProperties;
+import com.mugentwo.http_shadower.config.PriorityProperties;
+import com.mugentwo.http_shadower.core.ShadowRequest;
+import org.springframework.http.server.PathContainer;
+import org.springframework.web.util.pattern.PathPattern;
+import org.springframework.web.util.pattern.PathPatternParser;
+
+import java.util.ArrayList;
+import java.util.List;
+
+// Classes are listed from highest to lowest priority; requests matching no class fall into the last one.
+public class PriorityClassifier {
+    private final String header;
+    private final List<String> names = new ArrayList<>();
+    private final List<List<PathPattern>> patterns = new ArrayList<>();
+
+    public PriorityClassifier(PriorityProperties properties) {
+        this.header = properties.getHeader();
+        for (PriorityClassProperties priorityClass : properties.getClasses()) {
+            names.add(priorityClass.getName());
+            patterns.add(priorityClass.getPaths().stream()
+                    .map(PathPatternParser.defaultInstance::parse)
+                    .toList());
+        }
+    }
+
+    public int classify(ShadowRequest request) {
+        if (header != null && !header.isEmpty()) {
+            String requested = request.firstHeader(header);
+            if (requested != null) {
+                for (int i = 0; i < names.size(); i++) {
+                    if (names.get(i).equalsIgnoreCase(requested.trim())) {
+                        return i;
+                    }
+                }
+            }
+        }
+
+        PathContainer path = PathContainer.parsePath(request.path());
+        for (int i = 0; i < patterns.size(); i++) {
+            for (PathPattern pattern : patterns.get(i)) {
+                if (pattern.matches(path)) {
+                    return i;
+                }
+            }
+        }
+        return names.size() - 1;
+    }
+
+    public List<String> getClassNames() {
+        return names;
+    }
+}
@@ -0,0 +1,227 @@
+package com.mugentwo.http_shadower.priority;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executor;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.locks.ReentrantLock;
+
+// Runs at most maxConcurrent shadow copies and queues the rest per priority class. The highest class
+// with queued work is served first, except that a class whose recent share of dispatches has fallen
+// below its minShare is served ahead of classes that are getting at least theirs. Each class has
+// minShare of the queue reserved for it. When the queue is full, a new copy evicts the newest queued
+// copy of the lowest class below it that holds more than its reservation, or of any such class while
+// its own class holds less than its reservation. Otherwise it is shed.
+public class PriorityShadowScheduler {
+    // Weight of past dispatches in the share estimate; roughly the last few hundred dispatches count.
+    private static final double SHARE_DECAY = 0.995;
+
+    private final Executor executor;
+    private final int maxConcurrent;
+    private final int maxQueued;
+    private final List<PriorityClass> classes = new ArrayList<>();
+    private final ReentrantLock lock = new ReentrantLock();
+
+    private int running;
+    private int queued;
+    private double totalServed;
+
+    public PriorityShadowScheduler(List<String> classNames, List<Double> minShares, int maxConcurrent, int maxQueued,
+                                   Executor executor, MeterRegistry meterRegistry) {
+        this.executor = executor;
+        this.maxConcurrent = maxConcurrent;
+        this.maxQueued = maxQueued;
+        for (int i = 0; i < classNames.size(); i++) {
+            classes.add(new PriorityClass(classNames.get(i), minShares.get(i), (int) Math.ceil(minShares.get(i) * maxQueued), meterRegistry));
+        }
+    }
+
+    public CompletableFuture<Void> submit(int priority, Runnable task, Runnable onShed) {
+        ShadowTask shadowTask = new ShadowTask(task, onShed);
+        ShadowTask evicted = null;
+        boolean shed = false;
+
+        lock.lock();
+        try {
+            PriorityClass priorityClass = classes.get(priority);
+            if (running < maxConcurrent && queued == 0) {
+                startLocked(priorityClass, shadowTask);
+            } else if (queued < maxQueued) {
+                enqueueLocked(priorityClass, shadowTask);
+            } else {
+                PriorityClass victim = victimFor(priority);
+                if (victim == null) {
+                    priorityClass.shed.increment();
+                    shed = true;
+                } else {
+                    evicted = victim.queue.pollLast();
+                    victim.queuedCount--;
+                    queued--;
+                    victim.shed.increment();
+                    enqueueLocked(priorityClass, shadowTask);
+                }
+            }
+        } finally {
+            lock.unlock();
+        }
+
+        if (shed) {
+            shadowTask.discard();
+        } else if (shadowTask.startedInline) {
+            execute(shadowTask);
+        }
+        if (evicted != null) {
+            evicted.discard();
+        }
+        return shadowTask.future;
+    }
+
+    private void enqueueLocked(PriorityClass priorityClass, ShadowTask shadowTask) {
+        priorityClass.queue.addLast(shadowTask);
+        priorityClass.queuedCount++;
+        queued++;
+    }
+
+    private void startLocked(PriorityClass priorityClass, ShadowTask shadowTask) {
+        running++;
+        totalServed = totalServed * SHARE_DECAY + 1;
+        for (PriorityClass candidate : classes) {
+            candidate.served *= SHARE_DECAY;
+        }
+        priorityClass.served += 1;
+        priorityClass.dispatched.increment();
+        shadowTask.startedInline = true;
+    }
+
+    private PriorityClass victimFor(int priority) {
+        PriorityClass arriving = classes.get(priority);
+        boolean underReserved = arriving.queuedCount < arriving.reserved;
+        for (int i = classes.size() - 1; i >= 0; i--) {
+            PriorityClass candidate = classes.get(i);
+            if (i != priority && (i > priority || underReserved) && candidate.queuedCount > candidate.reserved) {
+                return candidate;
+            }
+        }
+        return null;
+    }
+
+    private PriorityClass nextClassLocked() {
+        for (PriorityClass candidate : classes) {
+            if (!candidate.queue.isEmpty() && candidate.minShare > 0 && candidate.served < candidate.minShare * totalServed) {
+                return candidate;
+            }
+        }
+        for (PriorityClass candidate : classes) {
+            if (!candidate.queue.isEmpty()) {
+                return candidate;
+            }
+        }
+        return null;
+    }
+
+    private void drain() {
+        while (true) {
+            ShadowTask next;
+            lock.lock();
+            try {
+                if (running >= maxConcurrent) {
+                    return;
+                }
+                PriorityClass priorityClass = nextClassLocked();
+                if (priorityClass == null) {
+                    return;
+                }
+                next = priorityClass.queue.pollFirst();
+                priorityClass.queuedCount--;
+                queued--;
+                startLocked(priorityClass, next);
+            } finally {
+                lock.unlock();
+            }
+            execute(next);
+        }
+    }
+
+    private void execute(ShadowTask shadowTask) {
+        try {
+            executor.execute(() -> run(shadowTask));
+        } catch (RejectedExecutionException e) {
+            finished();
+            shadowTask.discard();
+        }
+    }
+
+    private void run(ShadowTask shadowTask) {
+        try {
+            shadowTask.task.run();
+            shadowTask.future.complete(null);
+        } catch (RuntimeException e) {
+            shadowTask.future.completeExceptionally(e);
+        } finally {
+            finished();
+            drain();
+        }
+    }
+
+    private void finished() {
+        lock.lock();
+        try {
+            running--;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    private static final class ShadowTask {
+        private final Runnable task;
+        private final Runnable onShed;
+        private final CompletableFuture<Void> future = new CompletableFuture<>();
+        private boolean startedInline;
+
+        ShadowTask(Runnable task, Runnable onShed) {
+            this.task = task;
+            this.onShed = onShed;
+        }
+
+        void discard() {
+            try {
+                onShed.run();
+            } finally {
+                future.complete(null);
+            }
+        }
+    }
+
+    private static final class PriorityClass {
+        private final double minShare;
+        private final int reserved;
+        private final ArrayDeque<ShadowTask> queue = new ArrayDeque<>();
+        private final Counter dispatched;
+        private final Counter shed;
+        private volatile int queuedCount;
+        private double served;
+
+        PriorityClass(String name, double minShare, int reserved, MeterRegistry meterRegistry) {
+            this.minShare = minShare;
+            this.reserved = reserved;
+            this.dispatched = Counter.builder("shadower.priority.dispatched")
+                    .description("Shadow copies started per priority class")
+                    .tag("class", name)
+                    .register(meterRegistry);
+            this.shed = Counter.builder("shadower.priority.shed")
+                    .description("Shadow copies shed or evicted per priority class")
+                    .tag("class", name)
+                    .register(meterRegistry);
+            Gauge.builder("shadower.priority.queued", this, priorityClass -> priorityClass.queuedCount)
+                    .description("Shadow copies waiting per priority class")
+                    .tag("class", name)
+                    .register(meterRegistry);
+        }
+    }
+}
@@ -0,0 +1,54 @@
+package com.mugentwo.http_shadower.priority;
+
+import com.mugentwo.http_shadower.config.PriorityClassProperties;
+import com.mugentwo.http_shadower.config.PriorityProperties;
+import com.mugentwo.http_shadower.config.ShadowerConfiguration;
+import com.mugentwo.http_shadower.core.ShadowRequest;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PreDestroy;
+import org.springframework.stereotype.Component;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+@Component
+public class ShadowPriorities {
+    private final PriorityClassifier classifier;
+    private final PriorityShadowScheduler scheduler;
+    private final ExecutorService executorService;
+
+    public ShadowPriorities(ShadowerConfiguration shadowerConfiguration, MeterRegistry meterRegistry) {
+        PriorityProperties priority = shadowerConfiguration.getPriority();
+        if (!priority.isEnabled()) {
+            this.classifier = null;
+            this.scheduler = null;
+            this.executorService = null;
+            return;
+        }
+        this.classifier = new PriorityClassifier(priority);
+        this.executorService = Executors.newCachedThreadPool();
+        this.scheduler = new PriorityShadowScheduler(
+                classifier.getClassNames(),
+                priority.getClasses().stream().map(PriorityClassProperties::getMinShare).toList(),
+                priority.getMaxConcurrent(),
+                priority.getMaxQueued(),
+                executorService,
+                meterRegistry);
+    }
+
+    public boolean isEnabled() {
+        return scheduler != null;
+    }
+
+    public CompletableFuture<Void> submit(ShadowRequest shadowRequest, Runnable task, Runnable onShed) {
+        return scheduler.submit(classifier.classify(shadowRequest), task, onShed);
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        if (executorService != null) {
+            executorService.shutdown();
+        }
+    }
+}
@@ -0,0 +1,173 @@
+package com.mugentwo.http_shadower.profile;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+
+// Normalizes raw paths into route templates. Segments that look like identifiers (numbers, UUIDs, long hex
+// or opaque tokens) become {id} straight away. Everything else is learned per position: once a position has
+// seen more than maxLiteralSegments distinct values under the same parent it turns into a {param} slot, so
+// unbounded keys such as user names cannot grow the template set without limit.
+public class RouteTemplateLearner {
+    static final String ID = "{id}";
+    static final String PARAM = "{param}";
+
+    private static final int MAX_NODES = 100_000;
+
+    private final int maxLiteralSegments;
+    private final int cacheSize;
+    private final int maxNodes;
+    private final Node root = new Node();
+    private final AtomicInteger nodeCount = new AtomicInteger();
+    private final Map<String, String> cache = new ConcurrentHashMap<>();
+
+    public RouteTemplateLearner(int maxLiteralSegments, int cacheSize) {
+        this(maxLiteralSegments, cacheSize, MAX_NODES);
+    }
+
+    RouteTemplateLearner(int maxLiteralSegments, int cacheSize, int maxNodes) {
+        this.maxLiteralSegments = maxLiteralSegments;
+        this.cacheSize = cacheSize;
+        this.maxNodes = maxNodes;
+    }
+
+    public String templateOf(String path) {
+        String template = cache.get(path);
+        if (template != null) {
+            return template;
+        }
+        template = learn(path);
+        if (cache.size() >= cacheSize) {
+            // Dropping the whole generation is cheap and keeps the cache bounded; hot paths repopulate it at once.
+            cache.clear();
+        }
+        cache.put(path, template);
+        return template;
+    }
+
+    private String learn(String path) {
+        StringBuilder template = new StringBuilder(path.length());
+        Node node = root;
+        int start = path.startsWith("/") ? 1 : 0;
+        while (start <= path.length()) {
+            int end = path.indexOf('/', start);
+            if (end < 0) {
+                end = path.length();
+            }
+            String segment = path.substring(start, end);
+            template.append('/');
+            if (isIdentifier(segment)) {
+                template.append(ID);
+                node = node.identifierChild();
+            } else {
+                node = step(node, segment, template);
+            }
+            start = end + 1;
+        }
+        return template.toString();
+    }
+
+    private Node step(Node node, String segment, StringBuilder template) {
+        Node param = node.param;
+        if (param == null) {
+            Node child = node.literals.get(segment);
+            if (child != null) {
+                template.append(segment);
+                return child;
+            }
+            synchronized (node) {
+                param = node.param;
+                if (param == null) {
+                    child = node.literals.get(segment);
+                    if (child == null && node.literals.size() < maxLiteralSegments && nodeCount.incrementAndGet() <= maxNodes) {
+                        child = new Node();
+                        node.literals.put(segment, child);
+                    }
+                    if (child != null) {
+                        template.append(segment);
+                        return child;
+                    }
+                    if (node.literals.size() >= maxLiteralSegments) {
+                        // Too many distinct values here: this position is a parameter. Templates cached with the
+                        // old literals are now stale.
+                        param = new Node();
+                        node.param = param;
+                        int dropped = 0;
+                        for (Node literal : node.literals.values()) {
+                            dropped += 1 + literal.countLiterals();
+                        }
+                        nodeCount.addAndGet(-dropped);
+                        node.literals.clear();
+                        cache.clear();
+                    } else {
+                        // Out of nodes: report the segment as a parameter without learning anything more.
+                        template.append(PARAM);
+                        return node.identifierChild();
+                    }
+                }
+            }
+        }
+        template.append(PARAM);
+        return param;
+    }
+
+    static boolean isIdentifier(String segment) {
+        int length = segment.length();
+        if (length == 0) {
+            return false;
+        }
+        boolean digits = true;
+        boolean hex = true;
+        boolean token = true;
+        boolean hasDigit = false;
+        for (int i = 0; i < length; i++) {
+            char c = segment.charAt(i);
+            boolean digit = c >= '0' && c <= '9';
+            boolean hexLetter = (c >= 'a' && c <= 'f') || (c >= 'A' && c <= 'F');
+            boolean letter = (c >= 'a' && c <= 'z') || (c >= 'A' && c <= 'Z');
+            hasDigit |= digit;
+            digits &= digit;
+            hex &= digit || hexLetter || (c == '-' && isUuidDash(length, i));
+            token &= digit || letter || c == '-' || c == '_';
+        }
+        return digits
+                || (hex && length >= 16)
+                || (token && hasDigit && length >= 24);
+    }
+
+    private static boolean isUuidDash(int length, int index) {
+        return length == 36 && (index == 8 || index == 13 || index == 18 || index == 23);
+    }
+
+    private static final class Node {
+        private final Map<String, Node> literals = new ConcurrentHashMap<>();
+        private volatile Node param;
+        private volatile Node identifier;
+
+        // Literal nodes below this one, which is what nodeCount counts. Only runs when a position is promoted.
+        int countLiterals() {
+            int count = 0;
+            for (Node literal : literals.values()) {
+                count += 1 + literal.countLiterals();
+            }
+            Node paramChild = param;
+            Node identifierChild = identifier;
+            return count + (paramChild == null ? 0 : paramChild.countLiterals())
+                    + (identifierChild == null ? 0 : identifierChild.countLiterals());
+        }
+
+        Node identifierChild() {
+            Node child = identifier;
+            if (child == null) {
+                synchronized (this) {
+                    child = identifier;
+                    if (child == null) {
+                        child = new Node();
+                        identifier = child;
+                    }
+                }
+            }
+            return child;
+        }
+    }
+}
@@ -0,0 +1,123 @@
+package com.mugentwo.http_shadower.profile;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+// Weighted Space-Saving (Metwally et al.) over a fixed number of counters kept in an indexed min-heap.
+// A key that is not monitored takes over the smallest counter and inherits its weight as error, so every
+// reported weight overestimates the true total by at most its error, and any key holding more than
+// total / capacity of the weight is guaranteed to be monitored.
+public class SpaceSaving {
+    private final int capacity;
+    private final Map<String, Integer> positions;
+    private final String[] keys;
+    private final long[] weights;
+    private final long[] errors;
+    private int size;
+    private long total;
+
+    public SpaceSaving(int capacity) {
+        this.capacity = capacity;
+        this.positions = new HashMap<>(capacity * 2);
+        this.keys = new String[capacity];
+        this.weights = new long[capacity];
+        this.errors = new long[capacity];
+    }
+
+    public synchronized void offer(String key, long weight) {
+        if (weight <= 0) {
+            return;
+        }
+        total += weight;
+        Integer position = positions.get(key);
+        if (position != null) {
+            weights[position] += weight;
+            siftDown(position);
+        } else if (size < capacity) {
+            keys[size] = key;
+            weights[size] = weight;
+            errors[size] = 0;
+            positions.put(key, size);
+            siftUp(size++);
+        } else {
+            positions.remove(keys[0]);
+            keys[0] = key;
+            errors[0] = weights[0];
+            weights[0] += weight;
+            positions.put(key, 0);
+            siftDown(0);
+        }
+    }
+
+    public synchronized List<Entry> top(int n) {
+        List<Entry> entries = new ArrayList<>(size);
+        for (int i = 0; i < size; i++) {
+            entries.add(new Entry(keys[i], weights[i], errors[i]));
+        }
+        entries.sort(Comparator.comparingLong(Entry::weight).reversed());
+        return entries.size() > n ? new ArrayList<>(entries.subList(0, n)) : entries;
+    }
+
+    public synchronized long getTotal() {
+        return total;
+    }
+
+    public synchronized void clear() {
+        positions.clear();
+        for (int i = 0; i < size; i++) {
+            keys[i] = null;
+        }
+        size = 0;
+        total = 0;
+    }
+
+    private void siftUp(int index) {
+        while (index > 0) {
+            int parent = (index - 1) / 2;
+            if (weights[parent] <= weights[index]) {
+                return;
+            }
+            swap(index, parent);
+            index = parent;
+        }
+    }
+
+    private void siftDown(int index) {
+        while (true) {
+            int smallest = index;
+            int left = 2 * index + 1;
+            int right = left + 1;
+            if (left < size && weights[left] < weights[smallest]) {
+                smallest = left;
+            }
+            if (right < size && weights[right] < weights[smallest]) {
+                smallest = right;
+            }
+            if (smallest == index) {
+                return;
+            }
+            swap(index, smallest);
+            index = smallest;
+        }
+    }
+
+    private void swap(int a, int b) {
+        String key = keys[a];
+        long weight = weights[a];
+        long error = errors[a];
+        keys[a] = keys[b];
+        weights[a] = weights[b];
+        errors[a] = errors[b];
+        keys[b] = key;
+        weights[b] = weight;
+        errors[b] = error;
+        positions.put(keys[a], a);
+        positions.put(keys[b], b);
+    }
+
+    public record Entry(String key, long weight, long error) {
+    }
+}
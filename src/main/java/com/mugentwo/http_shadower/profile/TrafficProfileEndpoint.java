@@ -0,0 +1,26 @@
+package com.mugentwo.http_shadower.profile;
+
+import org.springframework.boot.actuate.endpoint.annotation.DeleteOperation;
+import org.springframework.boot.actuate.endpoint.annotation.Endpoint;
+import org.springframework.boot.actuate.endpoint.annotation.ReadOperation;
+import org.springframework.stereotype.Component;
+
+@Component
+@Endpoint(id = "shadowprofile")
+public class TrafficProfileEndpoint {
+    private final TrafficProfiler trafficProfiler;
+
+    public TrafficProfileEndpoint(TrafficProfiler trafficProfiler) {
+        this.trafficProfiler = trafficProfiler;
+    }
+
+    @ReadOperation
+    public TrafficProfiler.TrafficProfile profile() {
+        return trafficProfiler.snapshot();
+    }
+
+    @DeleteOperation
+    public void reset() {
+        trafficProfiler.reset();
+    }
+}
@@ -0,0 +1,75 @@
+package com.mugentwo.http_shadower.profile;
+
+import com.mugentwo.http_shadower.config.ProfilerProperties;
+import com.mugentwo.http_shadower.config.ShadowerConfiguration;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Component;
+
+import java.util.List;
+
+// Always-on profile of destination calls per route template, ranked by calls, bytes and time spent.
+// Memory is fixed by the sketch capacity no matter how many distinct paths the traffic carries.
+@Component
+public class TrafficProfiler {
+    private final ProfilerProperties profiler;
+    private final RouteTemplateLearner templates;
+    private final SpaceSaving requests;
+    private final SpaceSaving bytes;
+    private final SpaceSaving latency;
+
+    @Autowired
+    public TrafficProfiler(ShadowerConfiguration shadowerConfiguration) {
+        this(shadowerConfiguration.getProfiler());
+    }
+
+    public TrafficProfiler(ProfilerProperties profiler) {
+        this.profiler = profiler;
+        this.templates = new RouteTemplateLearner(profiler.getMaxLiteralSegments(), profiler.getTemplateCacheSize());
+        this.requests = new SpaceSaving(profiler.getCapacity());
+        this.bytes = new SpaceSaving(profiler.getCapacity());
+        this.latency = new SpaceSaving(profiler.getCapacity());
+    }
+
+    public void record(String method, String path, long byteCount, long latencyNanos) {
+        if (!profiler.isEnabled()) {
+            return;
+        }
+        String route = method + " " + templates.templateOf(path);
+        requests.offer(route, 1);
+        bytes.offer(route, byteCount);
+        latency.offer(route, latencyNanos / 1_000);
+    }
+
+    public TrafficProfile snapshot() {
+        int topN = profiler.getTopN();
+        return new TrafficProfile(
+                requests.getTotal(),
+                bytes.getTotal(),
+                latency.getTotal(),
+                routes(requests, topN),
+                routes(bytes, topN),
+                routes(latency, topN));
+    }
+
+    public void reset() {
+        requests.clear();
+        bytes.clear();
+        latency.clear();
+    }
+
+    private static List<RouteStat> routes(SpaceSaving sketch, int topN) {
+        long total = sketch.getTotal();
+        return sketch.top(topN).stream()
+                .map(entry -> new RouteStat(entry.key(), entry.weight(), entry.error(),
+                        total == 0 ? 0 : (double) entry.weight() / total))
+                .toList();
+    }
+
+    // Latency values are total microseconds spent waiting on destinations for the route.
+    public record TrafficProfile(long requests, long bytes, long latencyMicros,
+                                 List<RouteStat> byRequests, List<RouteStat> byBytes, List<RouteStat> byLatency) {
+    }
+
+    public record RouteStat(String route, long value, long maxError, double share) {
+    }
+}
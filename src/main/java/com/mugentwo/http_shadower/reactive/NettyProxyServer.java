@@ -0,0 +1,85 @@
+package com.mugentwo.http_shadower.reactive;
+
+import com.mugentwo.http_shadower.balance.DestinationPools;
+import com.mugentwo.http_shadower.config.ShadowerConfiguration;
+import com.mugentwo.http_shadower.deadline.DeadlineScopes;
+import com.mugentwo.http_shadower.routing.TenantRouter;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.SmartLifecycle;
+import org.springframework.stereotype.Component;
+import reactor.netty.DisposableServer;
+import reactor.netty.http.HttpProtocol;
+import reactor.netty.http.client.HttpClient;
+import reactor.netty.http.server.HttpServer;
+import reactor.netty.resources.ConnectionProvider;
+
+@Component
+@ConditionalOnProperty(prefix = "shadower.frontend", name = "mode", havingValue = "netty")
+public class NettyProxyServer implements SmartLifecycle {
+    private static final Logger logger = LoggerFactory.getLogger(NettyProxyServer.class);
+
+    private final ShadowerConfiguration shadowerConfiguration;
+    private final DeadlineScopes deadlineScopes;
+    private final DestinationPools destinationPools;
+    private final TenantRouter tenantRouter;
+    private final int port;
+    private final boolean http2;
+    private final ConnectionProvider connectionProvider;
+    private volatile DisposableServer server;
+
+    public NettyProxyServer(ShadowerConfiguration shadowerConfiguration,
+                            DeadlineScopes deadlineScopes,
+                            DestinationPools destinationPools,
+                            TenantRouter tenantRouter,
+                            @Value("${server.port:8080}") int port,
+                            @Value("${server.http2.enabled:false}") boolean http2) {
+        this.shadowerConfiguration = shadowerConfiguration;
+        this.deadlineScopes = deadlineScopes;
+        this.destinationPools = destinationPools;
+        this.tenantRouter = tenantRouter;
+        this.port = port;
+        this.http2 = http2;
+        this.connectionProvider = ConnectionProvider.builder("shadower")
+                .maxConnections(shadowerConfiguration.getFrontend().getMaxConnections())
+                .build();
+    }
+
+    @Override
+    public void start() {
+        HttpClient httpClient = HttpClient.create(connectionProvider);
+        // H2C alongside HTTP/1.1 accepts both prior-knowledge h2c and Upgrade: h2c on the same port.
+        HttpProtocol[] protocols = http2
+                ? new HttpProtocol[] {HttpProtocol.HTTP11, HttpProtocol.H2C}
+                : new HttpProtocol[] {HttpProtocol.HTTP11};
+        server = HttpServer.create()
+                .port(port)
+                .protocol(protocols)
+                .handle(new ReactiveProxyHandler(shadowerConfiguration, httpClient, deadlineScopes, destinationPools, tenantRouter))
+                .bindNow();
+        logger.info("Netty proxy front end started on port {} (HTTP/2 cleartext {})", server.port(), http2 ? "enabled" : "disabled");
+    }
+
+    @Override
+    public void stop() {
+        DisposableServer current = server;
+        if (current != null) {
+            current.disposeNow();
+            server = null;
+        }
+        connectionProvider.dispose();
+        logger.info("Netty proxy front end stopped");
+    }
+
+    @Override
+    public boolean isRunning() {
+        return server != null;
+    }
+
+    public int getPort() {
+        DisposableServer current = server;
+        return current != null ? current.port() : port;
+    }
+}
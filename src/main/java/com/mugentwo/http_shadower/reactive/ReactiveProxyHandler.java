@@ -0,0 +1,262 @@
+package com.mugentwo.http_shadower.reactive;
+
+import com.mugentwo.http_shadower.balance.DestinationEndpoint;
+import com.mugentwo.http_shadower.balance.DestinationPools;
+import com.mugentwo.http_shadower.config.DestinationProperties;
+import com.mugentwo.http_shadower.config.ShadowerConfiguration;
+import com.mugentwo.http_shadower.deadline.DeadlineScopes;
+import com.mugentwo.http_shadower.deadline.FanOutScope;
+import com.mugentwo.http_shadower.routing.Tenant;
+import com.mugentwo.http_shadower.routing.TenantRouter;
+import com.mugentwo.http_shadower.service.ShadowBodyCompressor;
+import io.netty.buffer.ByteBuf;
+import io.netty.buffer.ByteBufUtil;
+import io.netty.buffer.Unpooled;
+import io.netty.handler.codec.http.HttpHeaderNames;
+import io.netty.handler.codec.http.HttpHeaders;
+import io.netty.handler.codec.http2.HttpConversionUtil;
+import io.netty.handler.codec.http.HttpResponseStatus;
+import org.reactivestreams.Publisher;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import reactor.core.Disposable;
+import reactor.core.Disposables;
+import reactor.core.publisher.Mono;
+import reactor.core.publisher.SignalType;
+import reactor.core.scheduler.Schedulers;
+import reactor.netty.http.client.HttpClient;
+import reactor.netty.http.server.HttpServerRequest;
+import reactor.netty.http.server.HttpServerResponse;
+
+import java.time.Duration;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.BiFunction;
+
+public class ReactiveProxyHandler implements BiFunction<HttpServerRequest, HttpServerResponse, Publisher<Void>> {
+    private static final Logger logger = LoggerFactory.getLogger(ReactiveProxyHandler.class);
+
+    private static final String UNAVAILABLE_MESSAGE = "Service temporarily unavailable - all destination apps unreachable";
+    private static final String TIMEOUT_MESSAGE = "Gateway timeout - response source did not answer within the deadline";
+    private static final String NOT_FOUND_MESSAGE = "Not found - no destinations are configured for this host or path";
+
+    private final HttpClient httpClient;
+    private final DeadlineScopes deadlineScopes;
+    private final DestinationPools destinationPools;
+    private final TenantRouter tenantRouter;
+    private final int maxInFlightShadows;
+    private final AtomicInteger inFlightShadows = new AtomicInteger();
+
+    public ReactiveProxyHandler(ShadowerConfiguration shadowerConfiguration, HttpClient httpClient,
+                                DeadlineScopes deadlineScopes, DestinationPools destinationPools, TenantRouter tenantRouter) {
+        this.httpClient = httpClient;
+        this.deadlineScopes = deadlineScopes;
+        this.destinationPools = destinationPools;
+        this.tenantRouter = tenantRouter;
+        this.maxInFlightShadows = shadowerConfiguration.getFrontend().getMaxInFlightShadows();
+    }
+
+    @Override
+    public Publisher<Void> apply(HttpServerRequest request, HttpServerResponse response) {
+        logger.info("Received {} request for path: {}", request.method(), request.uri());
+        Tenant tenant = tenantRouter.resolve(request.requestHeaders().get(HttpHeaderNames.HOST), request.fullPath());
+        if (tenant.getDestinations().isEmpty()) {
+            return sendNotFound(response);
+        }
+        Duration timeout = deadlineScopes.timeoutFor(request.fullPath());
+
+        return request.receive()
+                .aggregate()
+                .retain()
+                .defaultIfEmpty(Unpooled.EMPTY_BUFFER)
+                .flatMap(body -> {
+                    Disposable.Composite shadows = forwardShadows(request, body, tenant, timeout);
+                    // The primary exchange is cancelled when the client goes away; its shadows go with it.
+                    return forwardPrimary(request, body, response, tenant, timeout)
+                            .doOnCancel(shadows::dispose)
+                            .doFinally(signal -> body.release());
+                });
+    }
+
+    private Mono<Void> forwardPrimary(HttpServerRequest request, ByteBuf body, HttpServerResponse response, Tenant tenant,
+                                      Duration timeout) {
+        DestinationProperties primary = primaryDestination(tenant);
+        if (primary == null) {
+            return sendUnavailable(response);
+        }
+
+        DestinationEndpoint endpoint = destinationPools.select(primary, request.requestHeaders()::get);
+        AtomicInteger status = new AtomicInteger();
+        String targetUrl = endpoint.getUrl() + request.uri();
+        logger.debug("Forwarding to {}: {} {}", primary.getName(), request.method(), targetUrl);
+
+        Mono<Void> exchange = httpClient
+                .headers(headers -> copyRequestHeaders(request.requestHeaders(), headers))
+                .request(request.method())
+                .uri(targetUrl)
+                .send((clientRequest, outbound) -> body.isReadable()
+                        ? outbound.send(Mono.fromSupplier(body::retainedDuplicate))
+                        : outbound)
+                .response((clientResponse, content) -> {
+                    logger.debug("Response from {}: {}", primary.getName(), clientResponse.status());
+                    status.set(clientResponse.status().code());
+                    response.status(clientResponse.status());
+                    response.headers(copyResponseHeaders(clientResponse.responseHeaders()));
+                    return response.send(content.retain());
+                })
+                .then()
+                .doFinally(signal -> releaseEndpoint(endpoint, signal, status.get()));
+        return withDeadline(exchange, timeout, primary.getName())
+                .onErrorResume(e -> {
+                    logger.error("Failed to forward request to {}: {}", primary.getName(), e.getMessage());
+                    if (response.hasSentHeaders()) {
+                        return Mono.error(e);
+                    }
+                    return e instanceof TimeoutException ? sendGatewayTimeout(response) : sendUnavailable(response);
+                });
+    }
+
+    private Disposable.Composite forwardShadows(HttpServerRequest request, ByteBuf body, Tenant tenant, Duration timeout) {
+        Disposable.Composite shadows = Disposables.composite();
+        for (DestinationProperties destination : tenant.getDestinations()) {
+            if (destination.isResponseSource()) {
+                continue;
+            }
+            if (inFlightShadows.incrementAndGet() > maxInFlightShadows) {
+                inFlightShadows.decrementAndGet();
+                logger.debug("Dropping shadow request to {}: {} shadow requests in flight", destination.getName(), maxInFlightShadows);
+                continue;
+            }
+            if (!tenant.tryAcquireShadow()) {
+                inFlightShadows.decrementAndGet();
+                logger.debug("Dropping shadow request to {}: tenant {} has {} shadow requests in flight",
+                        destination.getName(), tenant.getName(), tenant.getMaxInFlightShadows());
+                continue;
+            }
+            body.retain();
+            shadows.add(withDeadline(forwardShadow(request, body, destination), timeout, destination.getName())
+                    .doOnCancel(() -> deadlineScopes.recordCancelled(destination.getName(), FanOutScope.Reason.ABANDONED, true))
+                    .doFinally(signal -> {
+                        body.release();
+                        inFlightShadows.decrementAndGet();
+                        tenant.releaseShadow();
+                    })
+                    .subscribe(
+                        status -> logger.debug("Response from {}: {}", destination.getName(), status),
+                        e -> logger.error("Failed to forward request to {}: {}", destination.getName(), e.getMessage())
+                    ));
+        }
+        return shadows;
+    }
+
+    // Reactor Netty closes the connection of an exchange cancelled mid-flight rather than returning it to the pool.
+    private <T> Mono<T> withDeadline(Mono<T> call, Duration timeout, String destination) {
+        if (timeout == null) {
+            return call;
+        }
+        return call.timeout(timeout)
+                .doOnError(TimeoutException.class, e -> deadlineScopes.recordCancelled(destination, FanOutScope.Reason.DEADLINE, true));
+    }
+
+    private Mono<HttpResponseStatus> forwardShadow(HttpServerRequest request, ByteBuf body, DestinationProperties destination) {
+        DestinationEndpoint endpoint = destinationPools.select(destination, request.requestHeaders()::get);
+        AtomicInteger status = new AtomicInteger();
+        return sendToEndpoint(request, body, destination, endpoint.getUrl() + request.uri())
+                .doOnNext(responseStatus -> status.set(responseStatus.code()))
+                .doFinally(signal -> releaseEndpoint(endpoint, signal, status.get()));
+    }
+
+    // A deadline timeout or a client going away cancels the exchange; that says nothing about the endpoint.
+    private static void releaseEndpoint(DestinationEndpoint endpoint, SignalType signal, int status) {
+        if (signal == SignalType.CANCEL && status == 0) {
+            endpoint.releaseIgnored();
+        } else {
+            endpoint.release(isHealthyStatus(status));
+        }
+    }
+
+    private Mono<HttpResponseStatus> sendToEndpoint(HttpServerRequest request, ByteBuf body, DestinationProperties destination, String targetUrl) {
+        HttpHeaders requestHeaders = request.requestHeaders().copy();
+        logger.debug("Forwarding to {}: {} {}", destination.getName(), request.method(), targetUrl);
+
+        if (body.isReadable() && shouldCompress(destination, requestHeaders, body)) {
+            byte[] uncompressed = ByteBufUtil.getBytes(body);
+            return Mono.fromCallable(() -> ShadowBodyCompressor.gzip(uncompressed))
+                    .subscribeOn(Schedulers.boundedElastic())
+                    .flatMap(compressed -> {
+                        requestHeaders.set(HttpHeaderNames.CONTENT_ENCODING, ShadowBodyCompressor.GZIP);
+                        requestHeaders.set(HttpHeaderNames.CONTENT_LENGTH, compressed.length);
+                        return sendShadow(request, targetUrl, requestHeaders, Mono.fromSupplier(() -> Unpooled.wrappedBuffer(compressed)));
+                    });
+        }
+
+        return sendShadow(request, targetUrl, requestHeaders,
+                body.isReadable() ? Mono.fromSupplier(body::retainedDuplicate) : null);
+    }
+
+    private Mono<HttpResponseStatus> sendShadow(HttpServerRequest request, String targetUrl, HttpHeaders requestHeaders, Mono<ByteBuf> shadowBody) {
+        return httpClient
+                .headers(headers -> copyRequestHeaders(requestHeaders, headers))
+                .request(request.method())
+                .uri(targetUrl)
+                .send((clientRequest, outbound) -> shadowBody != null ? outbound.send(shadowBody) : outbound)
+                .response()
+                .map(clientResponse -> clientResponse.status());
+    }
+
+    private static boolean isHealthyStatus(int status) {
+        return status != 0 && status < 500;
+    }
+
+    private boolean shouldCompress(DestinationProperties destination, HttpHeaders headers, ByteBuf body) {
+        return destination.getCompression().isEnabled()
+                && body.readableBytes() >= destination.getCompression().getMinSize()
+                && !ShadowBodyCompressor.isEncoded(headers.get(HttpHeaderNames.CONTENT_ENCODING));
+    }
+
+    private DestinationProperties primaryDestination(Tenant tenant) {
+        DestinationProperties responseSource = tenant.getResponseSource();
+        if (responseSource != null) {
+            return responseSource;
+        }
+        var enabledDestinations = tenant.getDestinations();
+        return enabledDestinations.isEmpty() ? null : enabledDestinations.get(0);
+    }
+
+    private Mono<Void> sendUnavailable(HttpServerResponse response) {
+        return response.status(HttpResponseStatus.SERVICE_UNAVAILABLE)
+                .header(HttpHeaderNames.CONTENT_TYPE, "text/plain")
+                .sendString(Mono.just(UNAVAILABLE_MESSAGE))
+                .then();
+    }
+
+    private Mono<Void> sendNotFound(HttpServerResponse response) {
+        return response.status(HttpResponseStatus.NOT_FOUND)
+                .header(HttpHeaderNames.CONTENT_TYPE, "text/plain")
+                .sendString(Mono.just(NOT_FOUND_MESSAGE))
+                .then();
+    }
+
+    private Mono<Void> sendGatewayTimeout(HttpServerResponse response) {
+        return response.status(HttpResponseStatus.GATEWAY_TIMEOUT)
+                .header(HttpHeaderNames.CONTENT_TYPE, "text/plain")
+                .sendString(Mono.just(TIMEOUT_MESSAGE))
+                .then();
+    }
+
+    private void copyRequestHeaders(HttpHeaders source, HttpHeaders target) {
+        target.set(source);
+        target.remove(HttpHeaderNames.HOST);
+        target.remove(HttpHeaderNames.CONNECTION);
+        // HTTP/2 requests arrive converted to HTTP/1.1 with x-http2-* extension headers attached.
+        for (HttpConversionUtil.ExtensionHeaderNames extensionHeader : HttpConversionUtil.ExtensionHeaderNames.values()) {
+            target.remove(extensionHeader.text());
+        }
+    }
+
+    private HttpHeaders copyResponseHeaders(HttpHeaders source) {
+        HttpHeaders headers = source.copy();
+        headers.remove(HttpHeaderNames.CONNECTION);
+        return headers;
+    }
+}
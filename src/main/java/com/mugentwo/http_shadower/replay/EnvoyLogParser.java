@@ -0,0 +1,41 @@
+package com.mugentwo.http_shadower.replay;
+
+import java.time.Instant;
+import java.time.format.DateTimeParseException;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+public class EnvoyLogParser implements ReplayLineParser {
+    private static final Pattern DEFAULT_FORMAT = Pattern.compile(
+            "^\\[(?<time>[^\\]]+)] \"(?<method>[A-Z]+) (?<target>\\S+)(?: [^\"]*)?\" \\S+ \\S+ \\S+ \\S+ \\S+ \\S+"
+                    + " \"(?<forwardedFor>[^\"]*)\" \"(?<userAgent>[^\"]*)\" \"(?<requestId>[^\"]*)\" \"(?<authority>[^\"]*)\".*$");
+
+    @Override
+    public ReplayRecord parse(String line) {
+        Matcher matcher = DEFAULT_FORMAT.matcher(line);
+        if (!matcher.matches()) {
+            return null;
+        }
+
+        Map<String, List<String>> headers = new LinkedHashMap<>();
+        NginxLogParser.putIfPresent(headers, "X-Forwarded-For", matcher.group("forwardedFor"));
+        NginxLogParser.putIfPresent(headers, "User-Agent", matcher.group("userAgent"));
+        NginxLogParser.putIfPresent(headers, "X-Request-Id", matcher.group("requestId"));
+        NginxLogParser.putIfPresent(headers, "Host", matcher.group("authority"));
+
+        return new ReplayRecord(
+                parseTime(matcher.group("time")),
+                ReplayLineParser.toShadowRequest(matcher.group("method"), matcher.group("target"), headers, null));
+    }
+
+    private long parseTime(String time) {
+        try {
+            return Instant.parse(time).toEpochMilli();
+        } catch (DateTimeParseException e) {
+            return ReplayRecord.NO_TIMESTAMP;
+        }
+    }
+}
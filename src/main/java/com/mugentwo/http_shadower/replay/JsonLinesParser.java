@@ -0,0 +1,83 @@
+package com.mugentwo.http_shadower.replay;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import java.nio.charset.StandardCharsets;
+import java.time.Instant;
+import java.time.format.DateTimeParseException;
+import java.util.ArrayList;
+import java.util.Base64;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+public class JsonLinesParser implements ReplayLineParser {
+    private final ObjectMapper objectMapper;
+
+    public JsonLinesParser(ObjectMapper objectMapper) {
+        this.objectMapper = objectMapper;
+    }
+
+    @Override
+    public ReplayRecord parse(String line) {
+        JsonNode node;
+        try {
+            node = objectMapper.readTree(line);
+        } catch (JsonProcessingException e) {
+            return null;
+        }
+
+        String method = node.path("method").asText(null);
+        String target = node.path("path").asText(null);
+        if (method == null || target == null) {
+            return null;
+        }
+
+        return new ReplayRecord(
+                parseTimestamp(node.path("timestamp")),
+                ReplayLineParser.toShadowRequest(method.toUpperCase(), target, parseHeaders(node.path("headers")), parseBody(node)));
+    }
+
+    private long parseTimestamp(JsonNode timestamp) {
+        if (timestamp.isNumber()) {
+            return timestamp.asLong();
+        }
+        if (timestamp.isTextual()) {
+            try {
+                return Instant.parse(timestamp.asText()).toEpochMilli();
+            } catch (DateTimeParseException e) {
+                return ReplayRecord.NO_TIMESTAMP;
+            }
+        }
+        return ReplayRecord.NO_TIMESTAMP;
+    }
+
+    private Map<String, List<String>> parseHeaders(JsonNode headersNode) {
+        Map<String, List<String>> headers = new LinkedHashMap<>();
+        headersNode.properties().forEach(header -> {
+            List<String> values = new ArrayList<>();
+            if (header.getValue().isArray()) {
+                header.getValue().forEach(value -> values.add(value.asText()));
+            } else {
+                values.add(header.getValue().asText());
+            }
+            headers.put(header.getKey(), values);
+        });
+        return headers;
+    }
+
+    private byte[] parseBody(JsonNode node) {
+        JsonNode bodyBase64 = node.path("bodyBase64");
+        if (bodyBase64.isTextual()) {
+            return Base64.getDecoder().decode(bodyBase64.asText());
+        }
+        JsonNode body = node.path("body");
+        if (body.isMissingNode() || body.isNull()) {
+            return null;
+        }
+        String text = body.isTextual() ? body.asText() : body.toString();
+        return text.getBytes(StandardCharsets.UTF_8);
+    }
+}
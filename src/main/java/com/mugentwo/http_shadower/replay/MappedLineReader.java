@@ -0,0 +1,90 @@
+package com.mugentwo.http_shadower.replay;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.Arrays;
+
+public class MappedLineReader implements Closeable {
+    static final int DEFAULT_WINDOW_SIZE = 64 * 1024 * 1024;
+
+    private final FileChannel channel;
+    private final long size;
+    private final int windowSize;
+    private MappedByteBuffer window;
+    private long windowStart;
+    private long position;
+    private byte[] lineBuffer = new byte[8192];
+
+    public MappedLineReader(Path file) throws IOException {
+        this(file, DEFAULT_WINDOW_SIZE);
+    }
+
+    MappedLineReader(Path file, int windowSize) throws IOException {
+        this.channel = FileChannel.open(file, StandardOpenOption.READ);
+        this.size = channel.size();
+        this.windowSize = windowSize;
+    }
+
+    public String readLine() throws IOException {
+        if (position >= size) {
+            return null;
+        }
+
+        int length = 0;
+        while (position < size) {
+            if (window == null || position >= windowStart + window.limit()) {
+                map(position);
+            }
+
+            int start = (int) (position - windowStart);
+            int limit = window.limit();
+            int index = start;
+            while (index < limit && window.get(index) != '\n') {
+                index++;
+            }
+
+            int chunk = index - start;
+            if (length + chunk > lineBuffer.length) {
+                lineBuffer = Arrays.copyOf(lineBuffer, Math.max(lineBuffer.length * 2, length + chunk));
+            }
+            window.get(start, lineBuffer, length, chunk);
+            length += chunk;
+            position += chunk;
+
+            if (index < limit) {
+                position++;
+                break;
+            }
+        }
+
+        if (length > 0 && lineBuffer[length - 1] == '\r') {
+            length--;
+        }
+        return new String(lineBuffer, 0, length, StandardCharsets.UTF_8);
+    }
+
+    public long getPosition() {
+        return position;
+    }
+
+    public long getSize() {
+        return size;
+    }
+
+    private void map(long offset) throws IOException {
+        long length = Math.min(windowSize, size - offset);
+        window = channel.map(FileChannel.MapMode.READ_ONLY, offset, length);
+        windowStart = offset;
+    }
+
+    @Override
+    public void close() throws IOException {
+        window = null;
+        channel.close();
+    }
+}
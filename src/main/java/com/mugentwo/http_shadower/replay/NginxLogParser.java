@@ -0,0 +1,49 @@
+package com.mugentwo.http_shadower.replay;
+
+import java.time.OffsetDateTime;
+import java.time.format.DateTimeFormatter;
+import java.time.format.DateTimeParseException;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+public class NginxLogParser implements ReplayLineParser {
+    private static final Pattern COMBINED = Pattern.compile(
+            "^(?<address>\\S+) \\S+ \\S+ \\[(?<time>[^\\]]+)] \"(?<method>[A-Z]+) (?<target>\\S+)(?: [^\"]*)?\" \\d{3} \\S+"
+                    + "(?: \"(?<referer>[^\"]*)\" \"(?<userAgent>[^\"]*)\")?.*$");
+    private static final DateTimeFormatter TIME_LOCAL = DateTimeFormatter.ofPattern("dd/MMM/yyyy:HH:mm:ss Z", Locale.ENGLISH);
+
+    @Override
+    public ReplayRecord parse(String line) {
+        Matcher matcher = COMBINED.matcher(line);
+        if (!matcher.matches()) {
+            return null;
+        }
+
+        Map<String, List<String>> headers = new LinkedHashMap<>();
+        headers.put("X-Forwarded-For", List.of(matcher.group("address")));
+        putIfPresent(headers, "Referer", matcher.group("referer"));
+        putIfPresent(headers, "User-Agent", matcher.group("userAgent"));
+
+        return new ReplayRecord(
+                parseTime(matcher.group("time")),
+                ReplayLineParser.toShadowRequest(matcher.group("method"), matcher.group("target"), headers, null));
+    }
+
+    private long parseTime(String time) {
+        try {
+            return OffsetDateTime.parse(time, TIME_LOCAL).toInstant().toEpochMilli();
+        } catch (DateTimeParseException e) {
+            return ReplayRecord.NO_TIMESTAMP;
+        }
+    }
+
+    static void putIfPresent(Map<String, List<String>> headers, String name, String value) {
+        if (value != null && !value.isEmpty() && !"-".equals(value)) {
+            headers.put(name, List.of(value));
+        }
+    }
+}
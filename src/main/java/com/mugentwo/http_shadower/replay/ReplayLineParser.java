@@ -0,0 +1,46 @@
+package com.mugentwo.http_shadower.replay;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.mugentwo.http_shadower.config.ReplayProperties;
+import com.mugentwo.http_shadower.core.ShadowRequest;
+
+import java.util.List;
+import java.util.Map;
+
+@FunctionalInterface
+public interface ReplayLineParser {
+
+    ReplayRecord parse(String line);
+
+    static ReplayLineParser forFormat(ReplayProperties.Format format, ObjectMapper objectMapper) {
+        return switch (format) {
+            case NGINX -> new NginxLogParser();
+            case ENVOY -> new EnvoyLogParser();
+            case JSONL -> new JsonLinesParser(objectMapper);
+            case AUTO -> autoDetecting(objectMapper);
+        };
+    }
+
+    private static ReplayLineParser autoDetecting(ObjectMapper objectMapper) {
+        ReplayLineParser nginx = new NginxLogParser();
+        ReplayLineParser envoy = new EnvoyLogParser();
+        ReplayLineParser jsonLines = new JsonLinesParser(objectMapper);
+        return line -> {
+            if (line.isEmpty()) {
+                return null;
+            }
+            return switch (line.charAt(0)) {
+                case '{' -> jsonLines.parse(line);
+                case '[' -> envoy.parse(line);
+                default -> nginx.parse(line);
+            };
+        };
+    }
+
+    static ShadowRequest toShadowRequest(String method, String target, Map<String, List<String>> headers, byte[] body) {
+        int queryStart = target.indexOf('?');
+        String path = queryStart < 0 ? target : target.substring(0, queryStart);
+        String query = queryStart < 0 || queryStart == target.length() - 1 ? null : target.substring(queryStart + 1);
+        return new ShadowRequest(method, path, query, headers, body);
+    }
+}
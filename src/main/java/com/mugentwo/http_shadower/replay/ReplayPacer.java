@@ -0,0 +1,67 @@
+package com.mugentwo.http_shadower.replay;
+
+import com.mugentwo.http_shadower.config.ReplayProperties;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.LockSupport;
+import java.util.function.LongSupplier;
+
+public class ReplayPacer {
+    private final ReplayProperties.Pacing pacing;
+    private final long fixedIntervalNanos;
+    private final double speedup;
+    private final LongSupplier nanoClock;
+
+    private long startNanos = -1;
+    private long firstTimestampMillis = ReplayRecord.NO_TIMESTAMP;
+    private long nextSlotNanos;
+
+    public ReplayPacer(ReplayProperties properties) {
+        this(properties, System::nanoTime);
+    }
+
+    ReplayPacer(ReplayProperties properties, LongSupplier nanoClock) {
+        this.pacing = properties.getPacing();
+        this.fixedIntervalNanos = (long) (TimeUnit.SECONDS.toNanos(1) / properties.getRate());
+        this.speedup = properties.getSpeedup();
+        this.nanoClock = nanoClock;
+    }
+
+    public void awaitTurn(ReplayRecord record) throws InterruptedException {
+        long deadline = deadlineFor(record);
+        long remaining;
+        while ((remaining = deadline - nanoClock.getAsLong()) > 0) {
+            LockSupport.parkNanos(remaining);
+            if (Thread.interrupted()) {
+                throw new InterruptedException("Replay interrupted while pacing");
+            }
+        }
+    }
+
+    long deadlineFor(ReplayRecord record) {
+        long now = nanoClock.getAsLong();
+        if (startNanos < 0) {
+            startNanos = now;
+            nextSlotNanos = now;
+        }
+
+        return switch (pacing) {
+            case MAX -> now;
+            case FIXED_RATE -> {
+                long slot = nextSlotNanos;
+                nextSlotNanos += fixedIntervalNanos;
+                yield slot;
+            }
+            case ORIGINAL -> {
+                if (!record.hasTimestamp()) {
+                    yield now;
+                }
+                if (firstTimestampMillis == ReplayRecord.NO_TIMESTAMP) {
+                    firstTimestampMillis = record.timestampMillis();
+                }
+                long offsetNanos = (long) (TimeUnit.MILLISECONDS.toNanos(record.timestampMillis() - firstTimestampMillis) / speedup);
+                yield startNanos + offsetNanos;
+            }
+        };
+    }
+}
@@ -0,0 +1,12 @@
+package com.mugentwo.http_shadower.replay;
+
+import com.mugentwo.http_shadower.core.ShadowRequest;
+
+public record ReplayRecord(long timestampMillis, ShadowRequest request) {
+
+    public static final long NO_TIMESTAMP = -1;
+
+    public boolean hasTimestamp() {
+        return timestampMillis != NO_TIMESTAMP;
+    }
+}
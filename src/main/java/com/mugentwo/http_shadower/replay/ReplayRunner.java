@@ -0,0 +1,46 @@
+package com.mugentwo.http_shadower.replay;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.mugentwo.http_shadower.config.ShadowerConfiguration;
+import com.mugentwo.http_shadower.service.HttpForwardingService;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.ApplicationArguments;
+import org.springframework.boot.ApplicationRunner;
+import org.springframework.boot.SpringApplication;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.ApplicationContext;
+import org.springframework.stereotype.Component;
+
+import java.nio.file.Path;
+
+@Component
+@ConditionalOnProperty(prefix = "shadower.replay", name = "enabled", havingValue = "true")
+public class ReplayRunner implements ApplicationRunner {
+    private static final Logger logger = LoggerFactory.getLogger(ReplayRunner.class);
+
+    private final ShadowerConfiguration shadowerConfiguration;
+    private final TrafficReplayer trafficReplayer;
+    private final ApplicationContext applicationContext;
+
+    public ReplayRunner(ShadowerConfiguration shadowerConfiguration,
+                        HttpForwardingService forwardingService,
+                        ObjectMapper objectMapper,
+                        ApplicationContext applicationContext) {
+        this.shadowerConfiguration = shadowerConfiguration;
+        this.trafficReplayer = new TrafficReplayer(shadowerConfiguration, forwardingService, objectMapper);
+        this.applicationContext = applicationContext;
+    }
+
+    @Override
+    public void run(ApplicationArguments args) throws Exception {
+        for (String file : shadowerConfiguration.getReplay().getFiles()) {
+            trafficReplayer.replay(Path.of(file));
+        }
+
+        if (shadowerConfiguration.getReplay().isExitOnCompletion()) {
+            logger.info("Replay complete, shutting down");
+            SpringApplication.exit(applicationContext);
+        }
+    }
+}
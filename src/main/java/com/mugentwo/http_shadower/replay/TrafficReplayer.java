@@ -0,0 +1,82 @@
+package com.mugentwo.http_shadower.replay;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.mugentwo.http_shadower.config.ReplayProperties;
+import com.mugentwo.http_shadower.config.ShadowerConfiguration;
+import com.mugentwo.http_shadower.service.HttpForwardingService;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+
+public class TrafficReplayer {
+    private static final Logger logger = LoggerFactory.getLogger(TrafficReplayer.class);
+
+    private final ReplayProperties replayProperties;
+    private final HttpForwardingService forwardingService;
+    private final ReplayLineParser parser;
+
+    public TrafficReplayer(ShadowerConfiguration shadowerConfiguration, HttpForwardingService forwardingService, ObjectMapper objectMapper) {
+        this.replayProperties = shadowerConfiguration.getReplay();
+        this.forwardingService = forwardingService;
+        this.parser = ReplayLineParser.forFormat(replayProperties.getFormat(), objectMapper);
+    }
+
+    public ReplaySummary replay(Path file) throws IOException, InterruptedException {
+        ReplayPacer pacer = new ReplayPacer(replayProperties);
+        Semaphore inFlight = new Semaphore(replayProperties.getMaxInFlight());
+        long startNanos = System.nanoTime();
+        long lines = 0;
+        long replayed = 0;
+        long skipped = 0;
+
+        logger.info("Replaying {} with {} pacing", file, replayProperties.getPacing());
+
+        try (MappedLineReader reader = new MappedLineReader(file)) {
+            String line;
+            while ((line = reader.readLine()) != null) {
+                lines++;
+                if (line.isBlank()) {
+                    continue;
+                }
+
+                ReplayRecord record = parser.parse(line);
+                if (record == null) {
+                    skipped++;
+                    logger.debug("Skipping unparseable line {} of {}", lines, file);
+                    continue;
+                }
+
+                pacer.awaitTurn(record);
+                inFlight.acquire();
+                forwardingService.forwardShadowCopies(record.request())
+                        .whenComplete((result, e) -> inFlight.release());
+                replayed++;
+            }
+        }
+
+        if (!inFlight.tryAcquire(replayProperties.getMaxInFlight(), 1, TimeUnit.MINUTES)) {
+            logger.warn("Timed out waiting for in-flight replay requests of {}", file);
+        }
+
+        ReplaySummary summary = new ReplaySummary(file, lines, replayed, skipped, System.nanoTime() - startNanos);
+        logger.info("Finished replaying {}: {}", file, summary);
+        return summary;
+    }
+
+    public record ReplaySummary(Path file, long lines, long replayed, long skipped, long elapsedNanos) {
+
+        public double requestsPerSecond() {
+            return elapsedNanos == 0 ? 0 : replayed * (double) TimeUnit.SECONDS.toNanos(1) / elapsedNanos;
+        }
+
+        @Override
+        public String toString() {
+            return String.format("%d lines, %d replayed, %d skipped in %d ms (%.1f req/s)",
+                    lines, replayed, skipped, TimeUnit.NANOSECONDS.toMillis(elapsedNanos), requestsPerSecond());
+        }
+    }
+}
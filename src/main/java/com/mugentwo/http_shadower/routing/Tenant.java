@@ -0,0 +1,70 @@
+package com.mugentwo.http_shadower.routing;
+
+import com.mugentwo.http_shadower.config.DestinationProperties;
+
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Supplier;
+
+// One routed service. Configured tenants hold a fixed destination list; the default tenant reads the
+// top-level destinations from the configuration on every request, as the proxy did before tenants existed.
+public class Tenant {
+    public static final String DEFAULT = "default";
+
+    private final String name;
+    private final Supplier<List<DestinationProperties>> destinations;
+    private final Supplier<DestinationProperties> responseSource;
+    private final int maxInFlightShadows;
+    private final AtomicInteger inFlightShadows = new AtomicInteger();
+
+    public Tenant(String name, List<DestinationProperties> destinations, int maxInFlightShadows) {
+        this(name, () -> destinations,
+                () -> destinations.stream().filter(DestinationProperties::isResponseSource).findFirst().orElse(null),
+                maxInFlightShadows);
+    }
+
+    public Tenant(String name, Supplier<List<DestinationProperties>> destinations,
+                  Supplier<DestinationProperties> responseSource, int maxInFlightShadows) {
+        this.name = name;
+        this.destinations = destinations;
+        this.responseSource = responseSource;
+        this.maxInFlightShadows = maxInFlightShadows;
+    }
+
+    public boolean tryAcquireShadow() {
+        if (maxInFlightShadows <= 0) {
+            return true;
+        }
+        if (inFlightShadows.incrementAndGet() > maxInFlightShadows) {
+            inFlightShadows.decrementAndGet();
+            return false;
+        }
+        return true;
+    }
+
+    public void releaseShadow() {
+        if (maxInFlightShadows > 0) {
+            inFlightShadows.decrementAndGet();
+        }
+    }
+
+    public String getName() {
+        return name;
+    }
+
+    public List<DestinationProperties> getDestinations() {
+        return destinations.get();
+    }
+
+    public DestinationProperties getResponseSource() {
+        return responseSource.get();
+    }
+
+    public int getMaxInFlightShadows() {
+        return maxInFlightShadows;
+    }
+
+    public int getInFlightShadows() {
+        return inFlightShadows.get();
+    }
+}
@@ -0,0 +1,79 @@
+package com.mugentwo.http_shadower.routing;
+
+import com.mugentwo.http_shadower.config.ShadowerConfiguration;
+import com.mugentwo.http_shadower.config.TenantProperties;
+import org.springframework.stereotype.Component;
+
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+
+// Resolves a request to its tenant with at most one host lookup and one lookup per path segment.
+// An exact host wins over a path prefix, a longer prefix over a shorter one, and requests matching
+// no tenant go to the top-level destinations.
+@Component
+public class TenantRouter {
+    private final Map<String, Tenant> tenantsByHost = new HashMap<>();
+    private final Map<String, Tenant> tenantsByPathPrefix = new HashMap<>();
+    private final Tenant defaultTenant;
+
+    public TenantRouter(ShadowerConfiguration shadowerConfiguration) {
+        this.defaultTenant = new Tenant(Tenant.DEFAULT, shadowerConfiguration::getEnabledDestinations,
+                shadowerConfiguration::getResponseSourceDestination, 0);
+        List<TenantProperties> tenants = shadowerConfiguration.getTenants();
+        for (TenantProperties properties : tenants) {
+            Tenant tenant = new Tenant(properties.getName(), properties.getEnabledDestinations(), properties.getMaxInFlightShadows());
+            properties.getHosts().forEach(host -> tenantsByHost.put(host.toLowerCase(Locale.ROOT), tenant));
+            properties.getPathPrefixes().forEach(prefix -> tenantsByPathPrefix.put(ShadowerConfiguration.normalizePrefix(prefix), tenant));
+        }
+    }
+
+    public Tenant resolve(String host, String path) {
+        if (host != null && !tenantsByHost.isEmpty()) {
+            Tenant tenant = tenantsByHost.get(hostName(host));
+            if (tenant != null) {
+                return tenant;
+            }
+        }
+        if (path != null && !tenantsByPathPrefix.isEmpty()) {
+            Tenant tenant = resolvePath(path);
+            if (tenant != null) {
+                return tenant;
+            }
+        }
+        return defaultTenant;
+    }
+
+    // Cuts the path back at '/' boundaries, so /orders matches /orders/42 but not /orders-archive.
+    private Tenant resolvePath(String path) {
+        String candidate = path;
+        while (true) {
+            Tenant tenant = tenantsByPathPrefix.get(candidate);
+            if (tenant != null) {
+                return tenant;
+            }
+            int slash = candidate.lastIndexOf('/');
+            if (slash <= 0) {
+                return tenantsByPathPrefix.get("/");
+            }
+            candidate = candidate.substring(0, slash);
+        }
+    }
+
+    static String hostName(String host) {
+        int end = host.length();
+        if (host.startsWith("[")) {
+            int bracket = host.indexOf(']');
+            end = bracket < 0 ? end : bracket + 1;
+        } else {
+            int colon = host.lastIndexOf(':');
+            end = colon < 0 ? end : colon;
+        }
+        return host.substring(0, end).toLowerCase(Locale.ROOT);
+    }
+
+    public Tenant getDefaultTenant() {
+        return defaultTenant;
+    }
+}
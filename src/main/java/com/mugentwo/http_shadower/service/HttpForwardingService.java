@@ -1,174 +1,451 @@
 package com.mugentwo.http_shadower.service;
 
+import com.mugentwo.http_shadower.balance.DestinationEndpoint;
+import com.mugentwo.http_shadower.balance.DestinationPools;
+import com.mugentwo.http_shadower.batch.BatchDeliveryService;
 import com.mugentwo.http_shadower.config.DestinationProperties;
 import com.mugentwo.http_shadower.config.ShadowerConfiguration;
+import com.mugentwo.http_shadower.core.ShadowRequest;
+import com.mugentwo.http_shadower.deadline.DeadlineScopes;
+import com.mugentwo.http_shadower.deadline.FanOutScope;
+import com.mugentwo.http_shadower.deadline.ScopedCall;
+import com.mugentwo.http_shadower.limit.AdaptiveConcurrencyLimiter;
+import com.mugentwo.http_shadower.limit.DestinationLimiters;
+import com.mugentwo.http_shadower.limit.ShadowMemoryBudget;
+import com.mugentwo.http_shadower.mask.BodyMasker;
+import com.mugentwo.http_shadower.mask.BodyMaskers;
+import com.mugentwo.http_shadower.priority.ShadowPriorities;
+import com.mugentwo.http_shadower.profile.TrafficProfiler;
+import com.mugentwo.http_shadower.routing.Tenant;
+import com.mugentwo.http_shadower.routing.TenantRouter;
+import com.mugentwo.http_shadower.trace.PhaseTimer;
+import com.mugentwo.http_shadower.trace.RequestTracer;
+import com.mugentwo.http_shadower.trace.ShadowSpan;
+import com.mugentwo.http_shadower.trace.TraceContext;
+import com.mugentwo.http_shadower.transport.ShadowTransports;
+import jakarta.annotation.PreDestroy;
 import jakarta.servlet.http.HttpServletRequest;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.http.*;
 import org.springframework.stereotype.Service;
-import org.springframework.web.client.RestTemplate;
+import org.springframework.web.client.ResourceAccessException;
 import org.springframework.web.client.RestClientException;
+import org.springframework.web.client.RestClientResponseException;
 
-import java.io.BufferedReader;
 import java.io.IOException;
-import java.util.Collections;
-import java.util.Enumeration;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.time.Instant;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
 import java.util.concurrent.CompletableFuture;
 import java.util.concurrent.ExecutorService;
 import java.util.concurrent.Executors;
-import java.util.stream.Collectors;
 
 @Service
 public class HttpForwardingService {
     private static final Logger logger = LoggerFactory.getLogger(HttpForwardingService.class);
+
+    static final String BODY_OMITTED_HEADER = "X-Shadower-Body-Omitted";
     
     private final ShadowerConfiguration shadowerConfiguration;
-    private final RestTemplate restTemplate;
+    private final DestinationLimiters destinationLimiters;
+    private final ShadowMemoryBudget memoryBudget;
+    private final BatchDeliveryService batchDeliveryService;
+    private final ShadowTransports shadowTransports;
+    private final ShadowPriorities shadowPriorities;
+    private final RequestTracer requestTracer;
+    private final DeadlineScopes deadlineScopes;
+    private final DestinationPools destinationPools;
+    private final TrafficProfiler trafficProfiler;
+    private final BodyMaskers bodyMaskers;
+    private final TenantRouter tenantRouter;
     private final ExecutorService executorService;
 
-    public HttpForwardingService(ShadowerConfiguration shadowerConfiguration) {
+    public HttpForwardingService(ShadowerConfiguration shadowerConfiguration,
+                                 DestinationLimiters destinationLimiters,
+                                 ShadowMemoryBudget memoryBudget,
+                                 BatchDeliveryService batchDeliveryService,
+                                 ShadowTransports shadowTransports,
+                                 ShadowPriorities shadowPriorities,
+                                 RequestTracer requestTracer,
+                                 DeadlineScopes deadlineScopes,
+                                 DestinationPools destinationPools,
+                                 TrafficProfiler trafficProfiler,
+                                 BodyMaskers bodyMaskers,
+                                 TenantRouter tenantRouter) {
         this.shadowerConfiguration = shadowerConfiguration;
-        this.restTemplate = new RestTemplate();
+        this.destinationLimiters = destinationLimiters;
+        this.memoryBudget = memoryBudget;
+        this.batchDeliveryService = batchDeliveryService;
+        this.shadowTransports = shadowTransports;
+        this.shadowPriorities = shadowPriorities;
+        this.requestTracer = requestTracer;
+        this.deadlineScopes = deadlineScopes;
+        this.destinationPools = destinationPools;
+        this.trafficProfiler = trafficProfiler;
+        this.bodyMaskers = bodyMaskers;
+        this.tenantRouter = tenantRouter;
         this.executorService = Executors.newCachedThreadPool();
     }
 
-    public void forwardRequest(HttpServletRequest request, String requestBody) {
-        var enabledDestinations = shadowerConfiguration.getEnabledDestinations();
+    public void forwardRequest(HttpServletRequest request, byte[] requestBody) {
+        var shadowRequest = ShadowRequest.from(request, requestBody);
+        var tenant = tenantRouter.resolve(request.getHeader(HttpHeaders.HOST), shadowRequest.path());
+        var enabledDestinations = tenant.getDestinations();
+        var trace = requestTracer.begin(shadowRequest);
         
-        logger.info("Forwarding {} request to {} destinations: {}", 
-                request.getMethod(), 
+        logger.info("Forwarding {} request to {} destinations: {} [{}]", 
+                shadowRequest.method(), 
                 enabledDestinations.size(),
-                request.getRequestURI());
+                shadowRequest.path(),
+                trace.correlationId());
 
-        enabledDestinations.forEach(destination -> 
-            CompletableFuture.runAsync(() -> forwardToDestination(request, requestBody, destination))
-        );
+        var scope = deadlineScopes.open(shadowRequest.path());
+        var copies = bodyMaskers.copiesOf(shadowRequest);
+        enabledDestinations.forEach(destination -> dispatchShadow(copies, destination, tenant, trace, scope));
+        scope.seal();
     }
 
-    public ResponseEntity<String> forwardRequestAndGetResponse(HttpServletRequest request, String requestBody) {
-        var enabledDestinations = shadowerConfiguration.getEnabledDestinations();
-        var responseSource = shadowerConfiguration.getResponseSourceDestination();
+    public ResponseEntity<byte[]> forwardRequestAndGetResponse(HttpServletRequest request, byte[] requestBody) {
+        var shadowRequest = ShadowRequest.from(request, requestBody);
+        var tenant = tenantRouter.resolve(request.getHeader(HttpHeaders.HOST), shadowRequest.path());
+        var enabledDestinations = tenant.getDestinations();
+        if (enabledDestinations.isEmpty()) {
+            logger.warn("No tenant routes {} {}", request.getHeader(HttpHeaders.HOST), shadowRequest.path());
+            return ResponseEntity.status(HttpStatus.NOT_FOUND)
+                    .contentType(MediaType.TEXT_PLAIN)
+                    .body("Not found - no destinations are configured for this host or path".getBytes(StandardCharsets.UTF_8));
+        }
+        var responseSource = tenant.getResponseSource();
+        var trace = requestTracer.begin(shadowRequest);
         
-        logger.info("Forwarding {} request to {} destinations: {}", 
-                request.getMethod(), 
+        logger.info("Forwarding {} request to {} destinations: {} [{}]", 
+                shadowRequest.method(), 
                 enabledDestinations.size(),
-                request.getRequestURI());
+                shadowRequest.path(),
+                trace.correlationId());
 
-        ResponseEntity<String> primaryResponse = null;
+        ResponseEntity<byte[]> primaryResponse = null;
+        var scope = deadlineScopes.open(shadowRequest.path());
+        var copies = bodyMaskers.copiesOf(shadowRequest);
         
         for (DestinationProperties destination : enabledDestinations) {
             if (destination.isResponseSource()) {
-                primaryResponse = forwardToDestinationSync(request, requestBody, destination);
+                primaryResponse = scope.callInline(destination.getName(), () -> forwardToDestinationSync(shadowRequest, destination, trace, scope));
                 logger.info("Retrieved response from primary destination: {}", destination.getName());
             } else {
-                CompletableFuture.runAsync(() -> forwardToDestination(request, requestBody, destination), executorService);
+                dispatchShadow(copies, destination, tenant, trace, scope);
             }
         }
         
         if (primaryResponse == null && responseSource == null && !enabledDestinations.isEmpty()) {
             logger.warn("No response source configured, using first enabled destination");
-            primaryResponse = forwardToDestinationSync(request, requestBody, enabledDestinations.get(0));
+            var fallback = enabledDestinations.get(0);
+            primaryResponse = scope.callInline(fallback.getName(), () -> forwardToDestinationSync(shadowRequest, fallback, trace, scope));
+        }
+        scope.seal();
+        
+        if (primaryResponse == null && scope.getCancelled() == FanOutScope.Reason.DEADLINE) {
+            logger.error("Deadline of {} exceeded waiting for the response source [{}]", scope.getTimeout(), trace.correlationId());
+            return ResponseEntity.status(HttpStatus.GATEWAY_TIMEOUT)
+                    .contentType(MediaType.TEXT_PLAIN)
+                    .body("Gateway timeout - response source did not answer within the deadline".getBytes(StandardCharsets.UTF_8));
         }
         
         if (primaryResponse == null) {
-            logger.error("All destination requests failed");
+            logger.error("All destination requests failed [{}]", trace.correlationId());
             return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE)
-                    .body("Service temporarily unavailable - all destination apps unreachable");
+                    .contentType(MediaType.TEXT_PLAIN)
+                    .body("Service temporarily unavailable - all destination apps unreachable".getBytes(StandardCharsets.UTF_8));
         }
         
         return primaryResponse;
     }
 
-    private ResponseEntity<String> forwardToDestinationSync(HttpServletRequest request, String requestBody, DestinationProperties destination) {
+    // Cancelling the returned future abandons the request and cancels its outstanding shadow copies.
+    public CompletableFuture<Void> forwardShadowCopies(ShadowRequest shadowRequest) {
+        var tenant = tenantRouter.resolve(shadowRequest.firstHeader(HttpHeaders.HOST), shadowRequest.path());
+        var trace = requestTracer.begin(shadowRequest);
+        var scope = deadlineScopes.open(shadowRequest.path());
+        var copies = bodyMaskers.copiesOf(shadowRequest);
+        var shadowCopies = tenant.getDestinations().stream()
+                .filter(destination -> !destination.isResponseSource())
+                .map(destination -> dispatchShadow(copies, destination, tenant, trace, scope))
+                .toArray(CompletableFuture[]::new);
+        scope.seal();
+        CompletableFuture<Void> fanOut = CompletableFuture.allOf(shadowCopies);
+        fanOut.whenComplete((result, e) -> {
+            if (fanOut.isCancelled()) {
+                scope.cancel(FanOutScope.Reason.ABANDONED);
+            }
+        });
+        return fanOut;
+    }
+
+    // Masked bodies are shared by every destination with the same masking rules, and are computed on the
+    // first shadow thread that needs them rather than on the request thread.
+    private CompletableFuture<Void> dispatchShadow(BodyMaskers.Copies copies, DestinationProperties destination, Tenant tenant,
+                                                   TraceContext trace, FanOutScope scope) {
+        ShadowRequest shadowRequest = copies.original();
+        BodyMasker masker = bodyMaskers.maskerFor(destination);
+        if (destination.getBatch().isEnabled()) {
+            batchDeliveryService.enqueue(copies.forMasker(masker, this::headersOnly), destination);
+            return CompletableFuture.completedFuture(null);
+        }
+
+        if (!tenant.tryAcquireShadow()) {
+            logger.debug("Shedding shadow copy for {}: tenant {} has {} shadow copies in flight",
+                destination.getName(),
+                tenant.getName(),
+                tenant.getMaxInFlightShadows());
+            return CompletableFuture.completedFuture(null);
+        }
+
+        ShadowRequest shadowCopy = shadowRequest;
+        long reservedBytes = shadowRequest.bodyLength();
+        switch (memoryBudget.tryAcquire(reservedBytes)) {
+            case SHED -> {
+                logger.debug("Shedding shadow copy for {}: memory budget exhausted", destination.getName());
+                tenant.releaseShadow();
+                return CompletableFuture.completedFuture(null);
+            }
+            case HEADERS_ONLY -> {
+                shadowCopy = headersOnly(shadowRequest);
+                reservedBytes = 0;
+            }
+            case ADMITTED -> {
+            }
+        }
+
+        AdaptiveConcurrencyLimiter limiter = destinationLimiters.limiterFor(destination);
+        if (limiter != null && !limiter.tryAcquire()) {
+            memoryBudget.release(reservedBytes);
+            tenant.releaseShadow();
+            logger.debug("Shedding shadow copy for {}: {} in flight at limit {}", 
+                destination.getName(), 
+                limiter.getInFlight(), 
+                limiter.getLimit());
+            return CompletableFuture.completedFuture(null);
+        }
+
+        ShadowRequest admittedCopy = shadowCopy;
+        long admittedBytes = reservedBytes;
+        long queuedAt = System.nanoTime();
+        Runnable forward = () -> {
+            try {
+                ShadowRequest maskedCopy = admittedCopy.hasBody() ? copies.forMasker(masker, this::headersOnly) : admittedCopy;
+                forwardToDestination(maskedCopy, destination, limiter, trace, scope, queuedAt);
+            } finally {
+                memoryBudget.release(admittedBytes);
+                tenant.releaseShadow();
+            }
+        };
+        ScopedCall call = scope.fork(destination.getName(), forward, () -> {
+            memoryBudget.release(admittedBytes);
+            tenant.releaseShadow();
+            if (limiter != null) {
+                limiter.onIgnored();
+            }
+        });
+        if (shadowPriorities.isEnabled()) {
+            return shadowPriorities.submit(shadowRequest, call, () -> {
+                logger.debug("Shedding shadow copy for {}: displaced by higher priority traffic", destination.getName());
+                call.skip();
+            });
+        }
+        return CompletableFuture.runAsync(call, executorService);
+    }
+
+    private ShadowRequest headersOnly(ShadowRequest shadowRequest) {
+        Map<String, List<String>> headers = new LinkedHashMap<>();
+        shadowRequest.headers().forEach((name, values) -> {
+            if (!HttpHeaders.CONTENT_LENGTH.equalsIgnoreCase(name) && !HttpHeaders.CONTENT_ENCODING.equalsIgnoreCase(name)) {
+                headers.put(name, values);
+            }
+        });
+        headers.put(BODY_OMITTED_HEADER, List.of(Integer.toString(shadowRequest.bodyLength())));
+        return new ShadowRequest(shadowRequest.method(), shadowRequest.path(), shadowRequest.query(), headers, null);
+    }
+
+    private ResponseEntity<byte[]> forwardToDestinationSync(ShadowRequest shadowRequest, DestinationProperties destination, TraceContext trace,
+                                                            FanOutScope scope) {
+        long start = System.nanoTime();
+        PhaseTimer timer = PhaseTimer.start(start);
+        long startEpochMicros = epochMicros();
+        String spanId = trace.newSpanId();
+        int status = 0;
+        String error = null;
+        long bytes = shadowRequest.bodyLength();
+        DestinationEndpoint endpoint = destinationPools.select(destination, shadowRequest::firstHeader);
         try {
-            String targetUrl = buildTargetUrl(destination.getUrl(), request);
-            HttpHeaders headers = extractHeaders(request);
-            HttpMethod method = HttpMethod.valueOf(request.getMethod());
+            String targetUrl = shadowRequest.targetUrl(endpoint.getUrl());
+            HttpHeaders headers = toHttpHeaders(shadowRequest);
+            requestTracer.inject(trace, spanId, headers);
+            HttpMethod method = HttpMethod.valueOf(shadowRequest.method());
             
-            HttpEntity<String> entity = new HttpEntity<>(requestBody, headers);
+            HttpEntity<byte[]> entity = new HttpEntity<>(shadowRequest.body(), headers);
             
             logger.debug("Forwarding synchronously to {}: {} {}", destination.getName(), method, targetUrl);
             
-            ResponseEntity<String> response = restTemplate.exchange(
+            ResponseEntity<byte[]> response = shadowTransports.forUrl(targetUrl).exchange(
                 targetUrl, 
                 method, 
-                entity, 
-                String.class
+                entity
             );
             
-            logger.debug("Response from {}: {} - {}", 
+            status = response.getStatusCode().value();
+            bytes += bodyLength(response.getBody());
+            logger.debug("Response from {}: {} - {} bytes", 
                 destination.getName(), 
                 response.getStatusCode(), 
-                response.getBody());
+                bodyLength(response.getBody()));
             
             return response;
                 
         } catch (RestClientException e) {
-            logger.error("Failed to forward request synchronously to {}: {}", destination.getName(), e.getMessage());
+            logger.error("Failed to forward request synchronously to {} [{}]: {}", destination.getName(), trace.correlationId(), e.getMessage());
+            status = statusOf(e);
+            error = e.getMessage();
             return null;
+        } finally {
+            releaseEndpoint(endpoint, status, scope);
+            trafficProfiler.record(shadowRequest.method(), shadowRequest.path(), bytes, System.nanoTime() - start);
+            requestTracer.finish(trace, spanId, ShadowSpan.Kind.PRIMARY, destination.getName(), shadowRequest,
+                    status, error, startEpochMicros, timer.finish());
         }
     }
 
-    private void forwardToDestination(HttpServletRequest request, String requestBody, DestinationProperties destination) {
+    private void forwardToDestination(ShadowRequest shadowRequest, DestinationProperties destination, AdaptiveConcurrencyLimiter limiter,
+                                      TraceContext trace, FanOutScope scope, long queuedAt) {
+        PhaseTimer timer = PhaseTimer.start(queuedAt);
+        long startEpochMicros = epochMicros();
+        String spanId = trace.newSpanId();
+        long start = System.nanoTime();
+        boolean sampled = false;
+        int status = 0;
+        String error = null;
+        long bytes = 0;
+        DestinationEndpoint endpoint = destinationPools.select(destination, shadowRequest::firstHeader);
         try {
-            String targetUrl = buildTargetUrl(destination.getUrl(), request);
-            HttpHeaders headers = extractHeaders(request);
-            HttpMethod method = HttpMethod.valueOf(request.getMethod());
+            String targetUrl = shadowRequest.targetUrl(endpoint.getUrl());
+            HttpHeaders headers = toHttpHeaders(shadowRequest);
+            requestTracer.inject(trace, spanId, headers);
+            HttpMethod method = HttpMethod.valueOf(shadowRequest.method());
+            byte[] requestBody = shadowRequest.body();
+            
+            byte[] shadowBody = requestBody;
+            if (ShadowBodyCompressor.shouldCompress(destination.getCompression(), headers, requestBody)) {
+                shadowBody = ShadowBodyCompressor.compress(requestBody, headers);
+                logger.debug("Compressed shadow body for {}: {} -> {} bytes", 
+                    destination.getName(), 
+                    requestBody.length, 
+                    shadowBody.length);
+            }
             
-            HttpEntity<String> entity = new HttpEntity<>(requestBody, headers);
+            bytes = bodyLength(shadowBody);
+            HttpEntity<byte[]> entity = new HttpEntity<>(shadowBody, headers);
             
             logger.debug("Forwarding to {}: {} {}", destination.getName(), method, targetUrl);
             
-            ResponseEntity<String> response = restTemplate.exchange(
+            HttpStatusCode statusCode = shadowTransports.forUrl(targetUrl).send(
                 targetUrl, 
                 method, 
-                entity, 
-                String.class
+                entity
             );
             
-            logger.debug("Response from {}: {} - {}", 
-                destination.getName(), 
-                response.getStatusCode(), 
-                response.getBody());
+            logger.debug("Response from {}: {}", destination.getName(), statusCode);
+            status = statusCode.value();
+            sampled = recordSuccess(limiter, start);
                 
+        } catch (ResourceAccessException e) {
+            error = e.getMessage();
+            if (scope.getCancelled() != null) {
+                // Interrupted by the deadline or an abandoned request: not a sign of overload.
+                logger.debug("Shadow call to {} cancelled ({}) [{}]", destination.getName(), scope.getCancelled(), trace.correlationId());
+            } else {
+                logger.error("Failed to forward request to {} [{}]: {}", destination.getName(), trace.correlationId(), e.getMessage());
+                if (limiter != null) {
+                    limiter.onDropped();
+                    sampled = true;
+                }
+            }
         } catch (RestClientException e) {
-            logger.error("Failed to forward request to {}: {}", destination.getName(), e.getMessage());
+            // The destination answered (typically with an error status), so the round trip still measures its latency.
+            logger.error("Failed to forward request to {} [{}]: {}", destination.getName(), trace.correlationId(), e.getMessage());
+            status = statusOf(e);
+            error = e.getMessage();
+            sampled = recordSuccess(limiter, start);
+        } finally {
+            if (limiter != null && !sampled) {
+                limiter.onIgnored();
+            }
+            releaseEndpoint(endpoint, status, scope);
+            trafficProfiler.record(shadowRequest.method(), shadowRequest.path(), bytes, System.nanoTime() - start);
+            requestTracer.finish(trace, spanId, ShadowSpan.Kind.SHADOW, destination.getName(), shadowRequest,
+                    status, error, startEpochMicros, timer.finish());
         }
     }
 
-    private String buildTargetUrl(String baseUrl, HttpServletRequest request) {
-        StringBuilder targetUrl = new StringBuilder(baseUrl);
-        targetUrl.append(request.getRequestURI());
-        
-        if (request.getQueryString() != null) {
-            targetUrl.append("?").append(request.getQueryString());
+    // No response at all, or a 5xx, counts against the endpoint's health, unless we cut the call short.
+    private static void releaseEndpoint(DestinationEndpoint endpoint, int status, FanOutScope scope) {
+        if (status == 0 && scope.getCancelled() != null) {
+            endpoint.releaseIgnored();
+        } else {
+            endpoint.release(isHealthyStatus(status));
         }
-        
-        return targetUrl.toString();
     }
 
-    private HttpHeaders extractHeaders(HttpServletRequest request) {
+    private static boolean isHealthyStatus(int status) {
+        return status != 0 && status < 500;
+    }
+
+    private static int statusOf(RestClientException e) {
+        return e instanceof RestClientResponseException responseException ? responseException.getStatusCode().value() : 0;
+    }
+
+    private static long epochMicros() {
+        Instant now = Instant.now();
+        return now.getEpochSecond() * 1_000_000 + now.getNano() / 1_000;
+    }
+
+    private boolean recordSuccess(AdaptiveConcurrencyLimiter limiter, long start) {
+        if (limiter == null) {
+            return false;
+        }
+        limiter.onSuccess(System.nanoTime() - start);
+        return true;
+    }
+
+    // Replayed requests carry their recorded Host for tenant routing; the transport sets the destination's own.
+    private HttpHeaders toHttpHeaders(ShadowRequest shadowRequest) {
         HttpHeaders headers = new HttpHeaders();
-        
-        Enumeration<String> headerNames = request.getHeaderNames();
-        while (headerNames.hasMoreElements()) {
-            String headerName = headerNames.nextElement();
-            if (!"host".equalsIgnoreCase(headerName)) {
-                headers.put(headerName, Collections.list(request.getHeaders(headerName)));
+        shadowRequest.headers().forEach((name, values) -> {
+            if (!HttpHeaders.HOST.equalsIgnoreCase(name)) {
+                headers.addAll(name, values);
             }
-        }
-        
+        });
         return headers;
     }
 
-    public String extractRequestBody(HttpServletRequest request) throws IOException {
-        try (BufferedReader reader = request.getReader()) {
-            return reader.lines().collect(Collectors.joining("\n"));
+    public byte[] extractRequestBody(HttpServletRequest request) throws IOException {
+        try (InputStream inputStream = request.getInputStream()) {
+            return inputStream.readAllBytes();
         }
     }
 
+    private int bodyLength(byte[] body) {
+        return body == null ? 0 : body.length;
+    }
+
     public int getEnabledDestinationsCount() {
         return shadowerConfiguration.getEnabledDestinations().size();
     }
+
+    @PreDestroy
+    public void shutdown() {
+        executorService.shutdown();
+    }
 }
\ No newline at end of file
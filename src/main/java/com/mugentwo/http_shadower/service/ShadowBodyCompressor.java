@@ -0,0 +1,48 @@
+package com.mugentwo.http_shadower.service;
+
+import com.mugentwo.http_shadower.config.CompressionProperties;
+import org.springframework.http.HttpHeaders;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.util.zip.GZIPOutputStream;
+
+public final class ShadowBodyCompressor {
+    public static final String GZIP = "gzip";
+
+    private ShadowBodyCompressor() {}
+
+    public static boolean isEncoded(HttpHeaders headers) {
+        return isEncoded(headers.getFirst(HttpHeaders.CONTENT_ENCODING));
+    }
+
+    public static boolean isEncoded(String contentEncoding) {
+        return contentEncoding != null && !contentEncoding.isBlank() && !"identity".equalsIgnoreCase(contentEncoding.trim());
+    }
+
+    public static boolean shouldCompress(CompressionProperties compression, HttpHeaders headers, byte[] body) {
+        return compression != null
+                && compression.isEnabled()
+                && body != null
+                && body.length >= compression.getMinSize()
+                && !isEncoded(headers);
+    }
+
+    public static byte[] compress(byte[] body, HttpHeaders headers) {
+        byte[] compressed = gzip(body);
+        headers.set(HttpHeaders.CONTENT_ENCODING, GZIP);
+        headers.setContentLength(compressed.length);
+        return compressed;
+    }
+
+    public static byte[] gzip(byte[] body) {
+        ByteArrayOutputStream buffer = new ByteArrayOutputStream(Math.max(64, body.length / 2));
+        try (GZIPOutputStream gzip = new GZIPOutputStream(buffer)) {
+            gzip.write(body);
+        } catch (IOException e) {
+            throw new UncheckedIOException("Failed to gzip shadow request body", e);
+        }
+        return buffer.toByteArray();
+    }
+}
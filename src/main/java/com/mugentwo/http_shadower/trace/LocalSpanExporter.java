@@ -0,0 +1,51 @@
+package com.mugentwo.http_shadower.trace;
+
+import com.mugentwo.http_shadower.config.ShadowerConfiguration;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.List;
+
+// Keeps the most recent spans in memory so they can be read from the shadowspans endpoint.
+@Component
+public class LocalSpanExporter implements SpanExporter {
+    private final int capacity;
+    private final ArrayDeque<ShadowSpan> spans;
+
+    @Autowired
+    public LocalSpanExporter(ShadowerConfiguration shadowerConfiguration) {
+        this(shadowerConfiguration.getTracing().getExportBufferSize());
+    }
+
+    public LocalSpanExporter(int capacity) {
+        this.capacity = capacity;
+        this.spans = new ArrayDeque<>(Math.min(capacity, 1024));
+    }
+
+    @Override
+    public void export(ShadowSpan span) {
+        if (capacity == 0) {
+            return;
+        }
+        synchronized (spans) {
+            if (spans.size() == capacity) {
+                spans.pollFirst();
+            }
+            spans.addLast(span);
+        }
+    }
+
+    public List<ShadowSpan> getSpans() {
+        synchronized (spans) {
+            return new ArrayList<>(spans);
+        }
+    }
+
+    public List<ShadowSpan> getSpans(String traceOrCorrelationId) {
+        return getSpans().stream()
+                .filter(span -> span.traceId().equals(traceOrCorrelationId) || span.correlationId().equals(traceOrCorrelationId))
+                .toList();
+    }
+}
@@ -0,0 +1,58 @@
+package com.mugentwo.http_shadower.trace;
+
+// Collects phase marks for the destination call running on the current thread. Transports report
+// the phases they can observe through the static mark methods without changing their signatures.
+public final class PhaseTimer {
+    private static final ThreadLocal<PhaseTimer> CURRENT = new ThreadLocal<>();
+
+    private final long queuedAt;
+    private final long startedAt;
+    private long connectNanos = -1;
+    private long firstByteAt = -1;
+    private long bodyCompleteAt = -1;
+
+    private PhaseTimer(long queuedAt, long startedAt) {
+        this.queuedAt = queuedAt;
+        this.startedAt = startedAt;
+    }
+
+    public static PhaseTimer start(long queuedAtNanos) {
+        PhaseTimer timer = new PhaseTimer(queuedAtNanos, System.nanoTime());
+        CURRENT.set(timer);
+        return timer;
+    }
+
+    public static void markConnected(long connectNanos) {
+        PhaseTimer timer = CURRENT.get();
+        if (timer != null) {
+            timer.connectNanos = connectNanos;
+        }
+    }
+
+    public static void markFirstByte() {
+        PhaseTimer timer = CURRENT.get();
+        if (timer != null && timer.firstByteAt < 0) {
+            timer.firstByteAt = System.nanoTime();
+        }
+    }
+
+    public static void markBodyComplete() {
+        PhaseTimer timer = CURRENT.get();
+        if (timer != null && timer.firstByteAt >= 0 && timer.bodyCompleteAt < 0) {
+            timer.bodyCompleteAt = System.nanoTime();
+        }
+    }
+
+    public PhaseTimings finish() {
+        long finishedAt = System.nanoTime();
+        if (CURRENT.get() == this) {
+            CURRENT.remove();
+        }
+        return new PhaseTimings(
+                startedAt - queuedAt,
+                connectNanos,
+                firstByteAt < 0 ? -1 : firstByteAt - startedAt,
+                bodyCompleteAt < 0 ? -1 : bodyCompleteAt - firstByteAt,
+                finishedAt - queuedAt);
+    }
+}
@@ -0,0 +1,16 @@
+package com.mugentwo.http_shadower.trace;
+
+// Durations in nanoseconds; -1 when the transport does not report that phase. For HTTP destinations
+// the JDK client gives no connect callback, so connection setup is part of timeToFirstByte.
+public record PhaseTimings(long queueNanos, long connectNanos, long timeToFirstByteNanos, long bodyNanos, long totalNanos) {
+
+    public static double millis(long nanos) {
+        return nanos < 0 ? -1 : nanos / 1_000_000.0;
+    }
+
+    @Override
+    public String toString() {
+        return String.format("total=%.1fms queue=%.1fms connect=%.1fms ttfb=%.1fms body=%.1fms",
+                millis(totalNanos), millis(queueNanos), millis(connectNanos), millis(timeToFirstByteNanos), millis(bodyNanos));
+    }
+}
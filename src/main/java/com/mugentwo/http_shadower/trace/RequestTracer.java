@@ -0,0 +1,77 @@
+package com.mugentwo.http_shadower.trace;
+
+import com.mugentwo.http_shadower.config.ShadowerConfiguration;
+import com.mugentwo.http_shadower.config.TracingProperties;
+import com.mugentwo.http_shadower.core.ShadowRequest;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.HttpHeaders;
+import org.springframework.stereotype.Component;
+
+import java.util.List;
+
+@Component
+public class RequestTracer {
+    private static final Logger logger = LoggerFactory.getLogger(RequestTracer.class);
+
+    private final TracingProperties tracing;
+    private final List<SpanExporter> spanExporters;
+
+    @Autowired
+    public RequestTracer(ShadowerConfiguration shadowerConfiguration, List<SpanExporter> spanExporters) {
+        this(shadowerConfiguration.getTracing(), spanExporters);
+    }
+
+    public RequestTracer(TracingProperties tracing, List<SpanExporter> spanExporters) {
+        this.tracing = tracing;
+        this.spanExporters = spanExporters;
+    }
+
+    public TraceContext begin(ShadowRequest shadowRequest) {
+        return TraceContext.from(shadowRequest, tracing.getCorrelationHeader());
+    }
+
+    public void inject(TraceContext trace, String spanId, HttpHeaders headers) {
+        if (!tracing.isEnabled()) {
+            return;
+        }
+        headers.set(tracing.getCorrelationHeader(), trace.correlationId());
+        headers.set(TraceContext.TRACEPARENT_HEADER, trace.traceparent(spanId));
+    }
+
+    public void finish(TraceContext trace, String spanId, ShadowSpan.Kind kind, String destination,
+                       ShadowRequest shadowRequest, int status, String error, long startEpochMicros, PhaseTimings timings) {
+        if (!tracing.isEnabled()) {
+            return;
+        }
+
+        if (timings.totalNanos() >= tracing.getSlowThreshold().toNanos()) {
+            logger.warn("Slow {} {} {} to {} [{}]: status={} {}",
+                    kind == ShadowSpan.Kind.PRIMARY ? "primary" : "shadow",
+                    shadowRequest.method(),
+                    shadowRequest.path(),
+                    destination,
+                    trace.correlationId(),
+                    error != null ? error : status,
+                    timings);
+        }
+
+        if (!trace.sampled()) {
+            return;
+        }
+        ShadowSpan span = new ShadowSpan(trace.traceId(), spanId, trace.parentSpanId(), trace.correlationId(), kind,
+                destination, shadowRequest.method(), shadowRequest.path(), status, error, startEpochMicros, timings);
+        for (SpanExporter spanExporter : spanExporters) {
+            try {
+                spanExporter.export(span);
+            } catch (RuntimeException e) {
+                logger.debug("Span exporter {} failed: {}", spanExporter.getClass().getSimpleName(), e.getMessage());
+            }
+        }
+    }
+
+    public boolean isEnabled() {
+        return tracing.isEnabled();
+    }
+}
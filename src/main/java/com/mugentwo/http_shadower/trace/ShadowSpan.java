@@ -0,0 +1,24 @@
+package com.mugentwo.http_shadower.trace;
+
+public record ShadowSpan(String traceId,
+                         String spanId,
+                         String parentSpanId,
+                         String correlationId,
+                         Kind kind,
+                         String destination,
+                         String method,
+                         String path,
+                         int status,
+                         String error,
+                         long startEpochMicros,
+                         PhaseTimings timings) {
+
+    public enum Kind {
+        PRIMARY,
+        SHADOW
+    }
+
+    public String name() {
+        return method + " " + destination;
+    }
+}
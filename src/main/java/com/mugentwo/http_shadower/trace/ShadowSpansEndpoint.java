@@ -0,0 +1,28 @@
+package com.mugentwo.http_shadower.trace;
+
+import org.springframework.boot.actuate.endpoint.annotation.Endpoint;
+import org.springframework.boot.actuate.endpoint.annotation.ReadOperation;
+import org.springframework.boot.actuate.endpoint.annotation.Selector;
+import org.springframework.stereotype.Component;
+
+import java.util.List;
+
+@Component
+@Endpoint(id = "shadowspans")
+public class ShadowSpansEndpoint {
+    private final LocalSpanExporter spanExporter;
+
+    public ShadowSpansEndpoint(LocalSpanExporter spanExporter) {
+        this.spanExporter = spanExporter;
+    }
+
+    @ReadOperation
+    public List<ShadowSpan> spans() {
+        return spanExporter.getSpans();
+    }
+
+    @ReadOperation
+    public List<ShadowSpan> spans(@Selector String id) {
+        return spanExporter.getSpans(id);
+    }
+}
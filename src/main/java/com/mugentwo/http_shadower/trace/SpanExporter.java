@@ -0,0 +1,7 @@
+package com.mugentwo.http_shadower.trace;
+
+// Called on the destination call's thread once it completes; implementations must not block.
+public interface SpanExporter {
+
+    void export(ShadowSpan span);
+}
@@ -0,0 +1,69 @@
+package com.mugentwo.http_shadower.trace;
+
+import com.mugentwo.http_shadower.core.ShadowRequest;
+
+import java.util.HexFormat;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+// One per incoming request. Every destination call becomes a child span of the caller's W3C
+// traceparent when one was sent, or of a new trace otherwise.
+public record TraceContext(String traceId, String parentSpanId, String correlationId, boolean sampled) {
+    public static final String TRACEPARENT_HEADER = "traceparent";
+
+    private static final Pattern TRACEPARENT = Pattern.compile("00-([0-9a-f]{32})-([0-9a-f]{16})-([0-9a-f]{2})");
+    private static final String INVALID_TRACE_ID = "0".repeat(32);
+    private static final String INVALID_SPAN_ID = "0".repeat(16);
+    private static final int MAX_CORRELATION_ID_LENGTH = 128;
+
+    public static TraceContext from(ShadowRequest request, String correlationHeader) {
+        String traceId = null;
+        String parentSpanId = null;
+        boolean sampled = true;
+
+        String traceparent = request.firstHeader(TRACEPARENT_HEADER);
+        if (traceparent != null) {
+            Matcher matcher = TRACEPARENT.matcher(traceparent.trim());
+            if (matcher.matches() && !INVALID_TRACE_ID.equals(matcher.group(1)) && !INVALID_SPAN_ID.equals(matcher.group(2))) {
+                traceId = matcher.group(1);
+                parentSpanId = matcher.group(2);
+                sampled = (Integer.parseInt(matcher.group(3), 16) & 1) == 1;
+            }
+        }
+        if (traceId == null) {
+            traceId = randomHex(16);
+        }
+
+        String correlationId = request.firstHeader(correlationHeader);
+        if (correlationId == null || correlationId.isBlank() || correlationId.length() > MAX_CORRELATION_ID_LENGTH) {
+            correlationId = traceId;
+        }
+        return new TraceContext(traceId, parentSpanId, correlationId.trim(), sampled);
+    }
+
+    public String newSpanId() {
+        return randomHex(8);
+    }
+
+    public String traceparent(String spanId) {
+        return "00-" + traceId + "-" + spanId + (sampled ? "-01" : "-00");
+    }
+
+    private static String randomHex(int bytes) {
+        byte[] random = new byte[bytes];
+        do {
+            ThreadLocalRandom.current().nextBytes(random);
+        } while (isZero(random));
+        return HexFormat.of().formatHex(random);
+    }
+
+    private static boolean isZero(byte[] bytes) {
+        for (byte b : bytes) {
+            if (b != 0) {
+                return false;
+            }
+        }
+        return true;
+    }
+}
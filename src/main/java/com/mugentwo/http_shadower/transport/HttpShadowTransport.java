@@ -0,0 +1,77 @@
+package com.mugentwo.http_shadower.transport;
+
+import com.mugentwo.http_shadower.config.OutboundProperties;
+import com.mugentwo.http_shadower.config.ShadowerConfiguration;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.HttpEntity;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.HttpStatusCode;
+import org.springframework.http.ResponseEntity;
+import org.springframework.http.client.JdkClientHttpRequestFactory;
+import org.springframework.stereotype.Component;
+import org.springframework.web.client.RestTemplate;
+
+import java.net.http.HttpClient;
+import java.util.List;
+import java.util.Locale;
+
+@Component
+public class HttpShadowTransport implements ShadowTransport {
+    private final RestTemplate restTemplate;
+
+    @Autowired
+    public HttpShadowTransport(ShadowerConfiguration shadowerConfiguration) {
+        this(restTemplate(shadowerConfiguration.getOutbound()));
+    }
+
+    public HttpShadowTransport(RestTemplate restTemplate) {
+        this.restTemplate = restTemplate;
+    }
+
+    private static RestTemplate restTemplate(OutboundProperties outbound) {
+        RestTemplate restTemplate = new RestTemplate(new JdkClientHttpRequestFactory(httpClient(outbound)));
+        restTemplate.getInterceptors().add(new PhaseTimingInterceptor());
+        return restTemplate;
+    }
+
+    // With HTTP/2 the JDK client negotiates h2 via ALPN on https and an h2c upgrade on http, falling back
+    // to HTTP/1.1 per destination. Concurrent copies to an h2 destination are multiplexed on one connection.
+    static HttpClient httpClient(OutboundProperties outbound) {
+        return HttpClient.newBuilder()
+                .version(outbound.isHttp2() ? HttpClient.Version.HTTP_2 : HttpClient.Version.HTTP_1_1)
+                .connectTimeout(outbound.getConnectTimeout())
+                .build();
+    }
+
+    @Override
+    public List<String> schemes() {
+        return List.of("http", "https");
+    }
+
+    @Override
+    public ResponseEntity<byte[]> exchange(String url, HttpMethod method, HttpEntity<byte[]> entity) {
+        return restTemplate.exchange(url, method, withoutHopByHopHeaders(entity), byte[].class);
+    }
+
+    // With a Void response type RestTemplate never reads the body; closing the response drains it
+    // so the connection can be reused.
+    @Override
+    public HttpStatusCode send(String url, HttpMethod method, HttpEntity<byte[]> entity) {
+        return restTemplate.exchange(url, method, withoutHopByHopHeaders(entity), Void.class).getStatusCode();
+    }
+
+    private static HttpEntity<byte[]> withoutHopByHopHeaders(HttpEntity<byte[]> entity) {
+        HttpHeaders headers = entity.getHeaders();
+        if (headers.keySet().stream().noneMatch(name -> HOP_BY_HOP_HEADERS.contains(name.toLowerCase(Locale.ROOT)))) {
+            return entity;
+        }
+        HttpHeaders filtered = new HttpHeaders();
+        headers.forEach((name, values) -> {
+            if (!HOP_BY_HOP_HEADERS.contains(name.toLowerCase(Locale.ROOT))) {
+                filtered.addAll(name, values);
+            }
+        });
+        return new HttpEntity<>(entity.getBody(), filtered);
+    }
+}
@@ -0,0 +1,53 @@
+package com.mugentwo.http_shadower.transport;
+
+import org.springframework.http.HttpEntity;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.ResponseEntity;
+import org.springframework.stereotype.Component;
+import org.springframework.web.client.ResourceAccessException;
+
+import java.net.URI;
+import java.util.List;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+
+@Component
+public class InMemoryShadowTransport implements ShadowTransport {
+    public static final String SCHEME = "mem";
+    public static final String DISCARD = "discard";
+
+    @FunctionalInterface
+    public interface Endpoint {
+        ResponseEntity<byte[]> handle(HttpMethod method, URI uri, HttpHeaders headers, byte[] body);
+    }
+
+    private final ConcurrentMap<String, Endpoint> endpoints = new ConcurrentHashMap<>();
+
+    public InMemoryShadowTransport() {
+        register(DISCARD, (method, uri, headers, body) -> ResponseEntity.noContent().build());
+    }
+
+    public void register(String name, Endpoint endpoint) {
+        endpoints.put(name, endpoint);
+    }
+
+    public void unregister(String name) {
+        endpoints.remove(name);
+    }
+
+    @Override
+    public List<String> schemes() {
+        return List.of(SCHEME);
+    }
+
+    @Override
+    public ResponseEntity<byte[]> exchange(String url, HttpMethod method, HttpEntity<byte[]> entity) {
+        URI uri = URI.create(url);
+        Endpoint endpoint = endpoints.get(uri.getRawAuthority());
+        if (endpoint == null) {
+            throw new ResourceAccessException("No in-memory endpoint registered for \"" + url + "\"");
+        }
+        return ShadowTransport.checkStatus(endpoint.handle(method, uri, entity.getHeaders(), entity.getBody()));
+    }
+}
@@ -0,0 +1,61 @@
+package com.mugentwo.http_shadower.transport;
+
+import com.mugentwo.http_shadower.trace.PhaseTimer;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpRequest;
+import org.springframework.http.HttpStatusCode;
+import org.springframework.http.client.ClientHttpRequestExecution;
+import org.springframework.http.client.ClientHttpRequestInterceptor;
+import org.springframework.http.client.ClientHttpResponse;
+
+import java.io.IOException;
+import java.io.InputStream;
+
+// The response is handed back once its headers arrive, which marks the first byte; RestTemplate
+// closes it after reading or draining the body, which marks the end of the body.
+class PhaseTimingInterceptor implements ClientHttpRequestInterceptor {
+
+    @Override
+    public ClientHttpResponse intercept(HttpRequest request, byte[] body, ClientHttpRequestExecution execution) throws IOException {
+        ClientHttpResponse response = execution.execute(request, body);
+        PhaseTimer.markFirstByte();
+        return new TimedResponse(response);
+    }
+
+    private static final class TimedResponse implements ClientHttpResponse {
+        private final ClientHttpResponse delegate;
+
+        TimedResponse(ClientHttpResponse delegate) {
+            this.delegate = delegate;
+        }
+
+        @Override
+        public HttpStatusCode getStatusCode() throws IOException {
+            return delegate.getStatusCode();
+        }
+
+        @Override
+        public String getStatusText() throws IOException {
+            return delegate.getStatusText();
+        }
+
+        @Override
+        public HttpHeaders getHeaders() {
+            return delegate.getHeaders();
+        }
+
+        @Override
+        public InputStream getBody() throws IOException {
+            return delegate.getBody();
+        }
+
+        @Override
+        public void close() {
+            try {
+                delegate.close();
+            } finally {
+                PhaseTimer.markBodyComplete();
+            }
+        }
+    }
+}
@@ -0,0 +1,39 @@
+package com.mugentwo.http_shadower.transport;
+
+import org.springframework.http.HttpEntity;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.HttpStatusCode;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.client.HttpClientErrorException;
+import org.springframework.web.client.HttpServerErrorException;
+
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import java.util.Set;
+
+public interface ShadowTransport {
+
+    // Connection-specific headers describe the client's hop to the shadower and are invalid on HTTP/2.
+    Set<String> HOP_BY_HOP_HEADERS = Set.of("connection", "keep-alive", "proxy-connection", "transfer-encoding", "te", "upgrade");
+
+    List<String> schemes();
+
+    // Implementations report failures the way RestTemplate does: ResourceAccessException for I/O errors
+    // and HttpStatusCodeException for 4xx/5xx responses, so callers handle every transport alike.
+    ResponseEntity<byte[]> exchange(String url, HttpMethod method, HttpEntity<byte[]> entity);
+
+    // Shadow responses are never used, so transports should drain them without buffering the body.
+    default HttpStatusCode send(String url, HttpMethod method, HttpEntity<byte[]> entity) {
+        return exchange(url, method, entity).getStatusCode();
+    }
+
+    static ResponseEntity<byte[]> checkStatus(ResponseEntity<byte[]> response) {
+        if (response.getStatusCode().is4xxClientError()) {
+            throw HttpClientErrorException.create(response.getStatusCode(), "", response.getHeaders(), response.getBody(), StandardCharsets.UTF_8);
+        }
+        if (response.getStatusCode().is5xxServerError()) {
+            throw HttpServerErrorException.create(response.getStatusCode(), "", response.getHeaders(), response.getBody(), StandardCharsets.UTF_8);
+        }
+        return response;
+    }
+}
@@ -0,0 +1,57 @@
+package com.mugentwo.http_shadower.transport;
+
+import com.mugentwo.http_shadower.config.DestinationProperties;
+import com.mugentwo.http_shadower.config.ShadowerConfiguration;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Component;
+
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+
+@Component
+public class ShadowTransports {
+    private final Map<String, ShadowTransport> transportsByScheme = new HashMap<>();
+
+    public ShadowTransports(List<ShadowTransport> transports) {
+        for (ShadowTransport transport : transports) {
+            for (String scheme : transport.schemes()) {
+                ShadowTransport existing = transportsByScheme.putIfAbsent(scheme.toLowerCase(Locale.ROOT), transport);
+                if (existing != null) {
+                    throw new IllegalStateException("Scheme " + scheme + " is claimed by both "
+                            + existing.getClass().getSimpleName() + " and " + transport.getClass().getSimpleName());
+                }
+            }
+        }
+    }
+
+    @Autowired
+    public ShadowTransports(List<ShadowTransport> transports, ShadowerConfiguration shadowerConfiguration) {
+        this(transports);
+        for (DestinationProperties destination : shadowerConfiguration.getAllEnabledDestinations()) {
+            for (String url : destination.endpointUrls()) {
+                if (find(url) == null) {
+                    throw new IllegalStateException("No transport for destination " + destination.getName()
+                            + " (" + url + "), supported schemes: " + transportsByScheme.keySet());
+                }
+            }
+        }
+    }
+
+    public ShadowTransport forUrl(String url) {
+        ShadowTransport transport = find(url);
+        if (transport == null) {
+            throw new IllegalArgumentException("No transport for " + url);
+        }
+        return transport;
+    }
+
+    private ShadowTransport find(String url) {
+        int schemeEnd = url == null ? -1 : url.indexOf("://");
+        if (schemeEnd <= 0) {
+            return null;
+        }
+        return transportsByScheme.get(url.substring(0, schemeEnd).toLowerCase(Locale.ROOT));
+    }
+}
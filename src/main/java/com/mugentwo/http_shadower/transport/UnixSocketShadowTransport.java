@@ -0,0 +1,325 @@
+package com.mugentwo.http_shadower.transport;
+
+import com.mugentwo.http_shadower.trace.PhaseTimer;
+import jakarta.annotation.PreDestroy;
+import org.springframework.http.HttpEntity;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.HttpStatusCode;
+import org.springframework.http.ResponseEntity;
+import org.springframework.stereotype.Component;
+import org.springframework.web.client.ResourceAccessException;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.EOFException;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.net.StandardProtocolFamily;
+import java.net.URI;
+import java.net.URLDecoder;
+import java.net.UnixDomainSocketAddress;
+import java.nio.channels.Channels;
+import java.nio.channels.SocketChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Queue;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+
+// Minimal HTTP/1.1 client over Unix domain sockets. The socket path is the percent-encoded
+// authority, e.g. http+unix://%2Fvar%2Frun%2Fshadow.sock/api/orders.
+@Component
+public class UnixSocketShadowTransport implements ShadowTransport {
+    public static final String SCHEME = "http+unix";
+
+    private static final int MAX_IDLE_PER_SOCKET = 32;
+    private static final Set<String> GENERATED_HEADERS = Set.of("host", "content-length");
+    // Only these may be resent after a pooled connection turns out to be dead.
+    private static final Set<HttpMethod> IDEMPOTENT_METHODS = Set.of(
+            HttpMethod.GET, HttpMethod.HEAD, HttpMethod.OPTIONS, HttpMethod.TRACE, HttpMethod.PUT, HttpMethod.DELETE);
+
+    private final Map<Path, Queue<Connection>> idleConnections = new ConcurrentHashMap<>();
+
+    @Override
+    public List<String> schemes() {
+        return List.of(SCHEME);
+    }
+
+    @Override
+    public ResponseEntity<byte[]> exchange(String url, HttpMethod method, HttpEntity<byte[]> entity) {
+        URI uri = URI.create(url);
+        Path socketPath = socketPath(uri);
+        byte[] request = encodeRequest(uri, method, entity.getHeaders(), entity.getBody());
+        try {
+            return ShadowTransport.checkStatus(send(socketPath, request, method, false));
+        } catch (IOException e) {
+            throw new ResourceAccessException("I/O error on " + method + " request for \"" + url + "\": " + e.getMessage(), e);
+        }
+    }
+
+    @Override
+    public HttpStatusCode send(String url, HttpMethod method, HttpEntity<byte[]> entity) {
+        URI uri = URI.create(url);
+        Path socketPath = socketPath(uri);
+        byte[] request = encodeRequest(uri, method, entity.getHeaders(), entity.getBody());
+        try {
+            return ShadowTransport.checkStatus(send(socketPath, request, method, true)).getStatusCode();
+        } catch (IOException e) {
+            throw new ResourceAccessException("I/O error on " + method + " request for \"" + url + "\": " + e.getMessage(), e);
+        }
+    }
+
+    static Path socketPath(URI uri) {
+        String authority = uri.getRawAuthority();
+        if (authority == null || authority.isEmpty()) {
+            throw new IllegalArgumentException("Missing socket path in " + uri);
+        }
+        return Path.of(URLDecoder.decode(authority.replace("+", "%2B"), StandardCharsets.UTF_8));
+    }
+
+    private ResponseEntity<byte[]> send(Path socketPath, byte[] request, HttpMethod method, boolean discardBody) throws IOException {
+        Queue<Connection> idle = idleConnections.computeIfAbsent(socketPath, path -> new ConcurrentLinkedQueue<>());
+        Connection pooled;
+        while ((pooled = idle.poll()) != null) {
+            try {
+                PhaseTimer.markConnected(0);
+                return pooled.exchange(request, method, discardBody, idle);
+            } catch (StaleConnectionException e) {
+                // The server closed the idle connection before it saw the request; try the next one.
+            }
+        }
+        long connectStart = System.nanoTime();
+        Connection connection = Connection.open(socketPath);
+        PhaseTimer.markConnected(System.nanoTime() - connectStart);
+        return connection.exchange(request, method, discardBody, idle);
+    }
+
+    private static byte[] encodeRequest(URI uri, HttpMethod method, HttpHeaders headers, byte[] body) {
+        StringBuilder head = new StringBuilder(256);
+        String path = uri.getRawPath() == null || uri.getRawPath().isEmpty() ? "/" : uri.getRawPath();
+        head.append(method.name()).append(' ').append(path);
+        if (uri.getRawQuery() != null) {
+            head.append('?').append(uri.getRawQuery());
+        }
+        head.append(" HTTP/1.1\r\nHost: localhost\r\n");
+        headers.forEach((name, values) -> {
+            String lowerCaseName = name.toLowerCase(Locale.ROOT);
+            if (!HOP_BY_HOP_HEADERS.contains(lowerCaseName) && !GENERATED_HEADERS.contains(lowerCaseName)) {
+                for (String value : values) {
+                    head.append(name).append(": ").append(value).append("\r\n");
+                }
+            }
+        });
+        int bodyLength = body == null ? 0 : body.length;
+        if (bodyLength > 0 || method == HttpMethod.POST || method == HttpMethod.PUT || method == HttpMethod.PATCH) {
+            head.append("Content-Length: ").append(bodyLength).append("\r\n");
+        }
+        head.append("\r\n");
+
+        byte[] headBytes = head.toString().getBytes(StandardCharsets.UTF_8);
+        byte[] request = new byte[headBytes.length + bodyLength];
+        System.arraycopy(headBytes, 0, request, 0, headBytes.length);
+        if (bodyLength > 0) {
+            System.arraycopy(body, 0, request, headBytes.length, bodyLength);
+        }
+        return request;
+    }
+
+    @PreDestroy
+    public void close() {
+        idleConnections.values().forEach(idle -> {
+            Connection connection;
+            while ((connection = idle.poll()) != null) {
+                connection.close();
+            }
+        });
+    }
+
+    private static final class StaleConnectionException extends IOException {
+        private static final long serialVersionUID = 1L;
+
+        StaleConnectionException(Throwable cause) {
+            super("Idle connection was closed", cause);
+        }
+    }
+
+    private static final class Connection {
+        private final SocketChannel channel;
+        private final InputStream in;
+        private final OutputStream out;
+        private boolean reused;
+
+        private Connection(SocketChannel channel) {
+            this.channel = channel;
+            this.in = new BufferedInputStream(Channels.newInputStream(channel), 8192);
+            this.out = new BufferedOutputStream(Channels.newOutputStream(channel), 8192);
+        }
+
+        static Connection open(Path socketPath) throws IOException {
+            SocketChannel channel = SocketChannel.open(StandardProtocolFamily.UNIX);
+            try {
+                channel.connect(UnixDomainSocketAddress.of(socketPath));
+            } catch (IOException e) {
+                channel.close();
+                throw e;
+            }
+            return new Connection(channel);
+        }
+
+        ResponseEntity<byte[]> exchange(byte[] request, HttpMethod method, boolean discardBody, Queue<Connection> idle) throws IOException {
+            boolean keepAlive = false;
+            boolean retryable = reused && IDEMPOTENT_METHODS.contains(method);
+            try {
+                try {
+                    out.write(request);
+                    out.flush();
+                } catch (IOException e) {
+                    throw retryable ? new StaleConnectionException(e) : e;
+                }
+                // Once the request is out, only a close before any response byte means the server never handled it.
+                int first = in.read();
+                if (first < 0) {
+                    EOFException closed = new EOFException("Connection closed before the response");
+                    throw retryable ? new StaleConnectionException(closed) : closed;
+                }
+                String statusLine = readLine(first);
+                PhaseTimer.markFirstByte();
+
+                int status = parseStatus(statusLine);
+                HttpHeaders headers = readHeaders();
+                while (status >= 100 && status < 200) {
+                    status = parseStatus(readLine());
+                    headers = readHeaders();
+                }
+
+                ByteArrayOutputStream buffered = discardBody ? null : new ByteArrayOutputStream();
+                OutputStream body = discardBody ? OutputStream.nullOutputStream() : buffered;
+                boolean delimited = true;
+                if (method == HttpMethod.HEAD || status == 204 || status == 304) {
+                    // No body.
+                } else if ("chunked".equalsIgnoreCase(headers.getFirst(HttpHeaders.TRANSFER_ENCODING))) {
+                    copyChunked(body);
+                } else if (contentLength(headers) >= 0) {
+                    copy(contentLength(headers), body);
+                } else {
+                    in.transferTo(body);
+                    delimited = false;
+                }
+
+                PhaseTimer.markBodyComplete();
+                keepAlive = delimited && !"close".equalsIgnoreCase(headers.getFirst(HttpHeaders.CONNECTION));
+                return new ResponseEntity<>(discardBody ? null : buffered.toByteArray(), headers, HttpStatusCode.valueOf(status));
+            } finally {
+                if (keepAlive && idle.size() < MAX_IDLE_PER_SOCKET) {
+                    reused = true;
+                    idle.offer(this);
+                } else {
+                    close();
+                }
+            }
+        }
+
+        private static int parseStatus(String statusLine) throws IOException {
+            int firstSpace = statusLine.indexOf(' ');
+            if (!statusLine.startsWith("HTTP/1.") || firstSpace < 0 || statusLine.length() < firstSpace + 4) {
+                throw new IOException("Malformed status line: " + statusLine);
+            }
+            try {
+                return Integer.parseInt(statusLine.substring(firstSpace + 1, firstSpace + 4));
+            } catch (NumberFormatException e) {
+                throw new IOException("Malformed status line: " + statusLine, e);
+            }
+        }
+
+        private HttpHeaders readHeaders() throws IOException {
+            HttpHeaders headers = new HttpHeaders();
+            String line;
+            while (!(line = readLine()).isEmpty()) {
+                int colon = line.indexOf(':');
+                if (colon > 0) {
+                    headers.add(line.substring(0, colon).trim(), line.substring(colon + 1).trim());
+                }
+            }
+            return headers;
+        }
+
+        private static long contentLength(HttpHeaders headers) throws IOException {
+            try {
+                return headers.getContentLength();
+            } catch (NumberFormatException e) {
+                throw new IOException("Malformed Content-Length: " + headers.getFirst(HttpHeaders.CONTENT_LENGTH), e);
+            }
+        }
+
+        private void copyChunked(OutputStream body) throws IOException {
+            while (true) {
+                String sizeLine = readLine();
+                int extension = sizeLine.indexOf(';');
+                int size;
+                try {
+                    size = Integer.parseInt((extension < 0 ? sizeLine : sizeLine.substring(0, extension)).trim(), 16);
+                } catch (NumberFormatException e) {
+                    throw new IOException("Malformed chunk size: " + sizeLine, e);
+                }
+                if (size < 0) {
+                    throw new IOException("Malformed chunk size: " + sizeLine);
+                }
+                if (size == 0) {
+                    while (!readLine().isEmpty()) {
+                        // Trailers are not forwarded.
+                    }
+                    return;
+                }
+                copy(size, body);
+                readLine();
+            }
+        }
+
+        private void copy(long length, OutputStream body) throws IOException {
+            byte[] buffer = new byte[(int) Math.min(length, 8192)];
+            long remaining = length;
+            while (remaining > 0) {
+                int read = in.read(buffer, 0, (int) Math.min(remaining, buffer.length));
+                if (read < 0) {
+                    throw new EOFException("Connection closed after " + (length - remaining) + " of " + length + " body bytes");
+                }
+                body.write(buffer, 0, read);
+                remaining -= read;
+            }
+        }
+
+        private String readLine() throws IOException {
+            return readLine(in.read());
+        }
+
+        private String readLine(int first) throws IOException {
+            ByteArrayOutputStream line = new ByteArrayOutputStream(64);
+            int next = first;
+            while (next != '\n') {
+                if (next < 0) {
+                    throw new EOFException("Connection closed while reading response");
+                }
+                if (next != '\r') {
+                    line.write(next);
+                }
+                next = in.read();
+            }
+            return line.toString(StandardCharsets.ISO_8859_1);
+        }
+
+        void close() {
+            try {
+                channel.close();
+            } catch (IOException e) {
+                // Nothing useful to do when closing a connection fails.
+            }
+        }
+    }
+}
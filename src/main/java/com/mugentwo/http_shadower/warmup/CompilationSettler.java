@@ -0,0 +1,43 @@
+package com.mugentwo.http_shadower.warmup;
+
+import java.lang.management.CompilationMXBean;
+import java.lang.management.ManagementFactory;
+import java.time.Duration;
+import java.util.function.LongSupplier;
+
+// Compilation has settled once the JIT spends less than the threshold compiling during each of
+// settledBatches consecutive warm-up batches. Without compilation time monitoring it never settles
+// and warm-up runs until maxRequests.
+class CompilationSettler {
+    private final long thresholdMillis;
+    private final int settledBatches;
+    private final LongSupplier compilationMillis;
+    private long lastCompilationMillis;
+    private int quietBatches;
+
+    CompilationSettler(Duration threshold, int settledBatches, LongSupplier compilationMillis) {
+        this.thresholdMillis = threshold.toMillis();
+        this.settledBatches = settledBatches;
+        this.compilationMillis = compilationMillis;
+        this.lastCompilationMillis = compilationMillis == null ? 0 : compilationMillis.getAsLong();
+    }
+
+    boolean batchCompleted() {
+        if (compilationMillis == null) {
+            return false;
+        }
+        long now = compilationMillis.getAsLong();
+        long spent = now - lastCompilationMillis;
+        lastCompilationMillis = now;
+        quietBatches = spent < thresholdMillis ? quietBatches + 1 : 0;
+        return quietBatches >= settledBatches;
+    }
+
+    static LongSupplier jitCompilationMillis() {
+        CompilationMXBean compilation = ManagementFactory.getCompilationMXBean();
+        if (compilation == null || !compilation.isCompilationTimeMonitoringSupported()) {
+            return null;
+        }
+        return compilation::getTotalCompilationTime;
+    }
+}
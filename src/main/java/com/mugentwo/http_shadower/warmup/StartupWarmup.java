@@ -0,0 +1,210 @@
+package com.mugentwo.http_shadower.warmup;
+
+import com.mugentwo.http_shadower.config.DestinationProperties;
+import com.mugentwo.http_shadower.config.ShadowerConfiguration;
+import com.mugentwo.http_shadower.config.WarmupProperties;
+import com.mugentwo.http_shadower.profile.TrafficProfiler;
+import com.mugentwo.http_shadower.transport.ShadowTransports;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.core.env.Environment;
+import org.springframework.http.HttpEntity;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpMethod;
+import org.springframework.stereotype.Component;
+import org.springframework.web.client.ResourceAccessException;
+import org.springframework.web.client.RestClientException;
+
+import java.io.IOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.LongSupplier;
+
+// Runs once the application is up: first opens pooled connections to every destination endpoint, then
+// drives synthetic requests through the proxy's own port until the JIT stops compiling. Readiness is
+// reported only after both, or after the warm-up timeout. Synthetic requests carry a per-process token
+// so the controller can keep them away from the response source; see WarmupProperties.Synthetic.
+@Component
+public class StartupWarmup {
+    private static final Logger logger = LoggerFactory.getLogger(StartupWarmup.class);
+
+    public static final String WARMUP_HEADER = "X-Shadower-Warmup";
+
+    private final ShadowerConfiguration shadowerConfiguration;
+    private final ShadowTransports shadowTransports;
+    private final TrafficProfiler trafficProfiler;
+    private final WarmupMetrics warmupMetrics;
+    private final Environment environment;
+    private final String syntheticToken = UUID.randomUUID().toString();
+    private volatile boolean complete;
+
+    public StartupWarmup(ShadowerConfiguration shadowerConfiguration,
+                         ShadowTransports shadowTransports,
+                         TrafficProfiler trafficProfiler,
+                         WarmupMetrics warmupMetrics,
+                         Environment environment) {
+        this.shadowerConfiguration = shadowerConfiguration;
+        this.shadowTransports = shadowTransports;
+        this.trafficProfiler = trafficProfiler;
+        this.warmupMetrics = warmupMetrics;
+        this.environment = environment;
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void onApplicationReady() {
+        if (!shadowerConfiguration.getWarmup().isEnabled()) {
+            markComplete();
+            return;
+        }
+        Thread.ofPlatform().name("shadower-warmup").daemon().start(this::run);
+    }
+
+    void run() {
+        WarmupProperties warmup = shadowerConfiguration.getWarmup();
+        long start = System.nanoTime();
+        long deadline = start + warmup.getTimeout().toNanos();
+        try (ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor()) {
+            int opened = preopenConnections(warmup, executor, deadline);
+            long connected = System.nanoTime();
+            warmupMetrics.recordPhase("connections", connected - start);
+
+            int sent = warmup.getMaxRequests() > 0 ? settleCompilation(warmup, executor, deadline) : 0;
+            warmupMetrics.recordPhase("compilation", System.nanoTime() - connected);
+            // Synthetic traffic would otherwise top the route profile.
+            trafficProfiler.reset();
+
+            logger.info("Warm-up finished in {} ms: {} destination connections, {} synthetic requests{}",
+                    TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start), opened, sent,
+                    System.nanoTime() - deadline > 0 ? " (timed out)" : "");
+        } catch (RuntimeException e) {
+            logger.warn("Warm-up failed, reporting ready anyway: {}", e.getMessage());
+        } finally {
+            warmupMetrics.recordPhase("total", System.nanoTime() - start);
+            markComplete();
+        }
+    }
+
+    // The JDK client only opens a new connection when no idle one is free, so each endpoint gets
+    // `connections` concurrent requests. HTTP/2 destinations multiplex them over a single connection.
+    private int preopenConnections(WarmupProperties warmup, ExecutorService executor, long deadline) {
+        HttpMethod method = HttpMethod.valueOf(warmup.getMethod());
+        HttpHeaders headers = new HttpHeaders();
+        headers.set(WARMUP_HEADER, "true");
+        HttpEntity<byte[]> entity = new HttpEntity<>(null, headers);
+
+        List<Future<Boolean>> attempts = new ArrayList<>();
+        for (DestinationProperties destination : shadowerConfiguration.getAllEnabledDestinations()) {
+            for (String url : destination.endpointUrls()) {
+                String targetUrl = url + warmup.getPath();
+                for (int i = 0; i < warmup.getConnections(); i++) {
+                    attempts.add(executor.submit(() -> {
+                        try {
+                            shadowTransports.forUrl(targetUrl).send(targetUrl, method, entity);
+                            return true;
+                        } catch (ResourceAccessException e) {
+                            logger.debug("Warm-up connection to {} failed: {}", destination.getName(), e.getMessage());
+                            return false;
+                        } catch (RestClientException e) {
+                            // An error status still leaves the connection open.
+                            return true;
+                        }
+                    }));
+                }
+            }
+        }
+        return awaitAll(attempts, deadline);
+    }
+
+    private int settleCompilation(WarmupProperties warmup, ExecutorService executor, long deadline) {
+        URI uri = URI.create("http://localhost:" + proxyPort() + warmup.getPath());
+        HttpRequest request = HttpRequest.newBuilder(uri)
+                .method(warmup.getMethod(), HttpRequest.BodyPublishers.noBody())
+                .header(WARMUP_HEADER, syntheticToken)
+                .build();
+        HttpClient client = HttpClient.newBuilder().version(HttpClient.Version.HTTP_1_1).build();
+        LongSupplier compilationMillis = CompilationSettler.jitCompilationMillis();
+        if (compilationMillis == null) {
+            logger.info("JIT compilation time is not available; sending all {} warm-up requests", warmup.getMaxRequests());
+        }
+        CompilationSettler settler = new CompilationSettler(warmup.getSettleThreshold(), warmup.getSettledBatches(), compilationMillis);
+
+        AtomicInteger sent = new AtomicInteger();
+        while (sent.get() < warmup.getMaxRequests() && System.nanoTime() - deadline < 0) {
+            int batch = Math.min(warmup.getBatchSize(), warmup.getMaxRequests() - sent.get());
+            AtomicInteger remaining = new AtomicInteger(batch);
+            List<Future<Boolean>> workers = new ArrayList<>();
+            for (int i = 0; i < Math.min(warmup.getConcurrency(), batch); i++) {
+                workers.add(executor.submit(() -> {
+                    while (remaining.getAndDecrement() > 0) {
+                        try {
+                            client.send(request, HttpResponse.BodyHandlers.discarding());
+                        } catch (IOException e) {
+                            logger.debug("Synthetic warm-up request failed: {}", e.getMessage());
+                        }
+                        sent.incrementAndGet();
+                    }
+                    return true;
+                }));
+            }
+            awaitAll(workers, deadline);
+            if (settler.batchCompleted()) {
+                break;
+            }
+        }
+        return sent.get();
+    }
+
+    private static int awaitAll(List<Future<Boolean>> futures, long deadline) {
+        int succeeded = 0;
+        for (Future<Boolean> future : futures) {
+            try {
+                if (future.get(Math.max(0, deadline - System.nanoTime()), TimeUnit.NANOSECONDS)) {
+                    succeeded++;
+                }
+            } catch (TimeoutException e) {
+                future.cancel(true);
+            } catch (ExecutionException e) {
+                logger.debug("Warm-up task failed: {}", e.getCause().getMessage());
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                futures.forEach(pending -> pending.cancel(true));
+                return succeeded;
+            }
+        }
+        return succeeded;
+    }
+
+    // Tomcat publishes its bound port as local.server.port.
+    private int proxyPort() {
+        return environment.getProperty("local.server.port", Integer.class,
+                environment.getProperty("server.port", Integer.class, 8080));
+    }
+
+    private void markComplete() {
+        complete = true;
+        warmupMetrics.markReady();
+    }
+
+    // Null for real traffic, including clients that send the warm-up header themselves.
+    public WarmupProperties.Synthetic syntheticMode(String warmupHeader) {
+        return syntheticToken.equals(warmupHeader) ? shadowerConfiguration.getWarmup().getSynthetic() : null;
+    }
+
+    public boolean isComplete() {
+        return complete;
+    }
+}
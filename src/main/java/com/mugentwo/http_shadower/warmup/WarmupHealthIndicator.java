@@ -0,0 +1,20 @@
+package com.mugentwo.http_shadower.warmup;
+
+import org.springframework.boot.actuate.health.Health;
+import org.springframework.boot.actuate.health.HealthIndicator;
+import org.springframework.stereotype.Component;
+
+// Part of the readiness group, so load balancers hold traffic back until warm-up has finished.
+@Component
+public class WarmupHealthIndicator implements HealthIndicator {
+    private final StartupWarmup startupWarmup;
+
+    public WarmupHealthIndicator(StartupWarmup startupWarmup) {
+        this.startupWarmup = startupWarmup;
+    }
+
+    @Override
+    public Health health() {
+        return startupWarmup.isComplete() ? Health.up().build() : Health.outOfService().withDetail("reason", "warming up").build();
+    }
+}
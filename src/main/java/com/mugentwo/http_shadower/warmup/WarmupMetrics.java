@@ -0,0 +1,44 @@
+package com.mugentwo.http_shadower.warmup;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.springframework.stereotype.Component;
+
+import java.util.concurrent.TimeUnit;
+
+@Component
+public class WarmupMetrics {
+    private static final long FIRST_MINUTE_NANOS = TimeUnit.MINUTES.toNanos(1);
+
+    private final MeterRegistry meterRegistry;
+    private final Timer firstMinuteLatency;
+    private volatile boolean ready;
+    private volatile long readyAt;
+
+    public WarmupMetrics(MeterRegistry meterRegistry) {
+        this.meterRegistry = meterRegistry;
+        this.firstMinuteLatency = Timer.builder("shadower.startup.latency")
+                .description("Proxy latency during the first minute after the shadower reported ready")
+                .publishPercentiles(0.5, 0.99)
+                .register(meterRegistry);
+    }
+
+    public void recordPhase(String phase, long nanos) {
+        Timer.builder("shadower.warmup.duration")
+                .description("Time spent in each startup warm-up phase")
+                .tag("phase", phase)
+                .register(meterRegistry)
+                .record(nanos, TimeUnit.NANOSECONDS);
+    }
+
+    public void markReady() {
+        readyAt = System.nanoTime();
+        ready = true;
+    }
+
+    public void recordRequest(long latencyNanos) {
+        if (ready && System.nanoTime() - readyAt < FIRST_MINUTE_NANOS) {
+            firstMinuteLatency.record(latencyNanos, TimeUnit.NANOSECONDS);
+        }
+    }
+}
@@ -0,0 +1,130 @@
+package com.mugentwo.http_shadower.balance;
+
+import com.mugentwo.http_shadower.config.LoadBalancerProperties;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class EndpointPoolTest {
+
+    private static final List<String> URLS = List.of("http://replica-1:8080", "http://replica-2:8080", "http://replica-3:8080");
+
+    private LoadBalancerProperties loadBalancer;
+
+    @BeforeEach
+    void setUp() {
+        loadBalancer = new LoadBalancerProperties();
+        loadBalancer.setFailureThreshold(2);
+        loadBalancer.setEjectionTime(Duration.ofMinutes(1));
+    }
+
+    @Test
+    void testPrefersEndpointWithFewerOutstandingRequests() {
+        // Arrange
+        var pool = new EndpointPool(URLS.subList(0, 2), loadBalancer);
+        var busy = pool.getEndpoints().get(0);
+        for (int i = 0; i < 10; i++) {
+            busy.acquire();
+        }
+
+        // Act
+        Map<String, Integer> picks = new HashMap<>();
+        for (int i = 0; i < 100; i++) {
+            var endpoint = pool.select(null);
+            picks.merge(endpoint.getUrl(), 1, Integer::sum);
+            endpoint.release(true);
+        }
+
+        // Assert
+        assertEquals(100, picks.get("http://replica-2:8080"));
+    }
+
+    @Test
+    void testEjectsEndpointAfterConsecutiveFailuresAndReadmitsOnSuccess() {
+        // Arrange
+        var pool = new EndpointPool(URLS.subList(0, 2), loadBalancer);
+        var failing = pool.getEndpoints().get(0);
+
+        // Act
+        failing.acquire();
+        failing.release(false);
+        boolean availableAfterOneFailure = failing.isAvailable();
+        failing.acquire();
+        failing.release(false);
+        Set<String> picked = new HashSet<>();
+        for (int i = 0; i < 50; i++) {
+            var endpoint = pool.select(null);
+            picked.add(endpoint.getUrl());
+            endpoint.release(true);
+        }
+
+        // Assert
+        assertTrue(availableAfterOneFailure);
+        assertFalse(failing.isAvailable());
+        assertEquals(1, failing.getEjectionCount());
+        assertEquals(Set.of("http://replica-2:8080"), picked);
+    }
+
+    @Test
+    void testFallsBackToAllEndpointsWhenEveryEndpointIsEjected() {
+        // Arrange
+        var pool = new EndpointPool(URLS.subList(0, 2), loadBalancer);
+        for (DestinationEndpoint endpoint : pool.getEndpoints()) {
+            endpoint.acquire();
+            endpoint.release(false);
+            endpoint.acquire();
+            endpoint.release(false);
+        }
+
+        // Act
+        var endpoint = pool.select(null);
+
+        // Assert
+        assertNotNull(endpoint);
+        assertEquals(1, endpoint.getOutstanding());
+    }
+
+    @Test
+    void testConsistentHashingKeepsAffinityAndOnlyMovesKeysOfEjectedEndpoint() {
+        // Arrange
+        loadBalancer.setHashHeader("X-Session-Id");
+        var pool = new EndpointPool(URLS, loadBalancer);
+        Map<String, String> before = new HashMap<>();
+        for (int i = 0; i < 300; i++) {
+            var endpoint = pool.select("session-" + i);
+            before.put("session-" + i, endpoint.getUrl());
+            endpoint.release(true);
+        }
+        var ejected = pool.getEndpoints().get(1);
+        ejected.acquire();
+        ejected.release(false);
+        ejected.acquire();
+        ejected.release(false);
+
+        // Act
+        Map<String, String> after = new HashMap<>();
+        for (int i = 0; i < 300; i++) {
+            var endpoint = pool.select("session-" + i);
+            after.put("session-" + i, endpoint.getUrl());
+            endpoint.release(true);
+        }
+
+        // Assert
+        assertEquals(3, new HashSet<>(before.values()).size());
+        for (Map.Entry<String, String> entry : before.entrySet()) {
+            if (entry.getValue().equals(ejected.getUrl())) {
+                assertNotEquals(ejected.getUrl(), after.get(entry.getKey()));
+            } else {
+                assertEquals(entry.getValue(), after.get(entry.getKey()));
+            }
+        }
+    }
+}
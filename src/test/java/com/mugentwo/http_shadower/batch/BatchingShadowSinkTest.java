@@ -0,0 +1,182 @@
+package com.mugentwo.http_shadower.batch;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.mugentwo.http_shadower.config.BatchProperties;
+import com.mugentwo.http_shadower.config.DestinationProperties;
+import com.mugentwo.http_shadower.core.ShadowRequest;
+import com.mugentwo.http_shadower.replay.JsonLinesParser;
+import com.mugentwo.http_shadower.replay.ReplayRecord;
+import com.mugentwo.http_shadower.transport.HttpShadowTransport;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.http.HttpEntity;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpMethod;
+import org.springframework.web.client.RestTemplate;
+
+import java.io.ByteArrayInputStream;
+import java.io.DataInputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class BatchingShadowSinkTest {
+
+    private static final String COLLECTOR_URL = "http://localhost:3003/ingest";
+
+    @Mock
+    private RestTemplate restTemplate;
+
+    private final ObjectMapper objectMapper = new ObjectMapper();
+    private SimpleMeterRegistry meterRegistry;
+
+    @BeforeEach
+    void setUp() {
+        meterRegistry = new SimpleMeterRegistry();
+    }
+
+    @Test
+    void testFlushesNdjsonBatchWhenMaxRecordsReached() {
+        // Arrange
+        var destination = collector(new BatchProperties(true, BatchProperties.Format.NDJSON, 2, Duration.ofMinutes(1)));
+        var sink = new BatchingShadowSink(destination, new NdjsonBatchEncoder(objectMapper), new HttpShadowTransport(restTemplate), meterRegistry);
+
+        // Act
+        sink.offer(request("/api/orders", "id=1", "{\"a\":1}"));
+        sink.offer(request("/api/health", null, null));
+
+        // Assert
+        HttpEntity<byte[]> entity = captureBatch();
+        assertEquals("application/x-ndjson", entity.getHeaders().getFirst(HttpHeaders.CONTENT_TYPE));
+        assertEquals("2", entity.getHeaders().getFirst("X-Shadower-Batch-Records"));
+
+        String[] lines = new String(entity.getBody(), StandardCharsets.UTF_8).split("\n");
+        assertEquals(2, lines.length);
+        var parser = new JsonLinesParser(objectMapper);
+        ReplayRecord first = parser.parse(lines[0]);
+        assertEquals("POST", first.request().method());
+        assertEquals("/api/orders", first.request().path());
+        assertEquals("id=1", first.request().query());
+        assertEquals("application/json", first.request().firstHeader("Content-Type"));
+        assertEquals("{\"a\":1}", new String(first.request().body(), StandardCharsets.UTF_8));
+        assertNull(parser.parse(lines[1]).request().body());
+
+        assertEquals(1, meterRegistry.get("shadower.batch.size").summary().count());
+        assertEquals(2.0, meterRegistry.get("shadower.batch.size").summary().totalAmount());
+        sink.close();
+    }
+
+    @Test
+    void testDropsRecordsWhenBufferIsFullAndFlushesRemainderOnClose() {
+        // Arrange
+        var batch = new BatchProperties(true, BatchProperties.Format.NDJSON, 10, Duration.ofMinutes(1));
+        batch.setBufferCapacity(2);
+        var sink = new BatchingShadowSink(collector(batch), new NdjsonBatchEncoder(objectMapper), new HttpShadowTransport(restTemplate), meterRegistry);
+
+        // Act
+        boolean first = sink.offer(request("/a", null, null));
+        boolean second = sink.offer(request("/b", null, null));
+        boolean third = sink.offer(request("/c", null, null));
+        sink.close();
+
+        // Assert
+        assertTrue(first);
+        assertTrue(second);
+        assertFalse(third);
+        assertEquals("2", captureBatch().getHeaders().getFirst("X-Shadower-Batch-Records"));
+        assertEquals(1.0, meterRegistry.get("shadower.batch.dropped").counter().count());
+        assertEquals(0, sink.getBuffered());
+    }
+
+    @Test
+    void testFlushesWhenBufferedBytesReachMaxBytes() {
+        // Arrange
+        var batch = new BatchProperties(true, BatchProperties.Format.NDJSON, 100, Duration.ofMinutes(1));
+        batch.setMaxBytes(256);
+        var sink = new BatchingShadowSink(collector(batch), new NdjsonBatchEncoder(objectMapper), new HttpShadowTransport(restTemplate), meterRegistry);
+
+        // Act
+        sink.offer(request("/api/uploads", null, "x".repeat(300)));
+
+        // Assert
+        assertEquals("1", captureBatch().getHeaders().getFirst("X-Shadower-Batch-Records"));
+        sink.close();
+    }
+
+    @Test
+    void testDropsRecordsOfferedAfterClose() {
+        // Arrange
+        var destination = collector(new BatchProperties(true, BatchProperties.Format.NDJSON, 1, Duration.ofMinutes(1)));
+        var sink = new BatchingShadowSink(destination, new NdjsonBatchEncoder(objectMapper), new HttpShadowTransport(restTemplate), meterRegistry);
+        sink.close();
+
+        // Act
+        boolean accepted = assertDoesNotThrow(() -> sink.offer(request("/late", null, null)));
+
+        // Assert
+        assertFalse(accepted);
+        assertEquals(1.0, meterRegistry.get("shadower.batch.dropped").counter().count());
+        verifyNoInteractions(restTemplate);
+    }
+
+    @Test
+    void testEncodesLengthPrefixedBinaryFrames() throws IOException {
+        // Arrange
+        var destination = collector(new BatchProperties(true, BatchProperties.Format.BINARY, 10, Duration.ofMinutes(1)));
+        var sink = new BatchingShadowSink(destination, new BinaryBatchEncoder(), new HttpShadowTransport(restTemplate), meterRegistry);
+
+        // Act
+        sink.offer(request("/api/orders", null, "hello"));
+        sink.close();
+
+        // Assert
+        byte[] body = captureBatch().getBody();
+        var data = new DataInputStream(new ByteArrayInputStream(body));
+        assertEquals(body.length - Integer.BYTES, data.readInt());
+        assertTrue(data.readLong() > 0);
+        assertEquals("POST", readString(data));
+        assertEquals("/api/orders", readString(data));
+        assertNull(readString(data));
+        assertEquals(1, data.readInt());
+        assertEquals("Content-Type", readString(data));
+        assertEquals(1, data.readInt());
+        assertEquals("application/json", readString(data));
+        assertEquals("hello", readString(data));
+        assertEquals(0, data.available());
+    }
+
+    private HttpEntity<byte[]> captureBatch() {
+        ArgumentCaptor<HttpEntity<byte[]>> entityCaptor = ArgumentCaptor.forClass(HttpEntity.class);
+        verify(restTemplate, timeout(1000)).exchange(eq(COLLECTOR_URL), eq(HttpMethod.POST), entityCaptor.capture(), eq(Void.class));
+        return entityCaptor.getValue();
+    }
+
+    private static String readString(DataInputStream data) throws IOException {
+        int length = data.readInt();
+        return length < 0 ? null : new String(data.readNBytes(length), StandardCharsets.UTF_8);
+    }
+
+    private static DestinationProperties collector(BatchProperties batch) {
+        var destination = new DestinationProperties("collector", COLLECTOR_URL, true, false);
+        destination.setBatch(batch);
+        return destination;
+    }
+
+    private static ShadowRequest request(String path, String query, String body) {
+        return new ShadowRequest("POST", path, query,
+                Map.of("Content-Type", List.of("application/json")),
+                body == null ? null : body.getBytes(StandardCharsets.UTF_8));
+    }
+}
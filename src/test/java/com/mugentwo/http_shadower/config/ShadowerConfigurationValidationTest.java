@@ -110,4 +110,217 @@ class ShadowerConfigurationValidationTest {
                 () -> configuration.validateConfiguration());
         assertEquals("At least one destination must be enabled", exception.getMessage());
     }
-}
\ No newline at end of file
+
+    @Test
+    void testInvalidConfiguration_ConcurrencyLimitBoundsInverted() {
+        var shadow = new DestinationProperties("app2", "http://localhost:3002", true, false);
+        shadow.setConcurrencyLimit(new ConcurrencyLimitProperties(10, 50, 20));
+        configuration.setDestinations(List.of(
+            new DestinationProperties("app1", "http://localhost:3001", true, true),
+            shadow
+        ));
+
+        IllegalStateException exception = assertThrows(IllegalStateException.class,
+                () -> configuration.validateConfiguration());
+        assertEquals("Concurrency limit bounds for app2 must satisfy 1 <= minLimit <= maxLimit, found: 50..20", exception.getMessage());
+    }
+
+    @Test
+    void testInvalidConfiguration_ConcurrencyLimitToleranceBelowOne() {
+        var shadow = new DestinationProperties("app2", "http://localhost:3002", true, false);
+        shadow.setConcurrencyLimit(new ConcurrencyLimitProperties(10, 1, 100));
+        shadow.getConcurrencyLimit().setRttTolerance(0.9);
+        configuration.setDestinations(List.of(
+            new DestinationProperties("app1", "http://localhost:3001", true, true),
+            shadow
+        ));
+
+        IllegalStateException exception = assertThrows(IllegalStateException.class,
+                () -> configuration.validateConfiguration());
+        assertEquals("Concurrency limit rttTolerance for app2 must be at least 1.0, found: 0.9", exception.getMessage());
+    }
+
+    @Test
+    void testInvalidConfiguration_ConcurrencyLimitLongWindowZero() {
+        var shadow = new DestinationProperties("app2", "http://localhost:3002", true, false);
+        shadow.setConcurrencyLimit(new ConcurrencyLimitProperties(10, 1, 100));
+        shadow.getConcurrencyLimit().setLongWindow(0);
+        configuration.setDestinations(List.of(
+            new DestinationProperties("app1", "http://localhost:3001", true, true),
+            shadow
+        ));
+
+        IllegalStateException exception = assertThrows(IllegalStateException.class,
+                () -> configuration.validateConfiguration());
+        assertEquals("Concurrency limit longWindow for app2 must be positive, found: 0", exception.getMessage());
+    }
+
+    @Test
+    void testInvalidConfiguration_BatchedResponseSource() {
+        var primary = new DestinationProperties("app1", "http://localhost:3001", true, true);
+        primary.getBatch().setEnabled(true);
+        configuration.setDestinations(List.of(primary));
+
+        IllegalStateException exception = assertThrows(IllegalStateException.class,
+                () -> configuration.validateConfiguration());
+        assertEquals("Batched delivery cannot be enabled for the response source: app1", exception.getMessage());
+    }
+
+    @Test
+    void testInvalidConfiguration_PriorityMinSharesExceedOne() {
+        configuration.setDestinations(List.of(new DestinationProperties("app1", "http://localhost:3001", true, true)));
+        configuration.getPriority().setEnabled(true);
+        configuration.getPriority().setClasses(List.of(
+            new PriorityClassProperties("checkout", List.of("/api/checkout/**"), 0.7),
+            new PriorityClassProperties("bulk", List.of(), 0.5)
+        ));
+
+        IllegalStateException exception = assertThrows(IllegalStateException.class,
+                () -> configuration.validateConfiguration());
+        assertEquals("Priority class minShares must add up to at most 1.0, found: 1.2", exception.getMessage());
+    }
+
+    @Test
+    void testInvalidConfiguration_DestinationWithoutUrlOrEndpoints() {
+        configuration.setDestinations(List.of(
+            new DestinationProperties("app1", "http://localhost:3001", true, true),
+            new DestinationProperties("app2", null, true, false)
+        ));
+
+        IllegalStateException exception = assertThrows(IllegalStateException.class,
+                () -> configuration.validateConfiguration());
+        assertEquals("Destination app2 needs a url or at least one endpoint", exception.getMessage());
+    }
+
+    @Test
+    void testInvalidConfiguration_ProfilerTopNAboveCapacity() {
+        configuration.setDestinations(List.of(new DestinationProperties("app1", "http://localhost:3001", true, true)));
+        configuration.getProfiler().setCapacity(10);
+        configuration.getProfiler().setTopN(20);
+
+        IllegalStateException exception = assertThrows(IllegalStateException.class,
+                () -> configuration.validateConfiguration());
+        assertTrue(exception.getMessage().startsWith("Profiler capacity must be positive and topN must be between 1 and capacity"));
+    }
+
+    @Test
+    void testInvalidConfiguration_MaskingOnResponseSource() {
+        var primary = new DestinationProperties("app1", "http://localhost:3001", true, true);
+        primary.getMasking().setEnabled(true);
+        configuration.setDestinations(List.of(primary));
+
+        IllegalStateException exception = assertThrows(IllegalStateException.class,
+                () -> configuration.validateConfiguration());
+        assertEquals("Masking cannot be enabled for the response source: app1", exception.getMessage());
+    }
+
+    @Test
+    void testInvalidConfiguration_MaskingFieldEndingInAnyDepth() {
+        var staging = new DestinationProperties("app2", "http://localhost:3002", true, false);
+        staging.getMasking().setEnabled(true);
+        staging.getMasking().setJsonFields(List.of("customer.**"));
+        configuration.setDestinations(List.of(new DestinationProperties("app1", "http://localhost:3001", true, true), staging));
+
+        IllegalStateException exception = assertThrows(IllegalStateException.class,
+                () -> configuration.validateConfiguration());
+        assertEquals("Invalid masking jsonField for app2: 'customer.**'", exception.getMessage());
+    }
+
+    @Test
+    void testInvalidConfiguration_ReplayWithoutInFlightSlots() {
+        configuration.setDestinations(List.of(new DestinationProperties("app1", "http://localhost:3001", true, true)));
+        configuration.getReplay().setEnabled(true);
+        configuration.getReplay().setFiles(List.of("/var/log/nginx/access.log"));
+        configuration.getReplay().setMaxInFlight(0);
+
+        IllegalStateException exception = assertThrows(IllegalStateException.class,
+                () -> configuration.validateConfiguration());
+        assertEquals("Replay maxInFlight must be positive, found: 0", exception.getMessage());
+    }
+
+    @Test
+    void testInvalidConfiguration_NettyFrontendWithServletOnlyDefaults() {
+        configuration.setDestinations(List.of(new DestinationProperties("app1", "http://localhost:3001", true, true)));
+        configuration.getFrontend().setMode(FrontendProperties.Mode.NETTY);
+
+        IllegalStateException exception = assertThrows(IllegalStateException.class,
+                () -> configuration.validateConfiguration());
+        assertEquals("The shadow memory budget is not supported by the Netty front end, set shadower.budget.enabled=false", exception.getMessage());
+    }
+
+    @Test
+    void testInvalidConfiguration_NettyFrontendWithBatchedDestination() {
+        var collector = new DestinationProperties("collector", "http://localhost:3002", true, false);
+        collector.getBatch().setEnabled(true);
+        configuration.setDestinations(List.of(new DestinationProperties("app1", "http://localhost:3001", true, true), collector));
+        useNettyFrontend();
+
+        IllegalStateException exception = assertThrows(IllegalStateException.class,
+                () -> configuration.validateConfiguration());
+        assertEquals("Batched delivery is not supported by the Netty front end, found on: collector", exception.getMessage());
+    }
+
+    @Test
+    void testInvalidConfiguration_NettyFrontendWithNonHttpDestination() {
+        configuration.setDestinations(List.of(
+            new DestinationProperties("app1", "http://localhost:3001", true, true),
+            new DestinationProperties("sidecar", "http+unix:///var/run/sidecar.sock", true, false)
+        ));
+        useNettyFrontend();
+
+        IllegalStateException exception = assertThrows(IllegalStateException.class,
+                () -> configuration.validateConfiguration());
+        assertEquals("The Netty front end only supports http and https destinations, found: http+unix:///var/run/sidecar.sock on sidecar",
+                exception.getMessage());
+    }
+
+    @Test
+    void testValidConfiguration_EndpointPoolWithoutUrl() {
+        var pooled = new DestinationProperties("app1", null, true, true);
+        pooled.setEndpoints(List.of("http://replica-1:3001", "http://replica-2:3001"));
+        configuration.setDestinations(List.of(pooled));
+
+        assertDoesNotThrow(() -> configuration.validateConfiguration());
+    }
+
+    @Test
+    void testValidConfiguration_TenantsWithoutTopLevelDestinations() {
+        configuration.setTenants(List.of(tenant("orders", "orders.example.com", "orders")));
+
+        assertDoesNotThrow(() -> configuration.validateConfiguration());
+    }
+
+    @Test
+    void testInvalidConfiguration_TenantWithoutResponseSource() {
+        var orders = tenant("orders", "orders.example.com", "orders");
+        orders.setDestinations(List.of(new DestinationProperties("orders-shadow", "http://localhost:3002", true, false)));
+        configuration.setTenants(List.of(orders));
+
+        IllegalStateException exception = assertThrows(IllegalStateException.class,
+                () -> configuration.validateConfiguration());
+        assertEquals("Tenant orders: Exactly one enabled destination must be configured as responseSource", exception.getMessage());
+    }
+
+    @Test
+    void testInvalidConfiguration_TenantsSharingDestinationName() {
+        configuration.setTenants(List.of(
+                tenant("orders", "orders.example.com", "shared"),
+                tenant("billing", "billing.example.com", "shared")));
+
+        IllegalStateException exception = assertThrows(IllegalStateException.class,
+                () -> configuration.validateConfiguration());
+        assertEquals("Destination names must be unique across tenants, found: shared-primary", exception.getMessage());
+    }
+
+    private static TenantProperties tenant(String name, String host, String destinationPrefix) {
+        return new TenantProperties(name, List.of(host), List.of(), List.of(
+                new DestinationProperties(destinationPrefix + "-primary", "http://localhost:3001", true, true)));
+    }
+
+    private void useNettyFrontend() {
+        configuration.getFrontend().setMode(FrontendProperties.Mode.NETTY);
+        configuration.getBudget().setEnabled(false);
+        configuration.getTracing().setEnabled(false);
+        configuration.getProfiler().setEnabled(false);
+    }
+}
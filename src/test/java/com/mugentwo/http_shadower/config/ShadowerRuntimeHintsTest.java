@@ -0,0 +1,46 @@
+package com.mugentwo.http_shadower.config;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.aot.hint.RuntimeHints;
+import org.springframework.aot.hint.predicate.RuntimeHintsPredicates;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class ShadowerRuntimeHintsTest {
+
+    private RuntimeHints hints;
+
+    @BeforeEach
+    void setUp() {
+        hints = new RuntimeHints();
+        new ShadowerRuntimeHints().registerHints(hints, getClass().getClassLoader());
+    }
+
+    @Test
+    void testRegistersBindingHintsForConfiguration() {
+        assertTrue(RuntimeHintsPredicates.reflection().onType(ShadowerConfiguration.class).test(hints));
+        assertTrue(RuntimeHintsPredicates.reflection().onType(DestinationProperties.class).test(hints));
+    }
+
+    @Test
+    void testRegistersBindingHintsForNestedProperties() {
+        assertTrue(RuntimeHintsPredicates.reflection().onType(CompressionProperties.class).test(hints));
+        assertTrue(RuntimeHintsPredicates.reflection().onType(ConcurrencyLimitProperties.class).test(hints));
+        assertTrue(RuntimeHintsPredicates.reflection().onType(BatchProperties.class).test(hints));
+        assertTrue(RuntimeHintsPredicates.reflection().onType(LoadBalancerProperties.class).test(hints));
+        assertTrue(RuntimeHintsPredicates.reflection().onType(FrontendProperties.class).test(hints));
+        assertTrue(RuntimeHintsPredicates.reflection().onType(OutboundProperties.class).test(hints));
+        assertTrue(RuntimeHintsPredicates.reflection().onType(BudgetProperties.class).test(hints));
+        assertTrue(RuntimeHintsPredicates.reflection().onType(PriorityProperties.class).test(hints));
+        assertTrue(RuntimeHintsPredicates.reflection().onType(PriorityClassProperties.class).test(hints));
+        assertTrue(RuntimeHintsPredicates.reflection().onType(TracingProperties.class).test(hints));
+        assertTrue(RuntimeHintsPredicates.reflection().onType(DeadlineProperties.class).test(hints));
+        assertTrue(RuntimeHintsPredicates.reflection().onType(DeadlineRouteProperties.class).test(hints));
+        assertTrue(RuntimeHintsPredicates.reflection().onType(ProfilerProperties.class).test(hints));
+        assertTrue(RuntimeHintsPredicates.reflection().onType(WarmupProperties.class).test(hints));
+        assertTrue(RuntimeHintsPredicates.reflection().onType(MaskingProperties.class).test(hints));
+        assertTrue(RuntimeHintsPredicates.reflection().onType(MaskPatternProperties.class).test(hints));
+        assertTrue(RuntimeHintsPredicates.reflection().onType(TenantProperties.class).test(hints));
+    }
+}
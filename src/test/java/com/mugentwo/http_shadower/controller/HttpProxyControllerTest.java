@@ -1,6 +1,11 @@
 package com.mugentwo.http_shadower.controller;
 
+import com.mugentwo.http_shadower.config.WarmupProperties;
+import com.mugentwo.http_shadower.core.ShadowRequest;
 import com.mugentwo.http_shadower.service.HttpForwardingService;
+import com.mugentwo.http_shadower.warmup.StartupWarmup;
+import com.mugentwo.http_shadower.warmup.WarmupMetrics;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
 import jakarta.servlet.http.HttpServletRequest;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
@@ -11,6 +16,8 @@ import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 
 import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.concurrent.CompletableFuture;
 
 import static org.junit.jupiter.api.Assertions.*;
 import static org.mockito.ArgumentMatchers.*;
@@ -24,38 +31,41 @@ class HttpProxyControllerTest {
     
     @Mock
     private HttpServletRequest request;
+
+    @Mock
+    private StartupWarmup startupWarmup;
     
     private HttpProxyController controller;
 
     @BeforeEach
     void setUp() {
-        controller = new HttpProxyController(forwardingService);
+        controller = new HttpProxyController(forwardingService, new WarmupMetrics(new SimpleMeterRegistry()), startupWarmup);
     }
 
     @Test
     void testProxyRequest_PostWithBody() throws IOException {
         // Arrange
-        String requestBody = "{\"test\": \"data\"}";
-        ResponseEntity<String> expectedResponse = new ResponseEntity<>("Success from destination", HttpStatus.OK);
+        byte[] requestBody = "{\"test\": \"data\"}".getBytes(StandardCharsets.UTF_8);
+        ResponseEntity<byte[]> expectedResponse = new ResponseEntity<>("Success from destination".getBytes(StandardCharsets.UTF_8), HttpStatus.OK);
         
         when(request.getMethod()).thenReturn("POST");
         when(request.getRequestURI()).thenReturn("/api/test");
         when(forwardingService.forwardRequestAndGetResponse(request, requestBody)).thenReturn(expectedResponse);
 
         // Act
-        ResponseEntity<String> response = controller.proxyRequest(request, requestBody);
+        ResponseEntity<byte[]> response = controller.proxyRequest(request, requestBody);
 
         // Assert
         assertEquals(HttpStatus.OK, response.getStatusCode());
-        assertEquals("Success from destination", response.getBody());
+        assertEquals("Success from destination", new String(response.getBody(), StandardCharsets.UTF_8));
         verify(forwardingService).forwardRequestAndGetResponse(request, requestBody);
     }
 
     @Test
     void testProxyRequest_PostWithoutProvidedBody() throws IOException {
         // Arrange
-        String extractedBody = "{\"extracted\": \"data\"}";
-        ResponseEntity<String> expectedResponse = new ResponseEntity<>("Response with extracted body", HttpStatus.CREATED);
+        byte[] extractedBody = "{\"extracted\": \"data\"}".getBytes(StandardCharsets.UTF_8);
+        ResponseEntity<byte[]> expectedResponse = new ResponseEntity<>("Response with extracted body".getBytes(StandardCharsets.UTF_8), HttpStatus.CREATED);
         
         when(request.getMethod()).thenReturn("POST");
         when(request.getRequestURI()).thenReturn("/api/test");
@@ -63,11 +73,11 @@ class HttpProxyControllerTest {
         when(forwardingService.forwardRequestAndGetResponse(request, extractedBody)).thenReturn(expectedResponse);
 
         // Act
-        ResponseEntity<String> response = controller.proxyRequest(request, null);
+        ResponseEntity<byte[]> response = controller.proxyRequest(request, null);
 
         // Assert
         assertEquals(HttpStatus.CREATED, response.getStatusCode());
-        assertEquals("Response with extracted body", response.getBody());
+        assertEquals("Response with extracted body", new String(response.getBody(), StandardCharsets.UTF_8));
         verify(forwardingService).extractRequestBody(request);
         verify(forwardingService).forwardRequestAndGetResponse(request, extractedBody);
     }
@@ -75,18 +85,18 @@ class HttpProxyControllerTest {
     @Test
     void testProxyRequest_GetRequest() throws IOException {
         // Arrange
-        ResponseEntity<String> expectedResponse = new ResponseEntity<>("[{\"id\":1,\"name\":\"User1\"}]", HttpStatus.OK);
+        ResponseEntity<byte[]> expectedResponse = new ResponseEntity<>("[{\"id\":1,\"name\":\"User1\"}]".getBytes(StandardCharsets.UTF_8), HttpStatus.OK);
         
         when(request.getMethod()).thenReturn("GET");
         when(request.getRequestURI()).thenReturn("/api/users");
         when(forwardingService.forwardRequestAndGetResponse(request, null)).thenReturn(expectedResponse);
 
         // Act
-        ResponseEntity<String> response = controller.proxyRequest(request, null);
+        ResponseEntity<byte[]> response = controller.proxyRequest(request, null);
 
         // Assert
         assertEquals(HttpStatus.OK, response.getStatusCode());
-        assertEquals("[{\"id\":1,\"name\":\"User1\"}]", response.getBody());
+        assertEquals("[{\"id\":1,\"name\":\"User1\"}]", new String(response.getBody(), StandardCharsets.UTF_8));
         verify(forwardingService, never()).extractRequestBody(request);
         verify(forwardingService).forwardRequestAndGetResponse(request, null);
     }
@@ -94,37 +104,55 @@ class HttpProxyControllerTest {
     @Test
     void testProxyRequest_PutRequest() throws IOException {
         // Arrange
-        String requestBody = "{\"update\": \"data\"}";
-        ResponseEntity<String> expectedResponse = new ResponseEntity<>("Updated successfully", HttpStatus.OK);
+        byte[] requestBody = "{\"update\": \"data\"}".getBytes(StandardCharsets.UTF_8);
+        ResponseEntity<byte[]> expectedResponse = new ResponseEntity<>("Updated successfully".getBytes(StandardCharsets.UTF_8), HttpStatus.OK);
         
         when(request.getMethod()).thenReturn("PUT");
         when(request.getRequestURI()).thenReturn("/api/users/123");
         when(forwardingService.forwardRequestAndGetResponse(request, requestBody)).thenReturn(expectedResponse);
 
         // Act
-        ResponseEntity<String> response = controller.proxyRequest(request, requestBody);
+        ResponseEntity<byte[]> response = controller.proxyRequest(request, requestBody);
 
         // Assert
         assertEquals(HttpStatus.OK, response.getStatusCode());
-        assertEquals("Updated successfully", response.getBody());
+        assertEquals("Updated successfully", new String(response.getBody(), StandardCharsets.UTF_8));
         verify(forwardingService).forwardRequestAndGetResponse(request, requestBody);
     }
 
     @Test
     void testProxyRequest_DeleteRequest() throws IOException {
         // Arrange
-        ResponseEntity<String> expectedResponse = new ResponseEntity<>("Deleted", HttpStatus.NO_CONTENT);
+        ResponseEntity<byte[]> expectedResponse = new ResponseEntity<>("Deleted".getBytes(StandardCharsets.UTF_8), HttpStatus.NO_CONTENT);
         
         when(request.getMethod()).thenReturn("DELETE");
         when(request.getRequestURI()).thenReturn("/api/users/123");
         when(forwardingService.forwardRequestAndGetResponse(request, null)).thenReturn(expectedResponse);
 
         // Act
-        ResponseEntity<String> response = controller.proxyRequest(request, null);
+        ResponseEntity<byte[]> response = controller.proxyRequest(request, null);
 
         // Assert
         assertEquals(HttpStatus.NO_CONTENT, response.getStatusCode());
-        assertEquals("Deleted", response.getBody());
+        assertEquals("Deleted", new String(response.getBody(), StandardCharsets.UTF_8));
         verify(forwardingService).forwardRequestAndGetResponse(request, null);
     }
-}
\ No newline at end of file
+
+    @Test
+    void testProxyRequest_SyntheticWarmupRequestSkipsResponseSource() throws IOException {
+        // Arrange
+        when(request.getMethod()).thenReturn("HEAD");
+        when(request.getRequestURI()).thenReturn("/health");
+        when(request.getHeader(StartupWarmup.WARMUP_HEADER)).thenReturn("token");
+        when(startupWarmup.syntheticMode("token")).thenReturn(WarmupProperties.Synthetic.SHADOWS);
+        when(forwardingService.forwardShadowCopies(any(ShadowRequest.class))).thenReturn(CompletableFuture.completedFuture(null));
+
+        // Act
+        ResponseEntity<byte[]> response = controller.proxyRequest(request, null);
+
+        // Assert
+        assertEquals(HttpStatus.NO_CONTENT, response.getStatusCode());
+        verify(forwardingService).forwardShadowCopies(any(ShadowRequest.class));
+        verify(forwardingService, never()).forwardRequestAndGetResponse(any(), any());
+    }
+}
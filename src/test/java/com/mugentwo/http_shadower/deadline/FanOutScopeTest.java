@@ -0,0 +1,114 @@
+package com.mugentwo.http_shadower.deadline;
+
+import com.mugentwo.http_shadower.config.DeadlineProperties;
+import com.mugentwo.http_shadower.config.DeadlineRouteProperties;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class FanOutScopeTest {
+
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+    private final ExecutorService executor = Executors.newCachedThreadPool();
+    private DeadlineProperties properties;
+    private DeadlineScopes deadlineScopes;
+
+    @BeforeEach
+    void setUp() {
+        properties = new DeadlineProperties();
+        properties.setTimeout(Duration.ofSeconds(30));
+        properties.setRoutes(List.of(new DeadlineRouteProperties(List.of("/api/slow/**"), Duration.ofMillis(100))));
+        deadlineScopes = new DeadlineScopes(properties, meterRegistry);
+    }
+
+    @AfterEach
+    void tearDown() {
+        deadlineScopes.shutdown();
+        executor.shutdownNow();
+    }
+
+    @Test
+    void testResolvesPerRouteTimeout() {
+        assertEquals(Duration.ofMillis(100), deadlineScopes.timeoutFor("/api/slow/report"));
+        assertEquals(Duration.ofSeconds(30), deadlineScopes.timeoutFor("/api/orders"));
+    }
+
+    @Test
+    void testDeadlineInterruptsRunningCallsAndSkipsQueuedOnes() throws InterruptedException {
+        // Arrange
+        var scope = deadlineScopes.open("/api/slow/report");
+        var interrupted = new CountDownLatch(1);
+        var skipped = new AtomicBoolean();
+        var hung = scope.fork("staging", () -> {
+            try {
+                Thread.sleep(10_000);
+            } catch (InterruptedException e) {
+                interrupted.countDown();
+            }
+        }, () -> {});
+        var queued = scope.fork("canary", () -> fail("queued call should not run"), () -> skipped.set(true));
+        scope.seal();
+
+        // Act
+        executor.execute(hung);
+        boolean cancelled = interrupted.await(5, TimeUnit.SECONDS);
+        queued.run();
+
+        // Assert
+        assertTrue(cancelled);
+        assertTrue(skipped.get());
+        assertEquals(FanOutScope.Reason.DEADLINE, scope.getCancelled());
+        assertEquals(1.0, meterRegistry.get("shadower.deadline.cancelled")
+                .tag("destination", "staging").tag("state", "running").counter().count());
+        assertEquals(1.0, meterRegistry.get("shadower.deadline.cancelled")
+                .tag("destination", "canary").tag("state", "queued").counter().count());
+    }
+
+    @Test
+    void testAbandonedScopeSkipsEachCallExactlyOnce() {
+        // Arrange
+        var scope = deadlineScopes.open("/api/orders");
+        var skips = new AtomicInteger();
+        var call = scope.fork("staging", () -> fail("abandoned call should not run"), skips::incrementAndGet);
+
+        // Act
+        scope.cancel(FanOutScope.Reason.ABANDONED);
+        call.skip();
+        call.run();
+        var late = scope.fork("canary", () -> fail("call forked after cancellation should not run"), skips::incrementAndGet);
+        late.run();
+
+        // Assert
+        assertEquals(2, skips.get());
+        assertEquals(1.0, meterRegistry.get("shadower.deadline.cancelled")
+                .tag("destination", "staging").tag("reason", "abandoned").counter().count());
+    }
+
+    @Test
+    void testCompletedCallsAreNotCancelled() {
+        // Arrange
+        var scope = deadlineScopes.open("/api/orders");
+
+        // Act
+        String result = scope.callInline("primary", () -> "ok");
+        scope.seal();
+        scope.cancel(FanOutScope.Reason.ABANDONED);
+
+        // Assert
+        assertEquals("ok", result);
+        assertTrue(meterRegistry.find("shadower.deadline.cancelled").counters().isEmpty());
+        assertFalse(Thread.currentThread().isInterrupted());
+    }
+}
@@ -0,0 +1,89 @@
+package com.mugentwo.http_shadower.limit;
+
+import com.mugentwo.http_shadower.config.ConcurrencyLimitProperties;
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class AdaptiveConcurrencyLimiterTest {
+
+    @Test
+    void testShedsWhenInFlightReachesLimit() {
+        // Arrange
+        var limiter = new AdaptiveConcurrencyLimiter("shadow", new ConcurrencyLimitProperties(2, 1, 10));
+
+        // Act
+        boolean first = limiter.tryAcquire();
+        boolean second = limiter.tryAcquire();
+        boolean third = limiter.tryAcquire();
+
+        // Assert
+        assertTrue(first);
+        assertTrue(second);
+        assertFalse(third);
+        assertEquals(2, limiter.getInFlight());
+        assertEquals(2, limiter.getAcceptedCount());
+        assertEquals(1, limiter.getShedCount());
+    }
+
+    @Test
+    void testSteadyLatencyGrowsLimit() {
+        // Arrange
+        var limiter = new AdaptiveConcurrencyLimiter("shadow", new ConcurrencyLimitProperties(10, 1, 100));
+
+        // Act
+        for (int round = 0; round < 20; round++) {
+            runRound(limiter, TimeUnit.MILLISECONDS.toNanos(5));
+        }
+
+        // Assert
+        assertTrue(limiter.getLimit() > 10, "limit should grow, was " + limiter.getLimit());
+        assertEquals(0, limiter.getInFlight());
+    }
+
+    @Test
+    void testRisingLatencyShrinksLimit() {
+        // Arrange
+        var limiter = new AdaptiveConcurrencyLimiter("shadow", new ConcurrencyLimitProperties(50, 1, 50));
+        for (int round = 0; round < 5; round++) {
+            runRound(limiter, TimeUnit.MILLISECONDS.toNanos(5));
+        }
+        int limitBefore = limiter.getLimit();
+
+        // Act
+        for (int round = 0; round < 5; round++) {
+            runRound(limiter, TimeUnit.MILLISECONDS.toNanos(50));
+        }
+
+        // Assert
+        assertTrue(limiter.getLimit() < limitBefore,
+                "limit should shrink from " + limitBefore + ", was " + limiter.getLimit());
+    }
+
+    @Test
+    void testDropsBackOffLimit() {
+        // Arrange
+        var limiter = new AdaptiveConcurrencyLimiter("shadow", new ConcurrencyLimitProperties(20, 1, 100));
+        assertTrue(limiter.tryAcquire());
+
+        // Act
+        limiter.onDropped();
+
+        // Assert
+        assertEquals(18, limiter.getLimit());
+        assertEquals(1, limiter.getDroppedCount());
+        assertEquals(0, limiter.getInFlight());
+    }
+
+    private void runRound(AdaptiveConcurrencyLimiter limiter, long rttNanos) {
+        int acquired = 0;
+        while (limiter.tryAcquire()) {
+            acquired++;
+        }
+        for (int i = 0; i < acquired; i++) {
+            limiter.onSuccess(rttNanos);
+        }
+    }
+}
@@ -0,0 +1,55 @@
+package com.mugentwo.http_shadower.limit;
+
+import org.junit.jupiter.api.Test;
+
+import java.lang.management.MemoryPoolMXBean;
+import java.lang.management.MemoryType;
+import java.lang.management.MemoryUsage;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+class HeapPressureMonitorTest {
+
+    @Test
+    void testIgnoresFullYoungGenerationPools() {
+        // Arrange
+        var eden = pool(false, 0, 100, 100);
+        var survivor = pool(false, 98, 100, 100);
+        var oldGen = pool(true, 300, 1000, 1000);
+        var monitor = new HeapPressureMonitor(0.85, 0.5, List.of(eden, survivor, oldGen), List.of());
+
+        // Act
+        boolean underPressure = monitor.isUnderPressure();
+
+        // Assert
+        assertFalse(underPressure);
+        assertEquals(0.3, monitor.getHeapOccupancy(), 1e-9);
+    }
+
+    @Test
+    void testReportsPressureWhenTenuredPoolsStayFullAfterGc() {
+        // Arrange
+        var survivor = pool(false, 100, 100, 100);
+        var oldGen = pool(true, 700, -1, 800);
+        var humongous = pool(true, 150, -1, 200);
+        var monitor = new HeapPressureMonitor(0.85, 0.5, List.of(survivor, oldGen, humongous), List.of());
+
+        // Act
+        boolean underPressure = monitor.isUnderPressure();
+
+        // Assert
+        assertTrue(underPressure);
+        assertEquals(0.85, monitor.getHeapOccupancy(), 1e-9);
+    }
+
+    private static MemoryPoolMXBean pool(boolean tenured, long usedAfterGc, long max, long committed) {
+        var pool = mock(MemoryPoolMXBean.class);
+        when(pool.getType()).thenReturn(MemoryType.HEAP);
+        when(pool.isUsageThresholdSupported()).thenReturn(tenured);
+        when(pool.getCollectionUsage()).thenReturn(new MemoryUsage(0, usedAfterGc, committed, max));
+        when(pool.getUsage()).thenReturn(new MemoryUsage(0, usedAfterGc, committed, max));
+        return pool;
+    }
+}
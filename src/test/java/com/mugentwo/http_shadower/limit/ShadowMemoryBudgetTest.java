@@ -0,0 +1,87 @@
+package com.mugentwo.http_shadower.limit;
+
+import com.mugentwo.http_shadower.config.BudgetProperties;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.util.unit.DataSize;
+
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class ShadowMemoryBudgetTest {
+
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+    private final AtomicBoolean heapPressure = new AtomicBoolean();
+    private BudgetProperties properties;
+
+    @BeforeEach
+    void setUp() {
+        properties = new BudgetProperties();
+        properties.setMaxInFlight(DataSize.ofBytes(1000));
+    }
+
+    @Test
+    void testShedsOnceBudgetIsExhaustedAndRecoversOnRelease() {
+        // Arrange
+        var budget = new ShadowMemoryBudget(properties, meterRegistry, heapPressure::get);
+
+        // Act
+        var first = budget.tryAcquire(600);
+        var second = budget.tryAcquire(600);
+        budget.release(600);
+        var third = budget.tryAcquire(600);
+
+        // Assert
+        assertEquals(ShadowMemoryBudget.Admission.ADMITTED, first);
+        assertEquals(ShadowMemoryBudget.Admission.SHED, second);
+        assertEquals(ShadowMemoryBudget.Admission.ADMITTED, third);
+        assertEquals(600, budget.getInFlightBytes());
+        assertEquals(1.0, meterRegistry.get("shadower.budget.shed.requests").tag("reason", "budget").counter().count());
+        assertEquals(600.0, meterRegistry.get("shadower.budget.shed.bytes").counter().count());
+    }
+
+    @Test
+    void testDegradesToHeadersOnlyWhenConfigured() {
+        // Arrange
+        properties.setOverBudget(BudgetProperties.OverBudget.HEADERS_ONLY);
+        var budget = new ShadowMemoryBudget(properties, meterRegistry, heapPressure::get);
+        budget.tryAcquire(1000);
+
+        // Act
+        var admission = budget.tryAcquire(10);
+
+        // Assert
+        assertEquals(ShadowMemoryBudget.Admission.HEADERS_ONLY, admission);
+        assertEquals(1000, budget.getInFlightBytes());
+        assertEquals(1.0, meterRegistry.get("shadower.budget.headers.only").counter().count());
+    }
+
+    @Test
+    void testShedsUnderHeapPressureEvenWithinBudget() {
+        // Arrange
+        var budget = new ShadowMemoryBudget(properties, meterRegistry, heapPressure::get);
+        heapPressure.set(true);
+
+        // Act
+        var admission = budget.tryAcquire(10);
+
+        // Assert
+        assertEquals(ShadowMemoryBudget.Admission.SHED, admission);
+        assertEquals(0, budget.getInFlightBytes());
+        assertEquals(1.0, meterRegistry.get("shadower.budget.shed.requests").tag("reason", "heap").counter().count());
+    }
+
+    @Test
+    void testDisabledBudgetAdmitsEverything() {
+        // Arrange
+        properties.setEnabled(false);
+        var budget = new ShadowMemoryBudget(properties, meterRegistry, heapPressure::get);
+        heapPressure.set(true);
+
+        // Act & Assert
+        assertEquals(ShadowMemoryBudget.Admission.ADMITTED, budget.tryAcquire(1_000_000));
+        assertEquals(0, budget.getInFlightBytes());
+    }
+}
@@ -0,0 +1,76 @@
+package com.mugentwo.http_shadower.mask;
+
+import com.mugentwo.http_shadower.config.MaskPatternProperties;
+import com.mugentwo.http_shadower.config.MaskingProperties;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class BodyMaskerTest {
+
+    private BodyMasker masker;
+
+    @BeforeEach
+    void setUp() {
+        var masking = new MaskingProperties();
+        masking.setJsonFields(List.of("customer.email", "**.cardNumber", "tokens", "items.*.secret"));
+        masking.setPatterns(List.of(
+                new MaskPatternProperties("\\d{4}-\\d{4}-\\d{4}-\\d{4}", null),
+                new MaskPatternProperties("(?<=password=)[^&]*", "xxx")));
+        masker = new BodyMasker(masking);
+    }
+
+    @Test
+    void testMasksJsonFieldsByPath() {
+        // Act
+        String masked = mask("{\"customer\":{\"email\":\"jane@example.com\",\"name\":\"Jane\"},\"email\":\"kept@example.com\"}", "application/json");
+
+        // Assert
+        assertEquals("{\"customer\":{\"email\":\"***\",\"name\":\"Jane\"},\"email\":\"kept@example.com\"}", masked);
+    }
+
+    @Test
+    void testMasksThroughArraysWildcardsAndAnyDepth() {
+        // Act
+        String masked = mask("[{\"tokens\":[1,{\"a\":2}],\"items\":{\"first\":{\"secret\":{\"pin\":1},\"ok\":true}},"
+                + "\"payments\":[{\"cardNumber\":\"4111111111111111\",\"amount\":12.50}]}]", "application/vnd.api+json");
+
+        // Assert
+        assertEquals("[{\"tokens\":\"***\",\"items\":{\"first\":{\"secret\":\"***\",\"ok\":true}},"
+                + "\"payments\":[{\"cardNumber\":\"***\",\"amount\":12.50}]}]", masked);
+    }
+
+    @Test
+    void testKeepsNullValuesAndUnmatchedBodiesIntact() {
+        // Act & Assert
+        assertEquals("{\"customer\":{\"email\":null}}", mask("{\"customer\":{\"email\":null}}", "application/json"));
+        byte[] body = "plain text".getBytes(StandardCharsets.UTF_8);
+        assertSame(body, masker.mask(body, "text/plain", null));
+    }
+
+    @Test
+    void testAppliesEachPatternsReplacementToFormBodies() {
+        // Act
+        String masked = mask("user=jane&password=hunter2&card=1234-5678-9012-3456", "application/x-www-form-urlencoded");
+
+        // Assert
+        assertEquals("user=jane&password=xxx&card=***", masked);
+    }
+
+    @Test
+    void testRefusesBodiesItCannotInspect() {
+        // Act & Assert
+        assertNull(masker.mask("{\"customer\":".getBytes(StandardCharsets.UTF_8), "application/json", null));
+        assertNull(masker.mask(new byte[] {1, 2, 3}, "application/octet-stream", null));
+        assertNull(masker.mask("{}".getBytes(StandardCharsets.UTF_8), "application/json", "gzip"));
+        assertNull(masker.mask("{}".getBytes(StandardCharsets.UTF_8), null, null));
+    }
+
+    private String mask(String body, String contentType) {
+        return new String(masker.mask(body.getBytes(StandardCharsets.UTF_8), contentType, null), StandardCharsets.UTF_8);
+    }
+}
@@ -0,0 +1,113 @@
+package com.mugentwo.http_shadower.priority;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Queue;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class PriorityShadowSchedulerTest {
+
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+    private final Queue<Runnable> executor = new ArrayDeque<>();
+    private final List<String> executed = new ArrayList<>();
+    private final List<String> shed = new ArrayList<>();
+
+    @Test
+    void testRunsHigherClassesFirst() {
+        // Arrange
+        var scheduler = scheduler(List.of(0.0, 0.0), 1, 10);
+        submit(scheduler, 1, "low-1");
+        submit(scheduler, 1, "low-2");
+        submit(scheduler, 0, "high-1");
+
+        // Act
+        runAll();
+
+        // Assert
+        assertEquals(List.of("low-1", "high-1", "low-2"), executed);
+        assertEquals(1.0, meterRegistry.get("shadower.priority.dispatched").tag("class", "high").counter().count());
+        assertEquals(2.0, meterRegistry.get("shadower.priority.dispatched").tag("class", "low").counter().count());
+    }
+
+    @Test
+    void testMinShareKeepsLowerClassFromStarving() {
+        // Arrange
+        var scheduler = scheduler(List.of(0.0, 0.5), 1, 100);
+        submit(scheduler, 0, "high-0");
+        for (int i = 1; i <= 10; i++) {
+            submit(scheduler, 0, "high-" + i);
+            submit(scheduler, 1, "low-" + i);
+        }
+
+        // Act
+        runAll();
+
+        // Assert
+        assertEquals(21, executed.size());
+        long lowInFirstSix = executed.subList(0, 6).stream().filter(name -> name.startsWith("low")).count();
+        assertTrue(lowInFirstSix >= 2, "low class should be served while high is still queued: " + executed);
+        assertTrue(executed.indexOf("low-1") < executed.indexOf("high-10"));
+    }
+
+    @Test
+    void testFullQueueEvictsLowerClassBeforeShedding() {
+        // Arrange
+        var scheduler = scheduler(List.of(0.0, 0.0), 1, 2);
+        submit(scheduler, 0, "high-1");
+        submit(scheduler, 1, "low-1");
+        submit(scheduler, 1, "low-2");
+
+        // Act
+        submit(scheduler, 0, "high-2");
+        submit(scheduler, 1, "low-3");
+        runAll();
+
+        // Assert
+        assertEquals(List.of("low-2", "low-3"), shed);
+        assertEquals(List.of("high-1", "high-2", "low-1"), executed);
+        assertEquals(2.0, meterRegistry.get("shadower.priority.shed").tag("class", "low").counter().count());
+        assertEquals(0.0, meterRegistry.get("shadower.priority.queued").tag("class", "low").gauge().value());
+    }
+
+    @Test
+    void testMinShareReservesQueueSlotsDuringHigherClassFlood() {
+        // Arrange
+        var scheduler = scheduler(List.of(0.0, 0.2), 1, 5);
+        submit(scheduler, 0, "high-0");
+
+        // Act
+        for (int i = 1; i <= 50; i++) {
+            submit(scheduler, 0, "high-" + i);
+            if (i % 10 == 0) {
+                submit(scheduler, 1, "low-" + i);
+            }
+        }
+        runAll();
+
+        // Assert
+        assertTrue(executed.contains("low-10"), "low class should keep its reserved slot: " + executed);
+        assertEquals(1.0, meterRegistry.get("shadower.priority.dispatched").tag("class", "low").counter().count());
+        assertEquals(4.0, meterRegistry.get("shadower.priority.shed").tag("class", "low").counter().count());
+        assertEquals(0.0, meterRegistry.get("shadower.priority.queued").tag("class", "low").gauge().value());
+    }
+
+    private PriorityShadowScheduler scheduler(List<Double> minShares, int maxConcurrent, int maxQueued) {
+        return new PriorityShadowScheduler(List.of("high", "low"), minShares, maxConcurrent, maxQueued, executor::add, meterRegistry);
+    }
+
+    private void submit(PriorityShadowScheduler scheduler, int priority, String name) {
+        scheduler.submit(priority, () -> executed.add(name), () -> shed.add(name));
+    }
+
+    private void runAll() {
+        Runnable next;
+        while ((next = executor.poll()) != null) {
+            next.run();
+        }
+    }
+}
@@ -0,0 +1,70 @@
+package com.mugentwo.http_shadower.profile;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class RouteTemplateLearnerTest {
+
+    @Test
+    void testReplacesIdentifierSegments() {
+        // Arrange
+        var learner = new RouteTemplateLearner(64, 1000);
+
+        // Act & Assert
+        assertEquals("/users/{id}", learner.templateOf("/users/123"));
+        assertEquals("/users/{id}/orders/{id}", learner.templateOf("/users/42/orders/0b5e8c1e-4a57-4c4e-9d0e-6f1b2a3c4d5e"));
+        assertEquals("/blobs/{id}", learner.templateOf("/blobs/9f86d081884c7d659a2feaa0c55ad015"));
+        assertEquals("/api/v2/status", learner.templateOf("/api/v2/status"));
+        assertEquals("/", learner.templateOf("/"));
+    }
+
+    @Test
+    void testLearnsParameterAfterTooManyDistinctLiterals() {
+        // Arrange
+        var learner = new RouteTemplateLearner(3, 1000);
+        assertEquals("/profiles/alice", learner.templateOf("/profiles/alice"));
+        learner.templateOf("/profiles/bob");
+        learner.templateOf("/profiles/carol");
+
+        // Act
+        String template = learner.templateOf("/profiles/dave");
+
+        // Assert
+        assertEquals("/profiles/{param}", template);
+        assertEquals("/profiles/{param}", learner.templateOf("/profiles/alice"));
+        assertEquals("/profiles/{param}/avatar", learner.templateOf("/profiles/erin/avatar"));
+    }
+
+    @Test
+    void testKeepsWorkingOnceTemplateCacheIsFull() {
+        // Arrange
+        var learner = new RouteTemplateLearner(64, 2);
+
+        // Act
+        for (int i = 0; i < 10; i++) {
+            learner.templateOf("/items/" + i);
+        }
+
+        // Assert
+        assertEquals("/items/{id}", learner.templateOf("/items/99"));
+    }
+
+    @Test
+    void testPromotionReleasesNodesOfDroppedSubtrees() {
+        // Arrange
+        var learner = new RouteTemplateLearner(3, 1000, 20);
+        for (String tenant : new String[] {"alpha", "beta", "gamma"}) {
+            for (int i = 0; i < 4; i++) {
+                learner.templateOf("/" + tenant + "/item" + i + "/detail");
+            }
+        }
+
+        // Act
+        String template = learner.templateOf("/alpha/item9/new1/new2/new3/new4/new5/new6/new7/new8/new9");
+
+        // Assert
+        assertEquals("/gamma/{param}/detail", learner.templateOf("/gamma/item0/detail"));
+        assertEquals("/alpha/{param}/new1/new2/new3/new4/new5/new6/new7/new8/new9", template);
+    }
+}
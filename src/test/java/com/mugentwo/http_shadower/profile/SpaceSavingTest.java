@@ -0,0 +1,48 @@
+package com.mugentwo.http_shadower.profile;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class SpaceSavingTest {
+
+    @Test
+    void testCountsExactlyWhileUnderCapacity() {
+        // Arrange
+        var sketch = new SpaceSaving(4);
+
+        // Act
+        sketch.offer("GET /a", 5);
+        sketch.offer("GET /b", 2);
+        sketch.offer("GET /a", 1);
+
+        // Assert
+        List<SpaceSaving.Entry> top = sketch.top(10);
+        assertEquals(new SpaceSaving.Entry("GET /a", 6, 0), top.get(0));
+        assertEquals(new SpaceSaving.Entry("GET /b", 2, 0), top.get(1));
+        assertEquals(8, sketch.getTotal());
+    }
+
+    @Test
+    void testKeepsHeavyHittersInFixedMemory() {
+        // Arrange
+        var sketch = new SpaceSaving(8);
+
+        // Act
+        for (int i = 0; i < 10_000; i++) {
+            sketch.offer("GET /hot", 1);
+            sketch.offer("GET /warm", i % 2);
+            sketch.offer("GET /tail/" + i, 1);
+        }
+
+        // Assert
+        List<SpaceSaving.Entry> top = sketch.top(2);
+        assertEquals("GET /hot", top.get(0).key());
+        assertEquals("GET /warm", top.get(1).key());
+        assertTrue(top.get(0).weight() - top.get(0).error() <= 10_000);
+        assertTrue(top.get(0).weight() >= 10_000);
+        assertEquals(8, sketch.top(100).size());
+    }
+}
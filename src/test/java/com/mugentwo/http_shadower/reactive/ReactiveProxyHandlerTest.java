@@ -0,0 +1,148 @@
+package com.mugentwo.http_shadower.reactive;
+
+import com.mugentwo.http_shadower.balance.DestinationPools;
+import com.mugentwo.http_shadower.config.DestinationProperties;
+import com.mugentwo.http_shadower.config.ShadowerConfiguration;
+import com.mugentwo.http_shadower.deadline.DeadlineScopes;
+import com.mugentwo.http_shadower.routing.TenantRouter;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import reactor.core.publisher.Mono;
+import reactor.netty.ByteBufFlux;
+import reactor.netty.DisposableServer;
+import reactor.netty.http.HttpProtocol;
+import reactor.netty.http.client.HttpClient;
+import reactor.netty.http.server.HttpServer;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class ReactiveProxyHandlerTest {
+
+    private final BlockingQueue<String> shadowBodies = new LinkedBlockingQueue<>();
+    private final BlockingQueue<String> shadowStreamIds = new LinkedBlockingQueue<>();
+
+    private DisposableServer primary;
+    private DisposableServer shadow;
+    private DisposableServer proxy;
+
+    @BeforeEach
+    void setUp() {
+        primary = HttpServer.create()
+                .port(0)
+                .handle((request, response) -> response.sendString(request.receive()
+                        .aggregate()
+                        .asString()
+                        .defaultIfEmpty("")
+                        .map(body -> "primary:" + body)))
+                .bindNow();
+        shadow = HttpServer.create()
+                .port(0)
+                .handle((request, response) -> {
+                    shadowStreamIds.add(String.valueOf(request.requestHeaders().get("x-http2-stream-id")));
+                    return request.receive()
+                            .aggregate()
+                            .asString()
+                            .defaultIfEmpty("")
+                            .doOnNext(shadowBodies::add)
+                            .then(response.status(202).send().then());
+                })
+                .bindNow();
+    }
+
+    @AfterEach
+    void tearDown() {
+        for (DisposableServer server : new DisposableServer[] {proxy, primary, shadow}) {
+            if (server != null) {
+                server.disposeNow();
+            }
+        }
+    }
+
+    @Test
+    void testForwardsToPrimaryAndShadow() throws InterruptedException {
+        // Arrange
+        proxy = startProxy(List.of(
+            new DestinationProperties("primary", "http://localhost:" + primary.port(), true, true),
+            new DestinationProperties("shadow", "http://localhost:" + shadow.port(), true, false)
+        ));
+
+        // Act
+        String response = post("/api/test", "{\"test\": \"data\"}");
+
+        // Assert
+        assertEquals("200 primary:{\"test\": \"data\"}", response);
+        assertEquals("{\"test\": \"data\"}", shadowBodies.poll(5, TimeUnit.SECONDS));
+    }
+
+    @Test
+    void testPrimaryUnreachableReturnsServiceUnavailable() {
+        // Arrange
+        int closedPort = primary.port();
+        primary.disposeNow();
+        primary = null;
+        proxy = startProxy(List.of(
+            new DestinationProperties("primary", "http://localhost:" + closedPort, true, true)
+        ));
+
+        // Act
+        String response = post("/api/test", "{}");
+
+        // Assert
+        assertTrue(response.startsWith("503 Service temporarily unavailable"));
+    }
+
+    @Test
+    void testAcceptsPriorKnowledgeH2c() throws InterruptedException {
+        // Arrange
+        proxy = startProxy(List.of(
+            new DestinationProperties("primary", "http://localhost:" + primary.port(), true, true),
+            new DestinationProperties("shadow", "http://localhost:" + shadow.port(), true, false)
+        ), HttpProtocol.HTTP11, HttpProtocol.H2C);
+
+        // Act
+        String response = HttpClient.create()
+                .protocol(HttpProtocol.H2C)
+                .post()
+                .uri("http://localhost:" + proxy.port() + "/api/test")
+                .send(ByteBufFlux.fromString(Mono.just("h2")))
+                .responseSingle((clientResponse, content) -> content.asString()
+                        .map(text -> clientResponse.version() + " " + text))
+                .block(Duration.ofSeconds(5));
+
+        // Assert
+        assertEquals("HTTP/2.0 primary:h2", response);
+        assertEquals("h2", shadowBodies.poll(5, TimeUnit.SECONDS));
+        assertEquals("null", shadowStreamIds.poll(5, TimeUnit.SECONDS));
+    }
+
+    private DisposableServer startProxy(List<DestinationProperties> destinations, HttpProtocol... protocols) {
+        ShadowerConfiguration configuration = new ShadowerConfiguration();
+        configuration.setDestinations(destinations);
+        return HttpServer.create()
+                .port(0)
+                .protocol(protocols.length == 0 ? new HttpProtocol[] {HttpProtocol.HTTP11} : protocols)
+                .handle(new ReactiveProxyHandler(configuration, HttpClient.create(),
+                        new DeadlineScopes(configuration.getDeadline(), new SimpleMeterRegistry()),
+                        new DestinationPools(new SimpleMeterRegistry()), new TenantRouter(configuration)))
+                .bindNow();
+    }
+
+    private String post(String path, String body) {
+        return HttpClient.create()
+                .post()
+                .uri("http://localhost:" + proxy.port() + path)
+                .send(ByteBufFlux.fromString(Mono.just(body)))
+                .responseSingle((response, content) -> content.asString()
+                        .defaultIfEmpty("")
+                        .map(text -> response.status().code() + " " + text))
+                .block(Duration.ofSeconds(5));
+    }
+}
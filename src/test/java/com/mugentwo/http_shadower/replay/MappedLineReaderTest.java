@@ -0,0 +1,65 @@
+package com.mugentwo.http_shadower.replay;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class MappedLineReaderTest {
+
+    @TempDir
+    Path tempDir;
+
+    @Test
+    void testReadsAllLinesIncludingLastWithoutNewline() throws IOException {
+        Path file = write("first\nsecond\r\nthird");
+
+        assertEquals(List.of("first", "second", "third"), readAll(file, 1024));
+    }
+
+    @Test
+    void testReadsLinesSpanningMappedWindows() throws IOException {
+        String longLine = "x".repeat(50);
+        Path file = write("short\n" + longLine + "\n\nlast\n");
+
+        assertEquals(List.of("short", longLine, "", "last"), readAll(file, 8));
+    }
+
+    @Test
+    void testEmptyFile() throws IOException {
+        Path file = write("");
+
+        assertEquals(List.of(), readAll(file, 8));
+    }
+
+    @Test
+    void testDecodesUtf8() throws IOException {
+        Path file = write("caf\u00e9 \u00fcber\n");
+
+        assertEquals(List.of("caf\u00e9 \u00fcber"), readAll(file, 3));
+    }
+
+    private Path write(String content) throws IOException {
+        Path file = tempDir.resolve("access.log");
+        Files.writeString(file, content, StandardCharsets.UTF_8);
+        return file;
+    }
+
+    private List<String> readAll(Path file, int windowSize) throws IOException {
+        List<String> lines = new ArrayList<>();
+        try (MappedLineReader reader = new MappedLineReader(file, windowSize)) {
+            String line;
+            while ((line = reader.readLine()) != null) {
+                lines.add(line);
+            }
+        }
+        return lines;
+    }
+}
@@ -0,0 +1,67 @@
+package com.mugentwo.http_shadower.replay;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.mugentwo.http_shadower.config.ReplayProperties;
+import org.junit.jupiter.api.Test;
+
+import java.nio.charset.StandardCharsets;
+import java.time.Instant;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class ReplayLineParserTest {
+
+    private final ReplayLineParser parser = ReplayLineParser.forFormat(ReplayProperties.Format.AUTO, new ObjectMapper());
+
+    @Test
+    void testParsesNginxCombinedLine() {
+        ReplayRecord record = parser.parse(
+                "10.0.0.1 - - [10/Oct/2025:13:55:36 +0000] \"GET /api/users?page=2 HTTP/1.1\" 200 612 \"-\" \"curl/8.0\"");
+
+        assertNotNull(record);
+        assertEquals(Instant.parse("2025-10-10T13:55:36Z").toEpochMilli(), record.timestampMillis());
+        assertEquals("GET", record.request().method());
+        assertEquals("/api/users", record.request().path());
+        assertEquals("page=2", record.request().query());
+        assertEquals("curl/8.0", record.request().firstHeader("User-Agent"));
+        assertNull(record.request().firstHeader("Referer"));
+    }
+
+    @Test
+    void testParsesEnvoyDefaultLine() {
+        ReplayRecord record = parser.parse(
+                "[2025-10-10T13:55:36.310Z] \"POST /api/orders HTTP/1.1\" 201 - 120 45 12 10 \"10.0.0.2\" \"okhttp\" "
+                        + "\"8f2c-11\" \"orders.example.com\" \"10.1.0.5:8080\"");
+
+        assertNotNull(record);
+        assertEquals(Instant.parse("2025-10-10T13:55:36.310Z").toEpochMilli(), record.timestampMillis());
+        assertEquals("POST", record.request().method());
+        assertEquals("/api/orders", record.request().path());
+        assertEquals("8f2c-11", record.request().firstHeader("X-Request-Id"));
+        assertEquals("orders.example.com", record.request().firstHeader("Host"));
+    }
+
+    @Test
+    void testParsesJsonLine() {
+        ReplayRecord record = parser.parse(
+                "{\"timestamp\": 1760104536000, \"method\": \"put\", \"path\": \"/api/users/1\", "
+                        + "\"headers\": {\"Content-Type\": \"application/json\", \"Host\": \"prod\", \"Accept\": [\"a\", \"b\"]}, "
+                        + "\"body\": {\"name\": \"Jane\"}}");
+
+        assertNotNull(record);
+        assertEquals(1760104536000L, record.timestampMillis());
+        assertEquals("PUT", record.request().method());
+        assertNull(record.request().query());
+        assertEquals("prod", record.request().firstHeader("Host"));
+        assertEquals(List.of("a", "b"), record.request().headers().get("Accept"));
+        assertEquals("{\"name\":\"Jane\"}", new String(record.request().body(), StandardCharsets.UTF_8));
+    }
+
+    @Test
+    void testReturnsNullForUnparseableLines() {
+        assertNull(parser.parse("not an access log line"));
+        assertNull(parser.parse("{\"method\": \"GET\"}"));
+        assertNull(parser.parse(""));
+    }
+}
@@ -0,0 +1,52 @@
+package com.mugentwo.http_shadower.replay;
+
+import com.mugentwo.http_shadower.config.ReplayProperties;
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class ReplayPacerTest {
+
+    private long now = 1_000;
+
+    @Test
+    void testOriginalPacingFollowsTimestampsWithSpeedup() {
+        ReplayProperties properties = new ReplayProperties();
+        properties.setPacing(ReplayProperties.Pacing.ORIGINAL);
+        properties.setSpeedup(2.0);
+        ReplayPacer pacer = new ReplayPacer(properties, () -> now);
+
+        assertEquals(1_000, pacer.deadlineFor(record(10_000)));
+        assertEquals(1_000 + TimeUnit.MILLISECONDS.toNanos(500), pacer.deadlineFor(record(11_000)));
+        assertEquals(now, pacer.deadlineFor(record(ReplayRecord.NO_TIMESTAMP)));
+    }
+
+    @Test
+    void testFixedRatePacingSpacesRequestsEvenly() {
+        ReplayProperties properties = new ReplayProperties();
+        properties.setPacing(ReplayProperties.Pacing.FIXED_RATE);
+        properties.setRate(100);
+        ReplayPacer pacer = new ReplayPacer(properties, () -> now);
+
+        assertEquals(1_000, pacer.deadlineFor(record(0)));
+        assertEquals(1_000 + TimeUnit.MILLISECONDS.toNanos(10), pacer.deadlineFor(record(0)));
+        assertEquals(1_000 + TimeUnit.MILLISECONDS.toNanos(20), pacer.deadlineFor(record(0)));
+    }
+
+    @Test
+    void testMaxPacingNeverWaits() {
+        ReplayProperties properties = new ReplayProperties();
+        properties.setPacing(ReplayProperties.Pacing.MAX);
+        ReplayPacer pacer = new ReplayPacer(properties, () -> now);
+
+        pacer.deadlineFor(record(0));
+        now = 5_000;
+        assertEquals(5_000, pacer.deadlineFor(record(60_000)));
+    }
+
+    private ReplayRecord record(long timestampMillis) {
+        return new ReplayRecord(timestampMillis, null);
+    }
+}
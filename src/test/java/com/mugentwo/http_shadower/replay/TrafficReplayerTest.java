@@ -0,0 +1,62 @@
+package com.mugentwo.http_shadower.replay;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.mugentwo.http_shadower.config.ReplayProperties;
+import com.mugentwo.http_shadower.config.ShadowerConfiguration;
+import com.mugentwo.http_shadower.core.ShadowRequest;
+import com.mugentwo.http_shadower.service.HttpForwardingService;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.junit.jupiter.api.io.TempDir;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.concurrent.CompletableFuture;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class TrafficReplayerTest {
+
+    @Mock
+    private HttpForwardingService forwardingService;
+
+    @TempDir
+    Path tempDir;
+
+    @Test
+    void testReplaysParseableLinesToShadowDestinations() throws Exception {
+        // Arrange
+        Path file = tempDir.resolve("access.log");
+        Files.writeString(file, String.join("\n",
+                "10.0.0.1 - - [10/Oct/2025:13:55:36 +0000] \"GET /api/users HTTP/1.1\" 200 612 \"-\" \"curl/8.0\"",
+                "garbage",
+                "",
+                "{\"method\": \"POST\", \"path\": \"/api/orders\", \"body\": \"{}\"}"));
+
+        ShadowerConfiguration configuration = new ShadowerConfiguration();
+        configuration.getReplay().setPacing(ReplayProperties.Pacing.MAX);
+        when(forwardingService.forwardShadowCopies(any(ShadowRequest.class)))
+                .thenReturn(CompletableFuture.completedFuture(null));
+
+        TrafficReplayer replayer = new TrafficReplayer(configuration, forwardingService, new ObjectMapper());
+
+        // Act
+        TrafficReplayer.ReplaySummary summary = replayer.replay(file);
+
+        // Assert
+        assertEquals(4, summary.lines());
+        assertEquals(2, summary.replayed());
+        assertEquals(1, summary.skipped());
+
+        ArgumentCaptor<ShadowRequest> requests = ArgumentCaptor.forClass(ShadowRequest.class);
+        verify(forwardingService, times(2)).forwardShadowCopies(requests.capture());
+        assertEquals("/api/users", requests.getAllValues().get(0).path());
+        assertEquals("POST", requests.getAllValues().get(1).method());
+    }
+}
@@ -0,0 +1,94 @@
+package com.mugentwo.http_shadower.routing;
+
+import com.mugentwo.http_shadower.config.DestinationProperties;
+import com.mugentwo.http_shadower.config.ShadowerConfiguration;
+import com.mugentwo.http_shadower.config.TenantProperties;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class TenantRouterTest {
+
+    private ShadowerConfiguration configuration;
+
+    @BeforeEach
+    void setUp() {
+        configuration = new ShadowerConfiguration();
+        configuration.setDestinations(List.of(new DestinationProperties("fallback", "http://localhost:3000", true, true)));
+    }
+
+    @Test
+    void testResolve_PrefersExactHostOverPathPrefix() {
+        // Arrange
+        configuration.setTenants(List.of(
+                tenant("orders", List.of("orders.example.com"), List.of()),
+                tenant("billing", List.of(), List.of("/billing"))));
+        var router = new TenantRouter(configuration);
+
+        // Act
+        var byHost = router.resolve("ORDERS.example.com:8443", "/billing/invoices");
+        var byPath = router.resolve("other.example.com", "/billing/invoices");
+
+        // Assert
+        assertEquals("orders", byHost.getName());
+        assertEquals("billing", byPath.getName());
+        assertEquals("orders-primary", byHost.getResponseSource().getName());
+    }
+
+    @Test
+    void testResolve_MatchesLongestPrefixOnSegmentBoundaries() {
+        // Arrange
+        configuration.setTenants(List.of(
+                tenant("api", List.of(), List.of("/api")),
+                tenant("orders", List.of(), List.of("/api/orders/")),
+                tenant("root", List.of(), List.of("/"))));
+        var router = new TenantRouter(configuration);
+
+        // Act & Assert
+        assertEquals("orders", router.resolve(null, "/api/orders").getName());
+        assertEquals("orders", router.resolve(null, "/api/orders/42/items").getName());
+        assertEquals("api", router.resolve(null, "/api/orders-archive").getName());
+        assertEquals("root", router.resolve(null, "/apiv2").getName());
+        assertEquals("root", router.resolve(null, "/").getName());
+    }
+
+    @Test
+    void testResolve_FallsBackToTopLevelDestinations() {
+        // Arrange
+        configuration.setTenants(List.of(tenant("orders", List.of("orders.example.com"), List.of("/orders"))));
+        var router = new TenantRouter(configuration);
+
+        // Act
+        var tenant = router.resolve("[::1]:8080", "/inventory/7");
+
+        // Assert
+        assertEquals(Tenant.DEFAULT, tenant.getName());
+        assertEquals("fallback", tenant.getResponseSource().getName());
+        assertEquals(1, tenant.getDestinations().size());
+    }
+
+    @Test
+    void testTryAcquireShadow_EnforcesTenantLimit() {
+        // Arrange
+        var properties = tenant("orders", List.of("orders.example.com"), List.of());
+        properties.setMaxInFlightShadows(1);
+        configuration.setTenants(List.of(properties));
+        var tenant = new TenantRouter(configuration).resolve("orders.example.com", "/");
+
+        // Act & Assert
+        assertTrue(tenant.tryAcquireShadow());
+        assertFalse(tenant.tryAcquireShadow());
+        tenant.releaseShadow();
+        assertTrue(tenant.tryAcquireShadow());
+        assertEquals(1, tenant.getInFlightShadows());
+    }
+
+    private static TenantProperties tenant(String name, List<String> hosts, List<String> pathPrefixes) {
+        return new TenantProperties(name, hosts, pathPrefixes, List.of(
+                new DestinationProperties(name + "-primary", "http://localhost:3001", true, true),
+                new DestinationProperties(name + "-shadow", "http://localhost:3002", true, false)));
+    }
+}
@@ -1,22 +1,63 @@
 package com.mugentwo.http_shadower.service;
 
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.mugentwo.http_shadower.balance.DestinationPools;
+import com.mugentwo.http_shadower.batch.BatchDeliveryService;
+import com.mugentwo.http_shadower.config.BatchProperties;
+import com.mugentwo.http_shadower.config.BudgetProperties;
+import com.mugentwo.http_shadower.config.CompressionProperties;
+import com.mugentwo.http_shadower.config.ConcurrencyLimitProperties;
+import com.mugentwo.http_shadower.config.DeadlineProperties;
 import com.mugentwo.http_shadower.config.DestinationProperties;
+import com.mugentwo.http_shadower.config.ProfilerProperties;
+import com.mugentwo.http_shadower.config.ReplayProperties;
 import com.mugentwo.http_shadower.config.ShadowerConfiguration;
+import com.mugentwo.http_shadower.config.TenantProperties;
+import com.mugentwo.http_shadower.config.TracingProperties;
+import com.mugentwo.http_shadower.core.ShadowRequest;
+import com.mugentwo.http_shadower.deadline.DeadlineScopes;
+import com.mugentwo.http_shadower.limit.DestinationLimiters;
+import com.mugentwo.http_shadower.limit.ShadowMemoryBudget;
+import com.mugentwo.http_shadower.mask.BodyMaskers;
+import com.mugentwo.http_shadower.priority.ShadowPriorities;
+import com.mugentwo.http_shadower.profile.TrafficProfiler;
+import com.mugentwo.http_shadower.replay.ReplayLineParser;
+import com.mugentwo.http_shadower.routing.TenantRouter;
+import com.mugentwo.http_shadower.trace.LocalSpanExporter;
+import com.mugentwo.http_shadower.trace.RequestTracer;
+import com.mugentwo.http_shadower.trace.ShadowSpan;
+import com.mugentwo.http_shadower.transport.HttpShadowTransport;
+import com.mugentwo.http_shadower.transport.InMemoryShadowTransport;
+import com.mugentwo.http_shadower.transport.ShadowTransports;
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
 import jakarta.servlet.http.HttpServletRequest;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
 import org.springframework.http.*;
+import org.springframework.mock.web.DelegatingServletInputStream;
+import org.springframework.util.unit.DataSize;
 import org.springframework.web.client.RestTemplate;
+import org.springframework.web.client.ResourceAccessException;
 import org.springframework.web.client.RestClientException;
 
-import java.io.BufferedReader;
+import java.io.ByteArrayInputStream;
 import java.io.IOException;
-import java.io.StringReader;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.ArrayList;
 import java.util.Collections;
 import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.zip.GZIPInputStream;
 
 import static org.junit.jupiter.api.Assertions.*;
 import static org.mockito.ArgumentMatchers.*;
@@ -33,20 +74,50 @@ class HttpForwardingServiceTest {
     
     @Mock
     private RestTemplate restTemplate;
+
+    @Mock
+    private BatchDeliveryService batchDeliveryService;
+
+    @Mock
+    private ShadowPriorities shadowPriorities;
     
+    private DestinationLimiters destinationLimiters;
+
+    private InMemoryShadowTransport inMemoryTransport;
+
+    private BudgetProperties budget;
+
+    private LocalSpanExporter spanExporter;
+
+    private DeadlineProperties deadline;
+
+    private SimpleMeterRegistry meterRegistry;
+
+    private TrafficProfiler trafficProfiler;
+
+    private ShadowTransports shadowTransports;
+
     private HttpForwardingService forwardingService;
 
     @BeforeEach
     void setUp() {
-        forwardingService = new HttpForwardingService(shadowerConfiguration);
-        // Use reflection to inject the mock RestTemplate for testing
-        try {
-            var field = HttpForwardingService.class.getDeclaredField("restTemplate");
-            field.setAccessible(true);
-            field.set(forwardingService, restTemplate);
-        } catch (Exception e) {
-            fail("Failed to inject mock RestTemplate");
-        }
+        destinationLimiters = new DestinationLimiters(new SimpleMeterRegistry());
+        budget = new BudgetProperties();
+        inMemoryTransport = new InMemoryShadowTransport();
+        spanExporter = new LocalSpanExporter(100);
+        deadline = new DeadlineProperties();
+        meterRegistry = new SimpleMeterRegistry();
+        trafficProfiler = new TrafficProfiler(new ProfilerProperties());
+        shadowTransports = new ShadowTransports(List.of(new HttpShadowTransport(restTemplate), inMemoryTransport));
+        forwardingService = createForwardingService();
+    }
+
+    private HttpForwardingService createForwardingService() {
+        return new HttpForwardingService(shadowerConfiguration, destinationLimiters,
+                new ShadowMemoryBudget(budget, new SimpleMeterRegistry(), () -> false), batchDeliveryService, shadowTransports,
+                shadowPriorities, new RequestTracer(new TracingProperties(), List.of(spanExporter)),
+                new DeadlineScopes(deadline, meterRegistry), new DestinationPools(meterRegistry), trafficProfiler, new BodyMaskers(),
+                new TenantRouter(shadowerConfiguration));
     }
 
     @Test
@@ -64,11 +135,11 @@ class HttpForwardingServiceTest {
         when(request.getHeaders("Content-Type")).thenReturn(Collections.enumeration(List.of("application/json")));
         when(request.getHeaders("Authorization")).thenReturn(Collections.enumeration(List.of("Bearer token123")));
         
-        when(restTemplate.exchange(anyString(), any(HttpMethod.class), any(HttpEntity.class), eq(String.class)))
-                .thenReturn(new ResponseEntity<>("Success", HttpStatus.OK));
+        when(restTemplate.exchange(anyString(), any(HttpMethod.class), any(HttpEntity.class), eq(Void.class)))
+                .thenReturn(new ResponseEntity<>(HttpStatus.OK));
 
         // Act
-        forwardingService.forwardRequest(request, "{\"test\": \"data\"}");
+        forwardingService.forwardRequest(request, "{\"test\": \"data\"}".getBytes(StandardCharsets.UTF_8));
 
         // Wait a bit for async execution
         try {
@@ -78,7 +149,7 @@ class HttpForwardingServiceTest {
         }
 
         // Assert
-        verify(restTemplate, times(2)).exchange(anyString(), any(HttpMethod.class), any(HttpEntity.class), eq(String.class));
+        verify(restTemplate, times(2)).exchange(anyString(), any(HttpMethod.class), any(HttpEntity.class), eq(Void.class));
     }
 
     @Test
@@ -92,8 +163,8 @@ class HttpForwardingServiceTest {
         when(request.getRequestURI()).thenReturn("/api/test");
         when(request.getHeaderNames()).thenReturn(Collections.enumeration(List.of()));
         
-        when(restTemplate.exchange(anyString(), any(HttpMethod.class), any(HttpEntity.class), eq(String.class)))
-                .thenReturn(new ResponseEntity<>("Success", HttpStatus.OK));
+        when(restTemplate.exchange(anyString(), any(HttpMethod.class), any(HttpEntity.class), eq(Void.class)))
+                .thenReturn(new ResponseEntity<>(HttpStatus.OK));
 
         // Act
         forwardingService.forwardRequest(request, null);
@@ -106,7 +177,7 @@ class HttpForwardingServiceTest {
         }
 
         // Assert
-        verify(restTemplate, times(1)).exchange(anyString(), any(HttpMethod.class), any(HttpEntity.class), eq(String.class));
+        verify(restTemplate, times(1)).exchange(anyString(), any(HttpMethod.class), any(HttpEntity.class), eq(Void.class));
     }
 
     @Test
@@ -119,7 +190,7 @@ class HttpForwardingServiceTest {
         when(request.getQueryString()).thenReturn(null);
         when(request.getHeaderNames()).thenReturn(Collections.enumeration(List.of()));
         
-        when(restTemplate.exchange(anyString(), any(HttpMethod.class), any(HttpEntity.class), eq(String.class)))
+        when(restTemplate.exchange(anyString(), any(HttpMethod.class), any(HttpEntity.class), eq(Void.class)))
                 .thenThrow(new RestClientException("Connection refused"));
 
         // Act & Assert - should not throw exception
@@ -133,21 +204,20 @@ class HttpForwardingServiceTest {
         }
         
         // Verify the call was made despite the exception
-        verify(restTemplate).exchange(anyString(), any(HttpMethod.class), any(HttpEntity.class), eq(String.class));
+        verify(restTemplate).exchange(anyString(), any(HttpMethod.class), any(HttpEntity.class), eq(Void.class));
     }
 
     @Test
     void testExtractRequestBody() throws IOException {
         // Arrange
-        String expectedBody = "{\"key\": \"value\"}";
-        BufferedReader reader = new BufferedReader(new StringReader(expectedBody));
-        when(request.getReader()).thenReturn(reader);
+        byte[] expectedBody = "{\"key\": \"value\"}".getBytes(StandardCharsets.UTF_8);
+        when(request.getInputStream()).thenReturn(new DelegatingServletInputStream(new ByteArrayInputStream(expectedBody)));
 
         // Act
-        String actualBody = forwardingService.extractRequestBody(request);
+        byte[] actualBody = forwardingService.extractRequestBody(request);
 
         // Assert
-        assertEquals(expectedBody, actualBody);
+        assertArrayEquals(expectedBody, actualBody);
     }
 
     @Test
@@ -180,17 +250,17 @@ class HttpForwardingServiceTest {
         when(request.getQueryString()).thenReturn(null);
         when(request.getHeaderNames()).thenReturn(Collections.enumeration(List.of()));
         
-        ResponseEntity<String> expectedResponse = new ResponseEntity<>("Success from app1", HttpStatus.OK);
-        when(restTemplate.exchange(contains("3001"), any(HttpMethod.class), any(HttpEntity.class), eq(String.class)))
+        ResponseEntity<byte[]> expectedResponse = new ResponseEntity<>("Success from app1".getBytes(StandardCharsets.UTF_8), HttpStatus.OK);
+        when(restTemplate.exchange(contains("3001"), any(HttpMethod.class), any(HttpEntity.class), eq(byte[].class)))
                 .thenReturn(expectedResponse);
 
         // Act
-        ResponseEntity<String> result = forwardingService.forwardRequestAndGetResponse(request, null);
+        ResponseEntity<byte[]> result = forwardingService.forwardRequestAndGetResponse(request, null);
 
         // Assert
         assertEquals(HttpStatus.OK, result.getStatusCode());
-        assertEquals("Success from app1", result.getBody());
-        verify(restTemplate, times(1)).exchange(contains("3001"), any(HttpMethod.class), any(HttpEntity.class), eq(String.class));
+        assertEquals("Success from app1", new String(result.getBody(), StandardCharsets.UTF_8));
+        verify(restTemplate, times(1)).exchange(contains("3001"), any(HttpMethod.class), any(HttpEntity.class), eq(byte[].class));
     }
 
     @Test
@@ -207,16 +277,16 @@ class HttpForwardingServiceTest {
         when(request.getQueryString()).thenReturn(null);
         when(request.getHeaderNames()).thenReturn(Collections.enumeration(List.of()));
         
-        ResponseEntity<String> expectedResponse = new ResponseEntity<>("Created", HttpStatus.CREATED);
-        when(restTemplate.exchange(contains("3001"), any(HttpMethod.class), any(HttpEntity.class), eq(String.class)))
+        ResponseEntity<byte[]> expectedResponse = new ResponseEntity<>("Created".getBytes(StandardCharsets.UTF_8), HttpStatus.CREATED);
+        when(restTemplate.exchange(contains("3001"), any(HttpMethod.class), any(HttpEntity.class), eq(byte[].class)))
                 .thenReturn(expectedResponse);
 
         // Act
-        ResponseEntity<String> result = forwardingService.forwardRequestAndGetResponse(request, "{\"data\":\"test\"}");
+        ResponseEntity<byte[]> result = forwardingService.forwardRequestAndGetResponse(request, "{\"data\":\"test\"}".getBytes(StandardCharsets.UTF_8));
 
         // Assert
         assertEquals(HttpStatus.CREATED, result.getStatusCode());
-        assertEquals("Created", result.getBody());
+        assertEquals("Created", new String(result.getBody(), StandardCharsets.UTF_8));
     }
 
     @Test
@@ -230,14 +300,480 @@ class HttpForwardingServiceTest {
         when(request.getQueryString()).thenReturn(null);
         when(request.getHeaderNames()).thenReturn(Collections.enumeration(List.of()));
         
-        when(restTemplate.exchange(anyString(), any(HttpMethod.class), any(HttpEntity.class), eq(String.class)))
+        when(restTemplate.exchange(anyString(), any(HttpMethod.class), any(HttpEntity.class), eq(byte[].class)))
                 .thenThrow(new RestClientException("Connection failed"));
 
         // Act
-        ResponseEntity<String> result = forwardingService.forwardRequestAndGetResponse(request, null);
+        ResponseEntity<byte[]> result = forwardingService.forwardRequestAndGetResponse(request, null);
 
         // Assert
         assertEquals(HttpStatus.SERVICE_UNAVAILABLE, result.getStatusCode());
-        assertTrue(result.getBody().contains("Service temporarily unavailable"));
+        assertTrue(new String(result.getBody(), StandardCharsets.UTF_8).contains("Service temporarily unavailable"));
+    }
+
+    @Test
+    void testForwardRequest_CompressesShadowBodyAboveThreshold() throws IOException {
+        // Arrange
+        var destination = new DestinationProperties("app2", "http://localhost:3002", true, false);
+        destination.setCompression(new CompressionProperties(true, 16));
+        byte[] body = "{\"payload\": \"aaaaaaaaaaaaaaaaaaaaaaaaaaaaaaaaaaaaaaaa\"}".getBytes(StandardCharsets.UTF_8);
+
+        when(shadowerConfiguration.getEnabledDestinations()).thenReturn(List.of(destination));
+        when(request.getMethod()).thenReturn("POST");
+        when(request.getRequestURI()).thenReturn("/api/test");
+        when(request.getQueryString()).thenReturn(null);
+        when(request.getHeaderNames()).thenReturn(Collections.enumeration(List.of("Content-Type")));
+        when(request.getHeaders("Content-Type")).thenReturn(Collections.enumeration(List.of("application/json")));
+        when(restTemplate.exchange(anyString(), any(HttpMethod.class), any(HttpEntity.class), eq(Void.class)))
+                .thenReturn(new ResponseEntity<>(HttpStatus.OK));
+
+        // Act
+        forwardingService.forwardRequest(request, body);
+
+        // Assert
+        ArgumentCaptor<HttpEntity<byte[]>> entityCaptor = ArgumentCaptor.forClass(HttpEntity.class);
+        verify(restTemplate, timeout(1000)).exchange(anyString(), any(HttpMethod.class), entityCaptor.capture(), eq(Void.class));
+        HttpEntity<byte[]> entity = entityCaptor.getValue();
+        assertEquals("gzip", entity.getHeaders().getFirst(HttpHeaders.CONTENT_ENCODING));
+        assertEquals(entity.getBody().length, entity.getHeaders().getContentLength());
+        try (var gunzip = new GZIPInputStream(new ByteArrayInputStream(entity.getBody()))) {
+            assertArrayEquals(body, gunzip.readAllBytes());
+        }
+    }
+
+    @Test
+    void testForwardRequest_PassesThroughAlreadyEncodedBody() {
+        // Arrange
+        var destination = new DestinationProperties("app2", "http://localhost:3002", true, false);
+        destination.setCompression(new CompressionProperties(true, 0));
+        byte[] body = new byte[] {0x1f, (byte) 0x8b, 0x08, 0x00, 0x01, 0x02};
+
+        when(shadowerConfiguration.getEnabledDestinations()).thenReturn(List.of(destination));
+        when(request.getMethod()).thenReturn("POST");
+        when(request.getRequestURI()).thenReturn("/api/test");
+        when(request.getQueryString()).thenReturn(null);
+        when(request.getHeaderNames()).thenReturn(Collections.enumeration(List.of("Content-Encoding")));
+        when(request.getHeaders("Content-Encoding")).thenReturn(Collections.enumeration(List.of("gzip")));
+        when(restTemplate.exchange(anyString(), any(HttpMethod.class), any(HttpEntity.class), eq(Void.class)))
+                .thenReturn(new ResponseEntity<>(HttpStatus.OK));
+
+        // Act
+        forwardingService.forwardRequest(request, body);
+
+        // Assert
+        ArgumentCaptor<HttpEntity<byte[]>> entityCaptor = ArgumentCaptor.forClass(HttpEntity.class);
+        verify(restTemplate, timeout(1000)).exchange(anyString(), any(HttpMethod.class), entityCaptor.capture(), eq(Void.class));
+        assertSame(body, entityCaptor.getValue().getBody());
+        assertEquals("gzip", entityCaptor.getValue().getHeaders().getFirst(HttpHeaders.CONTENT_ENCODING));
+    }
+
+    @Test
+    void testForwardRequestAndGetResponse_NeverCompressesPrimaryBody() {
+        // Arrange
+        var responseSource = new DestinationProperties("app1", "http://localhost:3001", true, true);
+        responseSource.setCompression(new CompressionProperties(true, 0));
+        byte[] body = "{\"data\":\"test\"}".getBytes(StandardCharsets.UTF_8);
+
+        when(shadowerConfiguration.getEnabledDestinations()).thenReturn(List.of(responseSource));
+        when(shadowerConfiguration.getResponseSourceDestination()).thenReturn(responseSource);
+        when(request.getMethod()).thenReturn("POST");
+        when(request.getRequestURI()).thenReturn("/api/create");
+        when(request.getQueryString()).thenReturn(null);
+        when(request.getHeaderNames()).thenReturn(Collections.enumeration(List.of()));
+        when(restTemplate.exchange(anyString(), any(HttpMethod.class), any(HttpEntity.class), eq(byte[].class)))
+                .thenReturn(new ResponseEntity<>(HttpStatus.OK));
+
+        // Act
+        forwardingService.forwardRequestAndGetResponse(request, body);
+
+        // Assert
+        ArgumentCaptor<HttpEntity<byte[]>> entityCaptor = ArgumentCaptor.forClass(HttpEntity.class);
+        verify(restTemplate).exchange(anyString(), any(HttpMethod.class), entityCaptor.capture(), eq(byte[].class));
+        assertSame(body, entityCaptor.getValue().getBody());
+        assertNull(entityCaptor.getValue().getHeaders().getFirst(HttpHeaders.CONTENT_ENCODING));
+    }
+
+    @Test
+    void testForwardRequest_ShedsShadowCopiesAboveConcurrencyLimit() throws InterruptedException {
+        // Arrange
+        var destination = new DestinationProperties("app2", "http://localhost:3002", true, false);
+        destination.setConcurrencyLimit(new ConcurrencyLimitProperties(1, 1, 1));
+        CountDownLatch release = new CountDownLatch(1);
+
+        when(shadowerConfiguration.getEnabledDestinations()).thenReturn(List.of(destination));
+        when(request.getMethod()).thenReturn("GET");
+        when(request.getRequestURI()).thenReturn("/api/test");
+        when(request.getQueryString()).thenReturn(null);
+        when(request.getHeaderNames()).thenAnswer(invocation -> Collections.enumeration(List.of()));
+        when(restTemplate.exchange(anyString(), any(HttpMethod.class), any(HttpEntity.class), eq(Void.class)))
+                .thenAnswer(invocation -> {
+                    release.await(5, TimeUnit.SECONDS);
+                    return new ResponseEntity<>(HttpStatus.OK);
+                });
+
+        // Act
+        forwardingService.forwardRequest(request, null);
+        forwardingService.forwardRequest(request, null);
+        release.countDown();
+
+        // Assert
+        verify(restTemplate, timeout(1000)).exchange(anyString(), any(HttpMethod.class), any(HttpEntity.class), eq(Void.class));
+        var limiter = destinationLimiters.limiterFor(destination);
+        assertEquals(1, limiter.getAcceptedCount());
+        assertEquals(1, limiter.getShedCount());
+    }
+
+    @Test
+    void testForwardRequest_BatchedDestinationIsEnqueuedInsteadOfSent() {
+        // Arrange
+        var collector = new DestinationProperties("collector", "http://localhost:3003/ingest", true, false);
+        collector.setBatch(new BatchProperties(true, BatchProperties.Format.NDJSON, 100, Duration.ofMillis(200)));
+
+        when(shadowerConfiguration.getEnabledDestinations()).thenReturn(List.of(collector));
+        when(request.getMethod()).thenReturn("GET");
+        when(request.getRequestURI()).thenReturn("/api/test");
+        when(request.getQueryString()).thenReturn(null);
+        when(request.getHeaderNames()).thenReturn(Collections.enumeration(List.of()));
+
+        // Act
+        forwardingService.forwardRequest(request, null);
+
+        // Assert
+        verify(batchDeliveryService).enqueue(argThat(shadowRequest -> "/api/test".equals(shadowRequest.path())), eq(collector));
+        verifyNoInteractions(restTemplate);
+    }
+
+    @Test
+    void testForwardRequestAndGetResponse_UsesTransportForDestinationScheme() {
+        // Arrange
+        var responseSource = new DestinationProperties("app1", "mem://app1", true, true);
+        inMemoryTransport.register("app1", (method, uri, headers, body) ->
+                ResponseEntity.ok(("in-memory " + method + " " + uri.getPath()).getBytes(StandardCharsets.UTF_8)));
+
+        when(shadowerConfiguration.getEnabledDestinations()).thenReturn(List.of(responseSource));
+        when(shadowerConfiguration.getResponseSourceDestination()).thenReturn(responseSource);
+        when(request.getMethod()).thenReturn("GET");
+        when(request.getRequestURI()).thenReturn("/api/test");
+        when(request.getQueryString()).thenReturn(null);
+        when(request.getHeaderNames()).thenReturn(Collections.enumeration(List.of()));
+
+        // Act
+        ResponseEntity<byte[]> result = forwardingService.forwardRequestAndGetResponse(request, null);
+
+        // Assert
+        assertEquals(HttpStatus.OK, result.getStatusCode());
+        assertEquals("in-memory GET /api/test", new String(result.getBody(), StandardCharsets.UTF_8));
+        verifyNoInteractions(restTemplate);
+    }
+
+    @Test
+    void testForwardRequest_SendsHeadersOnlyCopyWhenOverMemoryBudget() {
+        // Arrange
+        budget.setMaxInFlight(DataSize.ofBytes(4));
+        budget.setOverBudget(BudgetProperties.OverBudget.HEADERS_ONLY);
+        var destination = new DestinationProperties("app2", "http://localhost:3002", true, false);
+        byte[] body = "{\"too\": \"large\"}".getBytes(StandardCharsets.UTF_8);
+
+        when(shadowerConfiguration.getEnabledDestinations()).thenReturn(List.of(destination));
+        when(request.getMethod()).thenReturn("POST");
+        when(request.getRequestURI()).thenReturn("/api/test");
+        when(request.getQueryString()).thenReturn(null);
+        when(request.getHeaderNames()).thenReturn(Collections.enumeration(List.of("Content-Type", "Content-Length")));
+        when(request.getHeaders("Content-Type")).thenReturn(Collections.enumeration(List.of("application/json")));
+        when(request.getHeaders("Content-Length")).thenReturn(Collections.enumeration(List.of(Integer.toString(body.length))));
+        when(restTemplate.exchange(anyString(), any(HttpMethod.class), any(HttpEntity.class), eq(Void.class)))
+                .thenReturn(new ResponseEntity<>(HttpStatus.OK));
+
+        // Act
+        forwardingService.forwardRequest(request, body);
+
+        // Assert
+        ArgumentCaptor<HttpEntity<byte[]>> entityCaptor = ArgumentCaptor.forClass(HttpEntity.class);
+        verify(restTemplate, timeout(1000)).exchange(anyString(), any(HttpMethod.class), entityCaptor.capture(), eq(Void.class));
+        HttpEntity<byte[]> entity = entityCaptor.getValue();
+        assertNull(entity.getBody());
+        assertEquals(Integer.toString(body.length), entity.getHeaders().getFirst(HttpForwardingService.BODY_OMITTED_HEADER));
+        assertNull(entity.getHeaders().getFirst(HttpHeaders.CONTENT_LENGTH));
+        assertEquals("application/json", entity.getHeaders().getFirst(HttpHeaders.CONTENT_TYPE));
+    }
+
+    @Test
+    void testForwardShadowCopies_PropagatesCorrelationIdAndTraceContext() {
+        // Arrange
+        String traceId = "4bf92f3577b34da6a3ce929d0e0e4736";
+        var destination1 = new DestinationProperties("app2", "mem://app2", true, false);
+        var destination2 = new DestinationProperties("app3", "mem://app3", true, false);
+        Map<String, HttpHeaders> received = new ConcurrentHashMap<>();
+        inMemoryTransport.register("app2", (method, uri, headers, body) -> {
+            received.put("app2", headers);
+            return ResponseEntity.ok().build();
+        });
+        inMemoryTransport.register("app3", (method, uri, headers, body) -> {
+            received.put("app3", headers);
+            return ResponseEntity.status(HttpStatus.NOT_FOUND).build();
+        });
+        when(shadowerConfiguration.getEnabledDestinations()).thenReturn(List.of(destination1, destination2));
+        var shadowRequest = new ShadowRequest("GET", "/api/test", null,
+                Map.of("traceparent", List.of("00-" + traceId + "-00f067aa0ba902b7-01"), "X-Correlation-Id", List.of("order-42")), null);
+
+        // Act
+        forwardingService.forwardShadowCopies(shadowRequest).join();
+
+        // Assert
+        assertEquals("order-42", received.get("app2").getFirst("X-Correlation-Id"));
+        assertEquals("order-42", received.get("app3").getFirst("X-Correlation-Id"));
+        String traceparent2 = received.get("app2").getFirst("traceparent");
+        String traceparent3 = received.get("app3").getFirst("traceparent");
+        assertTrue(traceparent2.startsWith("00-" + traceId + "-"));
+        assertTrue(traceparent3.startsWith("00-" + traceId + "-"));
+        assertNotEquals(traceparent2, traceparent3);
+
+        List<ShadowSpan> spans = spanExporter.getSpans("order-42");
+        assertEquals(2, spans.size());
+        assertTrue(spans.stream().allMatch(span -> "00f067aa0ba902b7".equals(span.parentSpanId())));
+        assertTrue(spans.stream().allMatch(span -> span.timings().totalNanos() >= span.timings().queueNanos()));
+        assertTrue(spans.stream().anyMatch(span -> "app3".equals(span.destination()) && span.status() == 404));
+    }
+
+    @Test
+    void testForwardRequestAndGetResponse_ReturnsGatewayTimeoutWhenDeadlinePasses() {
+        // Arrange
+        deadline.setTimeout(Duration.ofMillis(100));
+        var responseSource = new DestinationProperties("app1", "mem://app1", true, true);
+        inMemoryTransport.register("app1", (method, uri, headers, body) -> {
+            try {
+                Thread.sleep(10_000);
+            } catch (InterruptedException e) {
+                throw new ResourceAccessException("interrupted");
+            }
+            return ResponseEntity.ok().build();
+        });
+
+        when(shadowerConfiguration.getEnabledDestinations()).thenReturn(List.of(responseSource));
+        when(shadowerConfiguration.getResponseSourceDestination()).thenReturn(responseSource);
+        when(request.getMethod()).thenReturn("GET");
+        when(request.getRequestURI()).thenReturn("/api/slow");
+        when(request.getQueryString()).thenReturn(null);
+        when(request.getHeaderNames()).thenReturn(Collections.enumeration(List.of()));
+
+        // Act
+        long start = System.nanoTime();
+        ResponseEntity<byte[]> result = forwardingService.forwardRequestAndGetResponse(request, null);
+        long elapsedMillis = TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start);
+
+        // Assert
+        assertEquals(HttpStatus.GATEWAY_TIMEOUT, result.getStatusCode());
+        assertTrue(elapsedMillis < 5_000, "primary call should be cancelled at the deadline, took " + elapsedMillis + "ms");
+        assertFalse(Thread.currentThread().isInterrupted());
+        assertEquals(1.0, meterRegistry.get("shadower.deadline.cancelled")
+                .tag("destination", "app1").tag("reason", "deadline").counter().count());
+    }
+
+    @Test
+    void testForwardShadowCopies_KeepsSessionAffinityAcrossEndpointPool() {
+        // Arrange
+        var destination = new DestinationProperties("staging", null, true, false);
+        destination.setEndpoints(List.of("mem://replica-1", "mem://replica-2", "mem://replica-3"));
+        destination.getLoadBalancer().setHashHeader("X-Session-Id");
+        Map<String, Integer> calls = new ConcurrentHashMap<>();
+        for (String replica : List.of("replica-1", "replica-2", "replica-3")) {
+            inMemoryTransport.register(replica, (method, uri, headers, body) -> {
+                calls.merge(replica, 1, Integer::sum);
+                return ResponseEntity.ok().build();
+            });
+        }
+        when(shadowerConfiguration.getEnabledDestinations()).thenReturn(List.of(destination));
+        var shadowRequest = new ShadowRequest("GET", "/api/cart", null, Map.of("X-Session-Id", List.of("session-7")), null);
+
+        // Act
+        for (int i = 0; i < 5; i++) {
+            forwardingService.forwardShadowCopies(shadowRequest).join();
+        }
+
+        // Assert
+        assertEquals(1, calls.size());
+        assertEquals(5, calls.values().iterator().next());
+    }
+
+    @Test
+    void testForwardShadowCopies_AbandonedCallLeavesLimitAndEndpointHealthUnchanged() throws InterruptedException {
+        // Arrange
+        var destination = new DestinationProperties("staging", null, true, false);
+        destination.setEndpoints(List.of("mem://replica-1", "mem://replica-2"));
+        destination.getLoadBalancer().setFailureThreshold(1);
+        destination.setConcurrencyLimit(new ConcurrencyLimitProperties(10, 1, 100));
+        CountDownLatch started = new CountDownLatch(1);
+        for (String replica : List.of("replica-1", "replica-2")) {
+            inMemoryTransport.register(replica, (method, uri, headers, body) -> {
+                started.countDown();
+                try {
+                    Thread.sleep(10_000);
+                    return ResponseEntity.ok().build();
+                } catch (InterruptedException e) {
+                    throw new ResourceAccessException("I/O error: interrupted");
+                }
+            });
+        }
+        when(shadowerConfiguration.getEnabledDestinations()).thenReturn(List.of(destination));
+
+        // Act
+        var fanOut = forwardingService.forwardShadowCopies(new ShadowRequest("GET", "/api/slow", null, Map.of(), null));
+        assertTrue(started.await(5, TimeUnit.SECONDS));
+        fanOut.cancel(true);
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+        while (outstandingEndpointCalls() > 0 && System.nanoTime() < deadline) {
+            Thread.sleep(10);
+        }
+
+        // Assert
+        var limiter = destinationLimiters.limiterFor(destination);
+        assertEquals(0, outstandingEndpointCalls());
+        assertEquals(0, limiter.getInFlight());
+        assertEquals(10, limiter.getLimit());
+        assertEquals(0, limiter.getDroppedCount());
+        assertEquals(0.0, meterRegistry.find("shadower.endpoint.ejections").functionCounters().stream()
+                .mapToDouble(FunctionCounter::count).sum());
+        assertEquals(1.0, meterRegistry.get("shadower.deadline.cancelled")
+                .tag("destination", "staging").tag("reason", "abandoned").counter().count());
+    }
+
+    private double outstandingEndpointCalls() {
+        return meterRegistry.find("shadower.endpoint.outstanding").gauges().stream().mapToDouble(Gauge::value).sum();
+    }
+
+    @Test
+    void testForwardShadowCopies_ProfilesCallsByRouteTemplate() {
+        // Arrange
+        var destination = new DestinationProperties("staging", "mem://staging", true, false);
+        inMemoryTransport.register("staging", (method, uri, headers, body) -> ResponseEntity.ok().build());
+        when(shadowerConfiguration.getEnabledDestinations()).thenReturn(List.of(destination));
+
+        // Act
+        for (int orderId = 1; orderId <= 3; orderId++) {
+            byte[] body = ("{\"order\":" + orderId + "}").getBytes(StandardCharsets.UTF_8);
+            forwardingService.forwardShadowCopies(new ShadowRequest("PUT", "/api/orders/" + orderId, null, Map.of(), body)).join();
+        }
+        forwardingService.forwardShadowCopies(new ShadowRequest("GET", "/api/health", null, Map.of(), null)).join();
+
+        // Assert
+        var profile = trafficProfiler.snapshot();
+        assertEquals(4, profile.requests());
+        assertEquals("PUT /api/orders/{id}", profile.byRequests().get(0).route());
+        assertEquals(3, profile.byRequests().get(0).value());
+        assertEquals(33, profile.byBytes().get(0).value());
+        assertEquals(1, profile.byBytes().size());
+    }
+
+    @Test
+    void testForwardShadowCopies_MasksBodyOncePerRuleSet() {
+        // Arrange
+        Map<String, byte[]> bodies = new ConcurrentHashMap<>();
+        var destinations = new ArrayList<DestinationProperties>();
+        for (String name : List.of("staging", "qa")) {
+            var destination = new DestinationProperties(name, "mem://" + name, true, false);
+            destination.getMasking().setEnabled(true);
+            destination.getMasking().setJsonFields(List.of("customer.email", "**.cardNumber"));
+            inMemoryTransport.register(name, (method, uri, headers, body) -> {
+                bodies.put(name, body);
+                return ResponseEntity.ok().build();
+            });
+            destinations.add(destination);
+        }
+        when(shadowerConfiguration.getEnabledDestinations()).thenReturn(destinations);
+        byte[] body = "{\"customer\":{\"email\":\"jane@example.com\",\"name\":\"Jane\"},\"payments\":[{\"cardNumber\":\"4111111111111111\",\"amount\":12.50}]}"
+                .getBytes(StandardCharsets.UTF_8);
+        var shadowRequest = new ShadowRequest("POST", "/api/orders", null, Map.of("Content-Type", List.of("application/json")), body);
+
+        // Act
+        forwardingService.forwardShadowCopies(shadowRequest).join();
+
+        // Assert
+        assertEquals("{\"customer\":{\"email\":\"***\",\"name\":\"Jane\"},\"payments\":[{\"cardNumber\":\"***\",\"amount\":12.50}]}",
+                new String(bodies.get("staging"), StandardCharsets.UTF_8));
+        assertSame(bodies.get("staging"), bodies.get("qa"));
+    }
+
+    @Test
+    void testForwardShadowCopies_RoutesToTenantByHostThenPathPrefix() {
+        // Arrange
+        List<String> received = Collections.synchronizedList(new ArrayList<>());
+        for (String name : List.of("orders-staging", "billing-staging", "default-staging")) {
+            inMemoryTransport.register(name, (method, uri, headers, body) -> {
+                received.add(name + " " + uri.getPath());
+                return ResponseEntity.ok().build();
+            });
+        }
+        var orders = new TenantProperties("orders", List.of("orders.example.com"), List.of(),
+                List.of(new DestinationProperties("orders-staging", "mem://orders-staging", true, false)));
+        var billing = new TenantProperties("billing", List.of(), List.of("/billing"),
+                List.of(new DestinationProperties("billing-staging", "mem://billing-staging", true, false)));
+        when(shadowerConfiguration.getTenants()).thenReturn(List.of(orders, billing));
+        when(shadowerConfiguration.getEnabledDestinations())
+                .thenReturn(List.of(new DestinationProperties("default-staging", "mem://default-staging", true, false)));
+        forwardingService = createForwardingService();
+
+        // Act
+        forwardingService.forwardShadowCopies(new ShadowRequest("GET", "/billing/invoices/7", null,
+                Map.of("Host", List.of("Orders.Example.com:8443")), null)).join();
+        forwardingService.forwardShadowCopies(new ShadowRequest("GET", "/billing/invoices/7", null, Map.of(), null)).join();
+        forwardingService.forwardShadowCopies(new ShadowRequest("GET", "/billing-archive", null, Map.of(), null)).join();
+
+        // Assert
+        assertEquals(List.of("orders-staging /billing/invoices/7", "billing-staging /billing/invoices/7", "default-staging /billing-archive"),
+                received);
+    }
+
+    @Test
+    void testForwardRequestAndGetResponse_RoutesToTenantByHostHeader() {
+        // Arrange
+        inMemoryTransport.register("orders-app", (method, uri, headers, body) ->
+                ResponseEntity.ok("orders".getBytes(StandardCharsets.UTF_8)));
+        var orders = new TenantProperties("orders", List.of("orders.example.com"), List.of(),
+                List.of(new DestinationProperties("orders-app", "mem://orders-app", true, true)));
+        when(shadowerConfiguration.getTenants()).thenReturn(List.of(orders));
+        forwardingService = createForwardingService();
+        when(request.getMethod()).thenReturn("GET");
+        when(request.getRequestURI()).thenReturn("/api/orders");
+        when(request.getHeaderNames()).thenReturn(Collections.enumeration(List.of("Host")));
+        when(request.getHeader("Host")).thenReturn("orders.example.com");
+
+        // Act
+        ResponseEntity<byte[]> response = forwardingService.forwardRequestAndGetResponse(request, new byte[0]);
+
+        // Assert
+        assertEquals(HttpStatus.OK, response.getStatusCode());
+        assertEquals("orders", new String(response.getBody(), StandardCharsets.UTF_8));
+    }
+
+    @Test
+    void testForwardShadowCopies_RoutesReplayedRecordsByRecordedHost() {
+        // Arrange
+        List<String> received = Collections.synchronizedList(new ArrayList<>());
+        for (String name : List.of("orders-staging", "default-staging")) {
+            inMemoryTransport.register(name, (method, uri, headers, body) -> {
+                received.add(name + " " + uri.getPath() + " host=" + headers.getFirst(HttpHeaders.HOST));
+                return ResponseEntity.ok().build();
+            });
+        }
+        var orders = new TenantProperties("orders", List.of("orders.example.com"), List.of(),
+                List.of(new DestinationProperties("orders-staging", "mem://orders-staging", true, false)));
+        when(shadowerConfiguration.getTenants()).thenReturn(List.of(orders));
+        when(shadowerConfiguration.getEnabledDestinations())
+                .thenReturn(List.of(new DestinationProperties("default-staging", "mem://default-staging", true, false)));
+        forwardingService = createForwardingService();
+        var parser = ReplayLineParser.forFormat(ReplayProperties.Format.AUTO, new ObjectMapper());
+
+        // Act
+        forwardingService.forwardShadowCopies(parser.parse(
+                "{\"method\": \"GET\", \"path\": \"/api/orders/1\", \"headers\": {\"Host\": \"orders.example.com\"}}").request()).join();
+        forwardingService.forwardShadowCopies(parser.parse(
+                "[2025-10-10T13:55:36.310Z] \"POST /api/orders HTTP/1.1\" 201 - 120 45 12 10 \"10.0.0.2\" \"okhttp\" "
+                        + "\"8f2c-11\" \"orders.example.com\" \"10.1.0.5:8080\"").request()).join();
+        forwardingService.forwardShadowCopies(parser.parse(
+                "10.0.0.1 - - [10/Oct/2025:13:55:36 +0000] \"GET /api/orders/2 HTTP/1.1\" 200 612 \"-\" \"curl/8.0\"").request()).join();
+
+        // Assert
+        assertEquals(List.of("orders-staging /api/orders/1 host=null", "orders-staging /api/orders host=null",
+                "default-staging /api/orders/2 host=null"), received);
     }
-}
\ No newline at end of file
+}
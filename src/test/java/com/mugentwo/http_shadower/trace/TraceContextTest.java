@@ -0,0 +1,51 @@
+package com.mugentwo.http_shadower.trace;
+
+import com.mugentwo.http_shadower.core.ShadowRequest;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class TraceContextTest {
+
+    @Test
+    void testContinuesIncomingTraceparent() {
+        // Arrange
+        var request = request(Map.of("Traceparent", List.of("00-4bf92f3577b34da6a3ce929d0e0e4736-00f067aa0ba902b7-00")));
+
+        // Act
+        var trace = TraceContext.from(request, "X-Correlation-Id");
+
+        // Assert
+        assertEquals("4bf92f3577b34da6a3ce929d0e0e4736", trace.traceId());
+        assertEquals("00f067aa0ba902b7", trace.parentSpanId());
+        assertFalse(trace.sampled());
+        assertEquals(trace.traceId(), trace.correlationId());
+        assertTrue(trace.traceparent("b7ad6b7169203331").endsWith("-b7ad6b7169203331-00"));
+    }
+
+    @Test
+    void testStartsNewTraceWhenTraceparentIsInvalid() {
+        // Arrange
+        var request = request(Map.of(
+                "traceparent", List.of("00-00000000000000000000000000000000-00f067aa0ba902b7-01"),
+                "X-Correlation-Id", List.of("checkout-17")));
+
+        // Act
+        var trace = TraceContext.from(request, "X-Correlation-Id");
+
+        // Assert
+        assertTrue(trace.traceId().matches("[0-9a-f]{32}"));
+        assertNotEquals("00000000000000000000000000000000", trace.traceId());
+        assertNull(trace.parentSpanId());
+        assertTrue(trace.sampled());
+        assertEquals("checkout-17", trace.correlationId());
+        assertTrue(trace.newSpanId().matches("[0-9a-f]{16}"));
+    }
+
+    private ShadowRequest request(Map<String, List<String>> headers) {
+        return new ShadowRequest("GET", "/api/test", null, headers, null);
+    }
+}
@@ -0,0 +1,62 @@
+package com.mugentwo.http_shadower.transport;
+
+import com.mugentwo.http_shadower.config.OutboundProperties;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.http.HttpEntity;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.client.RestTemplate;
+
+import java.net.http.HttpClient;
+import java.nio.charset.StandardCharsets;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class HttpShadowTransportTest {
+
+    @Mock
+    private RestTemplate restTemplate;
+
+    @Test
+    void testStripsHopByHopHeaders() {
+        // Arrange
+        var transport = new HttpShadowTransport(restTemplate);
+        HttpHeaders headers = new HttpHeaders();
+        headers.set("Content-Type", "application/json");
+        headers.set("Connection", "keep-alive");
+        headers.set("Transfer-Encoding", "chunked");
+        byte[] body = "{}".getBytes(StandardCharsets.UTF_8);
+        when(restTemplate.exchange(anyString(), any(HttpMethod.class), any(HttpEntity.class), eq(byte[].class)))
+                .thenReturn(new ResponseEntity<>(HttpStatus.OK));
+
+        // Act
+        transport.exchange("http://localhost:3002/api", HttpMethod.POST, new HttpEntity<>(body, headers));
+
+        // Assert
+        ArgumentCaptor<HttpEntity<byte[]>> entityCaptor = ArgumentCaptor.forClass(HttpEntity.class);
+        verify(restTemplate).exchange(eq("http://localhost:3002/api"), eq(HttpMethod.POST), entityCaptor.capture(), eq(byte[].class));
+        HttpHeaders sent = entityCaptor.getValue().getHeaders();
+        assertEquals("application/json", sent.getFirst("Content-Type"));
+        assertFalse(sent.containsKey("Connection"));
+        assertFalse(sent.containsKey("Transfer-Encoding"));
+        assertSame(body, entityCaptor.getValue().getBody());
+    }
+
+    @Test
+    void testBuildsHttp2ClientByDefault() {
+        assertEquals(HttpClient.Version.HTTP_2, HttpShadowTransport.httpClient(new OutboundProperties()).version());
+
+        var outbound = new OutboundProperties();
+        outbound.setHttp2(false);
+        assertEquals(HttpClient.Version.HTTP_1_1, HttpShadowTransport.httpClient(outbound).version());
+    }
+}
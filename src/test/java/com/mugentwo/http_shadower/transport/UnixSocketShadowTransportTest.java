@@ -0,0 +1,185 @@
+package com.mugentwo.http_shadower.transport;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.http.HttpEntity;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.client.HttpServerErrorException;
+import org.springframework.web.client.ResourceAccessException;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.io.OutputStream;
+import java.net.StandardProtocolFamily;
+import java.net.URI;
+import java.net.URLEncoder;
+import java.net.UnixDomainSocketAddress;
+import java.nio.channels.Channels;
+import java.nio.channels.ServerSocketChannel;
+import java.nio.channels.SocketChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class UnixSocketShadowTransportTest {
+
+    @TempDir
+    Path tempDir;
+
+    private final UnixSocketShadowTransport transport = new UnixSocketShadowTransport();
+    private final List<String> requestLines = new CopyOnWriteArrayList<>();
+    private final AtomicInteger connections = new AtomicInteger();
+
+    private Path socketPath;
+    private ServerSocketChannel server;
+    private Thread acceptor;
+
+    @BeforeEach
+    void setUp() throws IOException {
+        socketPath = tempDir.resolve("shadow.sock");
+        server = ServerSocketChannel.open(StandardProtocolFamily.UNIX);
+        server.bind(UnixDomainSocketAddress.of(socketPath));
+        acceptor = Thread.ofVirtual().start(() -> {
+            while (server.isOpen()) {
+                try {
+                    SocketChannel channel = server.accept();
+                    connections.incrementAndGet();
+                    Thread.ofVirtual().start(() -> serve(channel));
+                } catch (IOException e) {
+                    return;
+                }
+            }
+        });
+    }
+
+    @AfterEach
+    void tearDown() throws Exception {
+        transport.close();
+        server.close();
+        acceptor.join(1000);
+    }
+
+    @Test
+    void testSendsRequestAndReusesConnection() {
+        // Arrange
+        String baseUrl = "http+unix://" + URLEncoder.encode(socketPath.toString(), StandardCharsets.UTF_8);
+        HttpHeaders headers = new HttpHeaders();
+        headers.set("X-Test", "1");
+
+        // Act
+        ResponseEntity<byte[]> first = transport.exchange(baseUrl + "/api/orders?id=1", HttpMethod.POST, new HttpEntity<>("hello".getBytes(StandardCharsets.UTF_8), headers));
+        ResponseEntity<byte[]> second = transport.exchange(baseUrl + "/chunked", HttpMethod.GET, new HttpEntity<>(null, new HttpHeaders()));
+
+        // Assert
+        assertEquals(HttpStatus.OK, first.getStatusCode());
+        assertEquals("POST /api/orders?id=1 body=hello", new String(first.getBody(), StandardCharsets.UTF_8));
+        assertEquals("chunked body", new String(second.getBody(), StandardCharsets.UTF_8));
+        assertEquals(List.of("POST /api/orders?id=1 HTTP/1.1", "GET /chunked HTTP/1.1"), requestLines);
+        assertEquals(1, connections.get());
+    }
+
+    @Test
+    void testServerErrorIsReportedLikeRestTemplate() {
+        // Arrange
+        String url = "http+unix://" + URLEncoder.encode(socketPath.toString(), StandardCharsets.UTF_8) + "/fail";
+
+        // Act & Assert
+        var exception = assertThrows(HttpServerErrorException.class,
+                () -> transport.exchange(url, HttpMethod.GET, new HttpEntity<>(null, new HttpHeaders())));
+        assertEquals(HttpStatus.SERVICE_UNAVAILABLE, exception.getStatusCode());
+    }
+
+    @Test
+    void testDoesNotResendNonIdempotentRequestWhenConnectionDropsAfterWrite() {
+        // Arrange
+        String baseUrl = "http+unix://" + URLEncoder.encode(socketPath.toString(), StandardCharsets.UTF_8);
+        transport.exchange(baseUrl + "/warm", HttpMethod.GET, new HttpEntity<>(null, new HttpHeaders()));
+
+        // Act & Assert
+        assertThrows(ResourceAccessException.class,
+                () -> transport.exchange(baseUrl + "/drop", HttpMethod.POST, new HttpEntity<>("order".getBytes(StandardCharsets.UTF_8), new HttpHeaders())));
+        assertEquals(List.of("GET /warm HTTP/1.1", "POST /drop HTTP/1.1"), requestLines);
+    }
+
+    @Test
+    void testMalformedFramingIsResourceAccessError() {
+        // Arrange
+        String baseUrl = "http+unix://" + URLEncoder.encode(socketPath.toString(), StandardCharsets.UTF_8);
+
+        // Act & Assert
+        assertThrows(ResourceAccessException.class,
+                () -> transport.exchange(baseUrl + "/bad-length", HttpMethod.GET, new HttpEntity<>(null, new HttpHeaders())));
+        assertThrows(ResourceAccessException.class,
+                () -> transport.exchange(baseUrl + "/bad-chunk", HttpMethod.GET, new HttpEntity<>(null, new HttpHeaders())));
+    }
+
+    @Test
+    void testMissingSocketIsResourceAccessError() {
+        String url = "http+unix://" + URLEncoder.encode(tempDir.resolve("missing.sock").toString(), StandardCharsets.UTF_8) + "/";
+
+        assertThrows(ResourceAccessException.class,
+                () -> transport.exchange(url, HttpMethod.GET, new HttpEntity<>(null, new HttpHeaders())));
+    }
+
+    @Test
+    void testDecodesSocketPathFromAuthority() {
+        assertEquals(Path.of("/var/run/shadow.sock"),
+                UnixSocketShadowTransport.socketPath(URI.create("http+unix://%2Fvar%2Frun%2Fshadow.sock/api")));
+    }
+
+    private void serve(SocketChannel channel) {
+        try (channel) {
+            InputStream in = Channels.newInputStream(channel);
+            OutputStream out = Channels.newOutputStream(channel);
+            BufferedReader reader = new BufferedReader(new InputStreamReader(in, StandardCharsets.ISO_8859_1));
+            String requestLine;
+            while ((requestLine = reader.readLine()) != null) {
+                requestLines.add(requestLine);
+                int contentLength = 0;
+                String line;
+                while (!(line = reader.readLine()).isEmpty()) {
+                    if (line.toLowerCase().startsWith("content-length:")) {
+                        contentLength = Integer.parseInt(line.substring(15).trim());
+                    }
+                }
+                char[] body = new char[contentLength];
+                int read = 0;
+                while (read < contentLength) {
+                    read += reader.read(body, read, contentLength - read);
+                }
+
+                String target = requestLine.split(" ")[1];
+                String response;
+                if (target.equals("/drop")) {
+                    return;
+                } else if (target.equals("/bad-length")) {
+                    response = "HTTP/1.1 200 OK\r\nContent-Length: 12abc\r\n\r\n";
+                } else if (target.equals("/bad-chunk")) {
+                    response = "HTTP/1.1 200 OK\r\nTransfer-Encoding: chunked\r\n\r\nzz\r\n";
+                } else if (target.equals("/chunked")) {
+                    response = "HTTP/1.1 200 OK\r\nTransfer-Encoding: chunked\r\n\r\n7\r\nchunked\r\n5\r\n body\r\n0\r\n\r\n";
+                } else if (target.equals("/fail")) {
+                    response = "HTTP/1.1 503 Service Unavailable\r\nContent-Length: 0\r\n\r\n";
+                } else {
+                    String text = requestLine.split(" ")[0] + " " + target + " body=" + new String(body);
+                    response = "HTTP/1.1 200 OK\r\nContent-Length: " + text.length() + "\r\n\r\n" + text;
+                }
+                out.write(response.getBytes(StandardCharsets.ISO_8859_1));
+                out.flush();
+            }
+        } catch (IOException e) {
+            // Client went away.
+        }
+    }
+}
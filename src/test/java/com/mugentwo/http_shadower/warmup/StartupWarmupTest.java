@@ -0,0 +1,124 @@
+package com.mugentwo.http_shadower.warmup;
+
+import com.mugentwo.http_shadower.config.DestinationProperties;
+import com.mugentwo.http_shadower.config.ProfilerProperties;
+import com.mugentwo.http_shadower.config.ShadowerConfiguration;
+import com.mugentwo.http_shadower.profile.TrafficProfiler;
+import com.mugentwo.http_shadower.transport.InMemoryShadowTransport;
+import com.mugentwo.http_shadower.transport.ShadowTransports;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.ResponseEntity;
+import org.springframework.mock.env.MockEnvironment;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class StartupWarmupTest {
+
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+    private final InMemoryShadowTransport inMemoryTransport = new InMemoryShadowTransport();
+    private ShadowerConfiguration configuration;
+    private StartupWarmup startupWarmup;
+
+    @BeforeEach
+    void setUp() {
+        configuration = new ShadowerConfiguration();
+        var primary = new DestinationProperties("app1", "mem://primary", true, true);
+        var staging = new DestinationProperties("staging", null, true, false);
+        staging.setEndpoints(List.of("mem://replica-1", "mem://replica-2"));
+        configuration.setDestinations(List.of(primary, staging));
+        configuration.getWarmup().setEnabled(true);
+        configuration.getWarmup().setConnections(3);
+        configuration.getWarmup().setMaxRequests(0);
+        startupWarmup = new StartupWarmup(configuration, new ShadowTransports(List.of(inMemoryTransport)),
+                new TrafficProfiler(new ProfilerProperties()), new WarmupMetrics(meterRegistry), new MockEnvironment());
+    }
+
+    @Test
+    void testPreopensConnectionsToEveryEndpointBeforeReportingReady() {
+        // Arrange
+        Map<String, Integer> calls = new ConcurrentHashMap<>();
+        for (String endpoint : List.of("primary", "replica-1", "replica-2")) {
+            inMemoryTransport.register(endpoint, (method, uri, headers, body) -> {
+                assertEquals("true", headers.getFirst(StartupWarmup.WARMUP_HEADER));
+                calls.merge(endpoint, 1, Integer::sum);
+                return ResponseEntity.ok().build();
+            });
+        }
+        assertFalse(startupWarmup.isComplete());
+
+        // Act
+        startupWarmup.run();
+
+        // Assert
+        assertEquals(Map.of("primary", 3, "replica-1", 3, "replica-2", 3), calls);
+        assertTrue(startupWarmup.isComplete());
+        assertEquals(1, meterRegistry.get("shadower.warmup.duration").tag("phase", "connections").timer().count());
+        assertEquals(1, meterRegistry.get("shadower.warmup.duration").tag("phase", "total").timer().count());
+    }
+
+    @Test
+    void testReportsReadyEvenWhenDestinationsAreUnreachable() {
+        // Act
+        startupWarmup.run();
+
+        // Assert
+        assertTrue(startupWarmup.isComplete());
+    }
+
+    @Test
+    void testReportsReadyImmediatelyWhenDisabled() {
+        // Arrange
+        configuration.getWarmup().setEnabled(false);
+
+        // Act
+        startupWarmup.onApplicationReady();
+
+        // Assert
+        assertTrue(startupWarmup.isComplete());
+        assertTrue(meterRegistry.find("shadower.warmup.duration").timers().isEmpty());
+    }
+
+    @Test
+    void testOnlyItsOwnSyntheticRequestsAreTreatedAsSynthetic() {
+        // Act & Assert
+        assertNull(startupWarmup.syntheticMode(null));
+        assertNull(startupWarmup.syntheticMode("true"));
+    }
+
+    @Test
+    void testCompilationSettlesAfterConsecutiveQuietBatches() {
+        // Arrange
+        AtomicLong compilationMillis = new AtomicLong();
+        var settler = new CompilationSettler(Duration.ofMillis(10), 2, compilationMillis::get);
+
+        // Act & Assert
+        compilationMillis.addAndGet(400);
+        assertFalse(settler.batchCompleted());
+        compilationMillis.addAndGet(5);
+        assertFalse(settler.batchCompleted());
+        compilationMillis.addAndGet(50);
+        assertFalse(settler.batchCompleted());
+        compilationMillis.addAndGet(2);
+        assertFalse(settler.batchCompleted());
+        compilationMillis.addAndGet(1);
+        assertTrue(settler.batchCompleted());
+    }
+
+    @Test
+    void testCompilationNeverSettlesWithoutMonitoring() {
+        // Arrange
+        var settler = new CompilationSettler(Duration.ofMillis(10), 1, null);
+
+        // Act & Assert
+        assertFalse(settler.batchCompleted());
+        assertFalse(settler.batchCompleted());
+    }
+}
@@ -0,0 +1,96 @@
+#!/bin/bash
+
+echo "HTTP Shadower Startup Benchmark"
+echo "==============================="
+echo ""
+echo "Measures time until the first proxied request succeeds and the latency of that request"
+echo "for the plain JVM, Spring AOT, AppCDS and GraalVM native builds."
+echo ""
+
+PORT=${1:-8080}
+MODES=${2:-"jvm aot cds native"}
+URL="http://localhost:$PORT/api/test"
+RESULTS_DIR=build/startup-benchmark
+JAR_NAME=http-shadower-0.0.1-SNAPSHOT.jar
+
+mkdir -p "$RESULTS_DIR"
+
+now_ms() {
+    echo $(( $(date +%s%N) / 1000000 ))
+}
+
+# measure <mode> <working dir> <command...>
+measure() {
+    local mode=$1
+    local dir=$2
+    shift 2
+
+    local start=$(now_ms)
+    (cd "$dir" && exec "$@" --server.port="$PORT" --logging.level.com.mugentwo.http_shadower=WARN) > "$RESULTS_DIR/$mode.log" 2>&1 &
+    local pid=$!
+
+    local first_request=""
+    for i in $(seq 1 600); do
+        first_request=$(curl -s -o /dev/null -w "%{http_code} %{time_total}" "$URL" 2>/dev/null)
+        if [ $? -eq 0 ] && [ "${first_request%% *}" != "000" ]; then
+            break
+        fi
+        first_request=""
+        sleep 0.05
+    done
+    local ready=$(now_ms)
+
+    kill $pid
+    wait $pid 2>/dev/null
+
+    if [ -z "$first_request" ]; then
+        printf "%-8s %s\n" "$mode" "did not become ready, see $RESULTS_DIR/$mode.log"
+        return
+    fi
+
+    local latency_ms=$(awk "BEGIN { printf \"%.1f\", ${first_request#* } * 1000 }")
+    printf "%-8s %12s %20s\n" "$mode" "$((ready - start))" "$latency_ms"
+}
+
+for mode in $MODES; do
+    case $mode in
+        jvm)
+            ./gradlew bootJar -q || exit 1
+            ;;
+        aot)
+            ./gradlew bootJar -Paot -q || exit 1
+            ;;
+        cds)
+            ./gradlew cdsArchive -q || exit 1
+            ;;
+        native)
+            ./gradlew nativeCompile -Pnative -q || exit 1
+            ;;
+    esac
+    cp -f build/libs/$JAR_NAME "$RESULTS_DIR/$mode.jar" 2>/dev/null
+done
+
+echo ""
+printf "%-8s %12s %20s\n" "mode" "ready (ms)" "first request (ms)"
+for mode in $MODES; do
+    case $mode in
+        jvm)
+            measure jvm . java -jar "$RESULTS_DIR/jvm.jar"
+            ;;
+        aot)
+            measure aot . java -Dspring.aot.enabled=true -jar "$RESULTS_DIR/aot.jar"
+            ;;
+        cds)
+            # Same working directory and relative jar path as the training run, or the archive is rejected.
+            # -Xshare:on makes a rejected archive fail startup instead of silently measuring a cold start.
+            measure cds build/cds java -Xshare:on -XX:SharedArchiveFile=application.jsa -jar "$JAR_NAME"
+            ;;
+        native)
+            measure native . build/native/nativeCompile/http-shadower
+            ;;
+    esac
+done
+
+echo ""
+echo "Usage: $0 [port] [modes]"
+echo "Example: $0 8080 \"jvm cds\""